@@ -0,0 +1,222 @@
+package rlp.parser.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+/**
+ * This represents the generator of synthetic configurations for the benchmarks. The generator is deterministic, then
+ * the same shape, size and seed always generate the same configuration.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ConfigGenerator {
+
+    /**
+     * This represents the shapes of the configurations that can be generated.
+     * @since 1.1
+     */
+    public enum Shape {
+        /** Key-values with scalar values of the all types. */
+        FLAT,
+        /** Large arrays of numbers, that have the same type in each array. */
+        NUMERIC,
+        /** Deeply nested lists. */
+        NESTED,
+        /** Maps, that contains nested maps and arrays. */
+        MAPS,
+        /** Long string values. */
+        STRINGS,
+        /** Comment lines, with a few key-values between them. */
+        COMMENTS
+    }
+
+    private static final String[] WORDS = {
+            "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do", "eiusmod",
+            "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enabled", "localhost"
+    };
+
+    private final SplittableRandom random;
+    private int entries = 0;
+
+    private ConfigGenerator(final long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * This method generate the configuration into the file.
+     * @param file the file that the configuration is written.
+     * @param shape the shape of the configuration.
+     * @param size the approximate size of the configuration, in bytes.
+     * @param seed the seed of the random values.
+     * @throws IOException if the file can't be written.
+     * @since 1.1
+     */
+    public static void generate(final File file, final Shape shape, final long size, final long seed) throws IOException {
+        try (final Writer writer = new BufferedWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8), 1 << 16)) {
+            generate(writer, shape, size, seed);
+        }
+    }
+
+    /**
+     * This method generate the configuration into the appendable.
+     * @param out the appendable that the configuration is written.
+     * @param shape the shape of the configuration.
+     * @param size the approximate size of the configuration, in characters.
+     * @param seed the seed of the random values.
+     * @throws IOException if the appendable can't be written.
+     * @since 1.1
+     */
+    public static void generate(final Appendable out, final Shape shape, final long size, final long seed) throws IOException {
+        final ConfigGenerator generator = new ConfigGenerator(seed);
+        final StringBuilder entry = new StringBuilder(1024);
+
+        long written = 0;
+        while (written < size) {
+            entry.setLength(0);
+            generator.entry(entry, shape);
+
+            out.append(entry);
+            written += entry.length();
+        }
+    }
+
+    /**
+     * This method parse the size, that can have the suffixes "KB" and "MB". (i. e. 64KB, 100MB)
+     * @param size the size that will be parsed.
+     * @return the size in bytes.
+     * @since 1.1
+     */
+    public static long parseSize(final String size) {
+        final String value = size.trim().toUpperCase();
+
+        if (value.endsWith("KB")) return Long.parseLong(value.substring(0, value.length() - 2)) << 10;
+        if (value.endsWith("MB")) return Long.parseLong(value.substring(0, value.length() - 2)) << 20;
+        return Long.parseLong(value);
+    }
+
+    // ... Entries ...
+
+    private void entry(final StringBuilder out, final Shape shape) {
+        final int index = this.entries++;
+
+        switch (shape) {
+            case FLAT:
+                this.key(out, "key_", index);
+                this.scalar(out);
+                break;
+            case NUMERIC:
+                this.key(out, "table_", index);
+                this.numericArray(out, 64 + this.random.nextInt(448));
+                break;
+            case NESTED:
+                this.key(out, "nested_", index);
+                this.nestedList(out, 8 + this.random.nextInt(56));
+                break;
+            case MAPS:
+                this.key(out, "map_", index);
+                this.map(out, 3);
+                break;
+            case STRINGS:
+                this.key(out, "string_", index);
+                this.string(out, 4 + this.random.nextInt(60));
+                break;
+            case COMMENTS:
+                for (int i = 0, lines = 1 + this.random.nextInt(8); i < lines; i++) {
+                    out.append("# ");
+                    this.words(out, 4 + this.random.nextInt(12));
+                    out.append('\n');
+                }
+                this.key(out, "key_", index);
+                this.scalar(out);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+
+        out.append(",\n");
+    }
+
+    private void key(final StringBuilder out, final String prefix, final int index) {
+        out.append(prefix).append(index).append(" = ");
+    }
+
+    /**
+     * This method write a scalar value of a random type, that includes the numbers with the type declarations.
+     * @param out the builder that the value is written.
+     * @since 1.1
+     */
+    private void scalar(final StringBuilder out) {
+        switch (this.random.nextInt(11)) {
+            case 0: out.append(this.random.nextInt()); break;
+            case 1: out.append(this.random.nextInt(-128, 128)).append('b'); break;
+            case 2: out.append(this.random.nextInt(Short.MIN_VALUE, Short.MAX_VALUE + 1)).append('s'); break;
+            case 3: out.append(this.random.nextInt()).append('i'); break;
+            case 4: out.append(this.random.nextLong()).append('L'); break;
+            case 5: out.append(this.random.nextInt(100000)).append('.').append(this.random.nextInt(1000)).append('f'); break;
+            case 6: out.append(this.random.nextInt(100000)).append('.').append(this.random.nextInt(1000000)).append('d'); break;
+            case 7: out.append(this.random.nextDouble() * 1000); break;
+            case 8: out.append(this.random.nextBoolean()); break;
+            case 9: this.string(out, 1 + this.random.nextInt(4)); break;
+            default: out.append('\'').append((char) ('a' + this.random.nextInt(26))).append('\''); break;
+        }
+    }
+
+    private void numericArray(final StringBuilder out, final int length) {
+        final int type = this.random.nextInt(3);
+
+        out.append('[');
+        for (int i = 0; i < length; i++) {
+            if (i > 0) out.append(", ");
+
+            switch (type) {
+                case 0: out.append(this.random.nextInt(1000000)); break;
+                case 1: out.append(this.random.nextLong()).append('L'); break;
+                default: out.append(this.random.nextInt(10000)).append('.').append(this.random.nextInt(10000)); break;
+            }
+        }
+        out.append(']');
+    }
+
+    private void nestedList(final StringBuilder out, final int depth) {
+        for (int i = 0; i < depth; i++) {
+            out.append('[').append(this.random.nextInt(1000)).append(", ");
+        }
+        this.scalar(out);
+        for (int i = 0; i < depth; i++) {
+            out.append(", ").append(this.random.nextBoolean()).append(']');
+        }
+    }
+
+    private void map(final StringBuilder out, final int depth) {
+        out.append('{');
+        for (int i = 0, size = 1 + this.random.nextInt(6); i < size; i++) {
+            if (i > 0) out.append(", ");
+            out.append(WORDS[this.random.nextInt(WORDS.length)]).append('_').append(i).append(" = ");
+
+            final int kind = this.random.nextInt(4);
+            if (kind == 0 && depth > 0) this.map(out, depth - 1);
+            else if (kind == 1) this.numericArray(out, 1 + this.random.nextInt(8));
+            else this.scalar(out);
+        }
+        out.append('}');
+    }
+
+    private void string(final StringBuilder out, final int words) {
+        out.append('\"');
+        this.words(out, words);
+        out.append('\"');
+    }
+
+    private void words(final StringBuilder out, final int words) {
+        for (int i = 0; i < words; i++) {
+            if (i > 0) out.append(' ');
+            out.append(WORDS[this.random.nextInt(WORDS.length)]);
+        }
+    }
+}
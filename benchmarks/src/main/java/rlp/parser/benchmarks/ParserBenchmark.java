@@ -0,0 +1,120 @@
+package rlp.parser.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import rlp.parser.ComplexObject;
+import rlp.parser.Config;
+import rlp.parser.ConfigParser;
+import rlp.parser.ConfigReader;
+import rlp.parser.ConfigWriter;
+import rlp.parser.ParseOptions;
+import rlp.parser.Parser;
+
+/**
+ * This represents the benchmarks of the parse from the configurations, for each shape and size from the generated
+ * configurations. The allocation rate is measured with the profiler "-prof gc".
+ *
+ * @author rlp
+ * @since 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ParserBenchmark {
+
+    @Param({"FLAT", "NUMERIC", "NESTED", "MAPS", "STRINGS", "COMMENTS"})
+    public ConfigGenerator.Shape shape;
+
+    @Param({"1KB", "64KB", "1MB", "16MB", "100MB"})
+    public String size;
+
+    private static final ConfigParser CONFIG_PARSER = new ConfigParser();
+
+    private File file;
+
+    /**
+     * This represents the content of the file, that is parsed from the memory by {@link #parseBytes()}.
+     * @since 1.1
+     */
+    private byte[] bytes;
+
+    /**
+     * This represents the parsed values, that are written by {@link #write()}.
+     * @since 1.1
+     */
+    private Map<String, ComplexObject> values;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.file = File.createTempFile("parser-benchmark-" + this.shape + "-" + this.size + "-", ".txt");
+        ConfigGenerator.generate(this.file, this.shape, ConfigGenerator.parseSize(this.size), 42L);
+        this.bytes = Files.readAllBytes(this.file.toPath());
+        this.values = CONFIG_PARSER.parse(this.bytes).getComplexObjectMap();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (!this.file.delete()) this.file.deleteOnExit();
+    }
+
+    @Benchmark
+    public Map<String, ComplexObject> parse() {
+        final Parser parser = new Parser(this.file);
+        parser.parse();
+
+        return parser.getComplexObjectMap();
+    }
+
+    @Benchmark
+    public Map<String, ComplexObject> parseParallel() {
+        final Parser parser = new Parser(this.file);
+        parser.parse(ParseOptions.parallel(ForkJoinPool.commonPool()));
+
+        return parser.getComplexObjectMap();
+    }
+
+    @Benchmark
+    public Config parseBytes() {
+        return CONFIG_PARSER.parse(this.bytes);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        try (final ConfigWriter writer = new ConfigWriter(Writer.nullWriter())) {
+            writer.writeAll(this.values);
+        }
+    }
+
+    @Benchmark
+    public void read(final Blackhole blackhole) throws IOException {
+        try (final ConfigReader reader = ConfigReader.of(this.file)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+}
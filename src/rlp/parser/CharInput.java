@@ -0,0 +1,231 @@
+package rlp.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This represents the input layer of the parser, that read the all bytes from a file through a {@link FileChannel} and
+ * decode them with an explicit charset into a flat character array.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class CharInput {
+
+    /**
+     * This represents the file size, in bytes, from which the file is memory-mapped instead of read into the pooled
+     * direct buffer.
+     * @since 1.1
+     */
+    static final int MAP_THRESHOLD = 1 << 20;
+
+    /**
+     * This represents the maximum amount of pooled direct buffers, then the pool retains at most 4 MB of native memory
+     * independently of the amount of threads that parse.
+     * @since 1.1
+     */
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * This represents the direct buffers that are reused to read the small files, then the reading of a small file
+     * doesn't allocate a new native buffer while a pooled buffer is available.
+     * @since 1.1
+     */
+    private static final ArrayBlockingQueue<ByteBuffer> POOLED_BUFFERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final AtomicInteger CREATED_BUFFERS = new AtomicInteger();
+
+    /**
+     * This represents the method that releases the memory of a direct buffer, that is {@code Unsafe.invokeCleaner}, or
+     * null if it is not available, then the memory is released by the garbage collector.
+     * @since 1.1
+     */
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    /**
+     * This represents the byte order mark, that is skipped when it is the first character of the input.
+     * @since 1.1
+     */
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    final char[] chars;
+    final int length;
+
+    /**
+     * This represents the amount of bytes that are decoded into the characters.
+     * @since 1.1
+     */
+    final long bytes;
+
+    private CharInput(final char[] chars, final int length, final long bytes) {
+        this.chars = chars;
+        this.length = length;
+        this.bytes = bytes;
+    }
+
+    /**
+     * This method read the all content of the file and decode it with the charset.
+     * @param file the file that will be read.
+     * @param charset the charset that is used to decode the bytes from the file.
+     * @return the decoded input.
+     * @throws IOException if the file can't be read or the content is not valid for the charset.
+     * @since 1.1
+     */
+    static CharInput read(final File file, final Charset charset) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The file \"" + file + "\" is too large to be read (" + size + " bytes).");
+            }
+
+            // @Note The large files are memory-mapped, then the content is decoded directly from the page cache
+            // without copy it into the heap. The small files are read into a pooled direct buffer, because the cost
+            // to map a file is greater than the cost to read a few kilobytes.
+            if (size > MAP_THRESHOLD) {
+                return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset);
+            }
+
+            final ByteBuffer pooled = pooledBuffer();
+            final ByteBuffer buffer = pooled != null ? pooled : ByteBuffer.allocateDirect((int) size);
+            try {
+                buffer.clear().limit((int) size);
+
+                while (buffer.hasRemaining() && channel.read(buffer) != Parser.EOF) {
+                    // @Note Nothing to do, the channel read until the buffer is full or the end of file.
+                }
+
+                buffer.flip();
+                return decode(buffer, charset);
+            } finally {
+                if (pooled != null) POOLED_BUFFERS.offer(pooled);
+                else release(buffer);
+            }
+        }
+    }
+
+    /**
+     * This method takes a buffer from the pool, or creates it while the pool has less than {@link #POOL_SIZE} buffers.
+     * @return the pooled buffer, or null if the all pooled buffers are in use, then the file is read into a buffer of
+     * its size, that is released after the decode.
+     * @since 1.1
+     */
+    private static ByteBuffer pooledBuffer() {
+        final ByteBuffer pooled = POOLED_BUFFERS.poll();
+        if (pooled != null) return pooled;
+
+        int created;
+        while ((created = CREATED_BUFFERS.get()) < POOL_SIZE) {
+            if (CREATED_BUFFERS.compareAndSet(created, created + 1)) return ByteBuffer.allocateDirect(MAP_THRESHOLD);
+        }
+        return null;
+    }
+
+    /**
+     * This method releases the memory of the direct buffer, then the buffer must not be read after this method.
+     * @param buffer the direct buffer.
+     * @since 1.1
+     */
+    static void release(final ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || !buffer.isDirect()) return;
+
+        try {
+            INVOKE_CLEANER.invoke(buffer);
+        } catch (Throwable e) {
+            // @Note The memory is released by the garbage collector when the cleaner can't be invoked.
+        }
+    }
+
+    private static MethodHandle invokeCleaner() {
+        try {
+            final Class<?> type = Class.forName("sun.misc.Unsafe");
+            final Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+
+            return MethodHandles.lookup()
+                    .findVirtual(type, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * This method read the all content of the file into the heap, without decode it. The lexer reads the tokens from
+     * the array of the buffer, then the large files are not memory-mapped like the read of the characters. The byte
+     * order mark from UTF-8 is skipped, then the position of the buffer is the first byte after it.
+     * @param file the file that will be read.
+     * @return the bytes of the file, that are backed by an array whose offset is zero.
+     * @throws IOException if the file can't be read.
+     * @since 1.1
+     */
+    static ByteBuffer readBytes(final File file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The file \"" + file + "\" is too large to be read (" + size + " bytes).");
+            }
+
+            final ByteBuffer bytes = ByteBuffer.allocate((int) size);
+            while (bytes.hasRemaining() && channel.read(bytes) != Parser.EOF) {
+                // @Note Nothing to do, the channel read until the buffer is full or the end of file.
+            }
+            bytes.flip();
+
+            if (bytes.limit() >= 3 && bytes.get(0) == (byte) 0xEF && bytes.get(1) == (byte) 0xBB && bytes.get(2) == (byte) 0xBF) {
+                bytes.position(3);
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * This method decode the all remaining bytes from the buffer with the charset.
+     * @param bytes the bytes that will be decoded.
+     * @param charset the charset that is used to decode the bytes.
+     * @return the decoded input.
+     * @throws CharacterCodingException if the bytes are not valid for the charset.
+     * @since 1.1
+     */
+    static CharInput decode(final ByteBuffer bytes, final Charset charset) throws CharacterCodingException {
+        // @Note The malformed input is reported instead of replaced, because a replaced character silently changes
+        // the value from the configuration.
+        final CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+        final long size = bytes.remaining();
+        final CharBuffer out = CharBuffer.allocate((int) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte()));
+
+        CoderResult result = decoder.decode(bytes, out, true);
+        if (result.isError()) result.throwException();
+
+        result = decoder.flush(out);
+        if (result.isError()) result.throwException();
+
+        final char[] chars = out.array();
+        final int length = out.position();
+
+        if (length > 0 && chars[0] == BYTE_ORDER_MARK) {
+            System.arraycopy(chars, 1, chars, 0, length - 1);
+            return new CharInput(chars, length - 1, size);
+        }
+
+        return new CharInput(chars, length, size);
+    }
+}
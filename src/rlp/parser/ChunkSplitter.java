@@ -0,0 +1,163 @@
+package rlp.parser;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * This represents the splitter of a configuration into chunks of key-values, that can be parsed independently. The
+ * chunks are split after the comma tokens "," that are at the depth 0, that means that are not in a string, a
+ * character, a comment, an array or a map.
+ * <p>
+ * The configurations in UTF-8 are split from the bytes by the {@link StructuralScanner}, and the tokens of each chunk
+ * are read from the bytes by the thread that parses it.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class ChunkSplitter {
+
+    /**
+     * This represents the positions of the first character from each chunk, and the end of the last chunk.
+     * @since 1.1
+     */
+    final int[] starts;
+
+    /**
+     * This represents the line of the first character from each chunk.
+     * @since 1.1
+     */
+    final int[] lines;
+
+    /**
+     * This represents the column of the first character from each chunk, or null when the chunks are split from the
+     * characters, because the lexer finds the column from the all buffer.
+     * @since 1.1
+     */
+    final int[] columns;
+
+    /**
+     * This represents the amount of chunks.
+     * @since 1.1
+     */
+    final int count;
+
+    private ChunkSplitter(final int[] starts, final int[] lines, final int[] columns, final int count) {
+        this.starts = starts;
+        this.lines = lines;
+        this.columns = columns;
+        this.count = count;
+    }
+
+    /**
+     * This method split the buffer into chunks with the approximate size. The scan only follows the strings, the
+     * characters, the comments and the nesting, then it is faster than the parse of the buffer.
+     * @param buffer the character buffer.
+     * @param length the amount of characters in the buffer.
+     * @param chunkSize the approximate size of each chunk.
+     * @return the chunks.
+     * @since 1.1
+     */
+    static ChunkSplitter split(final char[] buffer, final int length, final int chunkSize) {
+        int[] starts = new int[Math.max(2, length / chunkSize + 2)];
+        int[] lines = new int[starts.length];
+        int count = 0;
+
+        starts[0] = 0;
+        lines[0] = 1;
+        count++;
+
+        int next = chunkSize;
+        int depth = 0;
+        int line = 1;
+
+        for (int i = 0; i < length; i++) {
+            final char c = buffer[i];
+
+            switch (c) {
+                case '\n':
+                    line++;
+                    break;
+                case '\"':
+                case '\'':
+                    // @Note The string and the character are jumped until the closing quote, like the lexer, and the
+                    // escaped characters are jumped.
+                    while (++i < length && buffer[i] != c) {
+                        if (buffer[i] == '\\' && i + 1 < length) i++;
+                        if (buffer[i] == '\n') line++;
+                    }
+                    break;
+                case '#':
+                    while (i + 1 < length && buffer[i + 1] != '\n') i++;
+                    break;
+                case '[':
+                case '{':
+                    depth++;
+                    break;
+                case ']':
+                case '}':
+                    depth--;
+                    break;
+                case ',':
+                    if (depth == 0 && i >= next) {
+                        if (count + 1 >= starts.length) {
+                            starts = Arrays.copyOf(starts, starts.length << 1);
+                            lines = Arrays.copyOf(lines, lines.length << 1);
+                        }
+
+                        starts[count] = i + 1;
+                        lines[count] = line;
+                        count++;
+
+                        next = i + chunkSize;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        starts[count] = length;
+        return new ChunkSplitter(starts, lines, null, count);
+    }
+
+    /**
+     * This method split the UTF-8 bytes into chunks with the approximate size. The positions of the chunks are the
+     * positions of the bytes in the buffer.
+     * @param bytes the UTF-8 bytes.
+     * @param offset the position of the first byte.
+     * @param limit the position after the last byte.
+     * @param chunkSize the approximate size of each chunk, in bytes.
+     * @return the chunks.
+     * @since 1.1
+     */
+    static ChunkSplitter split(final ByteBuffer bytes, final int offset, final int limit, final int chunkSize) {
+        int[] starts = new int[Math.max(2, (limit - offset) / chunkSize + 2)];
+        int[] lines = new int[starts.length];
+        int[] columns = new int[starts.length];
+        int count = 0;
+
+        starts[0] = offset;
+        lines[0] = 1;
+        columns[0] = 1;
+        count++;
+
+        final StructuralScanner scanner = new StructuralScanner(bytes, offset, limit);
+        int split;
+
+        while ((split = scanner.nextSplit(starts[count - 1] + chunkSize)) >= 0) {
+            if (count + 1 >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length << 1);
+                lines = Arrays.copyOf(lines, lines.length << 1);
+                columns = Arrays.copyOf(columns, columns.length << 1);
+            }
+
+            starts[count] = split + 1;
+            lines[count] = scanner.line();
+            columns[count] = scanner.column();
+            count++;
+        }
+
+        starts[count] = limit;
+        return new ChunkSplitter(starts, lines, columns, count);
+    }
+}
@@ -0,0 +1,369 @@
+package rlp.parser;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * This represents the read-only lists and maps that are used for the arrays and the maps from the configuration. The
+ * configuration is not modified after the parse, then the lists and the maps are backed by arrays of the exact size,
+ * without the nodes of the linked collections.
+ * <p>
+ * The maps keep the order of the keys from the configuration, and the integral numbers are read as the keys with the
+ * same digits, then {@code map.get(1)} reads the key {@code 1 = "x"}. The maps with at most {@link #SMALL_MAP_SIZE} entries
+ * find the keys by a linear scan, and the larger maps find the keys by a table of open addressing, that stores the
+ * positions of the entries.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class CompactCollections {
+
+    /**
+     * This represents the maximum amount of entries from the maps that are scanned linearly.
+     * @since 1.1
+     */
+    static final int SMALL_MAP_SIZE = 8;
+
+    // @Note This represents the estimated sizes of the objects, in bytes, with the compressed references of the 64-bit
+    // JVM, that are used by the footprint.
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private static final List<Object> EMPTY_LIST = new ObjectList(new Object[0]);
+    private static final Map<Object, Object> EMPTY_MAP = new SmallMap(new Object[0], new Object[0]);
+
+    private CompactCollections() {
+    }
+
+    /**
+     * This method creates the list from the first elements of the array.
+     * @param array the array of the elements, that is not copied when it has the exact size.
+     * @param size the amount of elements.
+     * @return the read-only list.
+     * @since 1.1
+     */
+    static List<Object> listOf(final Object[] array, final int size) {
+        if (size == 0) return EMPTY_LIST;
+        return new ObjectList(size == array.length ? array : Arrays.copyOf(array, size));
+    }
+
+    /**
+     * This method creates the map from the first keys and values of the arrays, in the order of the arrays. The key that
+     * is repeated replaces the value from the previous key, but keeps the position of the previous key, like the
+     * {@link java.util.LinkedHashMap}.
+     * @param keys the array of the keys.
+     * @param values the array of the values.
+     * @param size the amount of entries.
+     * @return the read-only map.
+     * @since 1.1
+     */
+    static Map<Object, Object> mapOf(final Object[] keys, final Object[] values, final int size) {
+        if (size == 0) return EMPTY_MAP;
+        if (size <= SMALL_MAP_SIZE) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                final int index = SmallMap.indexOf(keys, count, keys[i]);
+                if (index >= 0) {
+                    values[index] = values[i];
+                } else {
+                    keys[count] = keys[i];
+                    values[count] = values[i];
+                    count++;
+                }
+            }
+            return new SmallMap(Arrays.copyOf(keys, count), Arrays.copyOf(values, count));
+        }
+
+        return FlatMap.of(keys, values, size);
+    }
+
+    /**
+     * This method estimates the bytes that are retained by the value, that includes the nested values. The strings are
+     * counted as Latin-1 strings, and the instances that are shared between the values, like the strings from a
+     * {@link StringPool} and the cached boxes, are counted in each value.
+     * @param value the complex object, or the plain value from the parsed arrays and maps.
+     * @return the estimated amount of bytes.
+     * @since 1.1
+     */
+    static long footprint(final Object value) {
+        if (value == null) return 0;
+        if (value instanceof ComplexObject) {
+            // @Note The complex object has the type, the long and double fields and the reference to the intrinsic value.
+            final ComplexObject object = (ComplexObject) value;
+            final long bytes = align(HEADER + REFERENCE + 8 + 8 + REFERENCE);
+            switch (object.type()) {
+                case STRING: case LIST: case MAP: return bytes + footprint(object.value());
+                default: return bytes;
+            }
+        }
+        if (value instanceof String) return align(HEADER + 4 + 1 + 1 + REFERENCE) + align(ARRAY_HEADER + ((String) value).length());
+        if (value instanceof Long || value instanceof Double) return align(HEADER + 8);
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) return align(HEADER + 4);
+
+        if (value instanceof PrimitiveLists.IntList) {
+            return align(HEADER + REFERENCE) + align(ARRAY_HEADER + 4L * ((List<?>) value).size());
+        } else if (value instanceof PrimitiveLists.LongList || value instanceof PrimitiveLists.DoubleList) {
+            return align(HEADER + REFERENCE) + align(ARRAY_HEADER + 8L * ((List<?>) value).size());
+        } else if (value instanceof ObjectList) {
+            final Object[] array = ((ObjectList) value).array;
+            long bytes = align(HEADER + REFERENCE) + align(ARRAY_HEADER + (long) REFERENCE * array.length);
+            for (final Object element : array) bytes += footprint(element);
+            return bytes;
+        } else if (value instanceof SmallMap) {
+            final SmallMap map = (SmallMap) value;
+            long bytes = align(HEADER + 2 * REFERENCE) + 2 * align(ARRAY_HEADER + (long) REFERENCE * map.keys.length);
+            for (int i = 0; i < map.keys.length; i++) bytes += footprint(map.keys[i]) + footprint(map.values[i]);
+            return bytes;
+        } else if (value instanceof FlatMap) {
+            final FlatMap map = (FlatMap) value;
+            long bytes = align(HEADER + 3 * REFERENCE) + 2 * align(ARRAY_HEADER + (long) REFERENCE * map.keys.length)
+                    + align(ARRAY_HEADER + 4L * map.table.length);
+            for (int i = 0; i < map.keys.length; i++) bytes += footprint(map.keys[i]) + footprint(map.values[i]);
+            return bytes;
+        } else if (value instanceof List) {
+            // @Note The other lists, like the lazy arrays, are estimated as an array of references.
+            final List<?> list = (List<?>) value;
+            long bytes = align(HEADER + REFERENCE) + align(ARRAY_HEADER + (long) REFERENCE * list.size());
+            for (final Object element : list) bytes += footprint(element);
+            return bytes;
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            long bytes = align(HEADER + 3 * REFERENCE) + 2 * align(ARRAY_HEADER + (long) REFERENCE * map.size());
+            for (final Map.Entry<?, ?> entry : map.entrySet()) bytes += footprint(entry.getKey()) + footprint(entry.getValue());
+            return bytes;
+        }
+        return align(HEADER + 8);
+    }
+
+    /**
+     * This method normalizes the key of a lookup, where the integral numbers are the keys with the same digits, because
+     * the numeric keys from the configuration (i. e. {@code 1 = "x"}) are parsed as strings.
+     * @param key the key of the lookup.
+     * @return the key from the maps.
+     * @since 1.1
+     */
+    static Object normalize(final Object key) {
+        if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) return key.toString();
+        return key;
+    }
+
+    private static long align(final long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * This represents the list that is backed by an array of objects.
+     * @since 1.1
+     */
+    static final class ObjectList extends AbstractList<Object> implements RandomAccess {
+
+        private final Object[] array;
+
+        ObjectList(final Object[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public Object get(final int index) { return this.array[index]; }
+
+        @Override
+        public int size() { return this.array.length; }
+
+        @Override
+        public Object[] toArray() { return this.array.clone(); }
+
+        @Override
+        public void forEach(final Consumer<? super Object> action) {
+            for (final Object element : this.array) action.accept(element);
+        }
+    }
+
+    /**
+     * This represents the map with at most {@link #SMALL_MAP_SIZE} entries, that finds the keys by a linear scan. The
+     * keys are strings, that are compared by their cached hash before the characters.
+     * @since 1.1
+     */
+    static final class SmallMap extends AbstractMap<Object, Object> {
+
+        private final Object[] keys;
+        private final Object[] values;
+
+        SmallMap(final Object[] keys, final Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        static int indexOf(final Object[] keys, final int size, final Object key) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(keys[i], key)) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public Object get(final Object key) {
+            final int index = indexOf(this.keys, this.keys.length, normalize(key));
+            return index < 0 ? null : this.values[index];
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return indexOf(this.keys, this.keys.length, normalize(key)) >= 0;
+        }
+
+        @Override
+        public int size() { return this.keys.length; }
+
+        @Override
+        public void forEach(final BiConsumer<? super Object, ? super Object> action) {
+            for (int i = 0; i < this.keys.length; i++) action.accept(this.keys[i], this.values[i]);
+        }
+
+        @Override
+        public Collection<Object> values() {
+            return new ObjectList(this.values);
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return new EntrySet(this.keys, this.values);
+        }
+    }
+
+    /**
+     * This represents the map whose the keys are found by a table of open addressing with linear probing. The entries
+     * are stored in the order of the configuration, and the table stores the position of the entry plus 1, where 0 is
+     * an empty slot. The table has at least the double of the entries, then the probes are short.
+     * @since 1.1
+     */
+    static final class FlatMap extends AbstractMap<Object, Object> {
+
+        private final Object[] keys;
+        private final Object[] values;
+        private final int[] table;
+
+        private FlatMap(final Object[] keys, final Object[] values, final int[] table) {
+            this.keys = keys;
+            this.values = values;
+            this.table = table;
+        }
+
+        static FlatMap of(final Object[] keys, final Object[] values, final int size) {
+            final int[] table = new int[Integer.highestOneBit(size - 1) << 2];
+            final int mask = table.length - 1;
+
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                final Object key = keys[i];
+
+                int slot = hash(key) & mask;
+                while (table[slot] != 0 && !Objects.equals(keys[table[slot] - 1], key)) slot = (slot + 1) & mask;
+
+                if (table[slot] != 0) {
+                    values[table[slot] - 1] = values[i];
+                } else {
+                    keys[count] = key;
+                    values[count] = values[i];
+                    table[slot] = ++count;
+                }
+            }
+
+            return new FlatMap(Arrays.copyOf(keys, count), Arrays.copyOf(values, count), table);
+        }
+
+        private static int hash(final Object key) {
+            final int hash = Objects.hashCode(key);
+            return hash ^ (hash >>> 16);
+        }
+
+        private int indexOf(final Object key) {
+            final int mask = this.table.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                final int entry = this.table[slot];
+                if (entry == 0) return -1;
+                if (Objects.equals(this.keys[entry - 1], key)) return entry - 1;
+            }
+        }
+
+        @Override
+        public Object get(final Object key) {
+            final int index = this.indexOf(normalize(key));
+            return index < 0 ? null : this.values[index];
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return this.indexOf(normalize(key)) >= 0;
+        }
+
+        @Override
+        public int size() { return this.keys.length; }
+
+        @Override
+        public void forEach(final BiConsumer<? super Object, ? super Object> action) {
+            for (int i = 0; i < this.keys.length; i++) action.accept(this.keys[i], this.values[i]);
+        }
+
+        @Override
+        public Collection<Object> values() {
+            return new ObjectList(this.values);
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return new EntrySet(this.keys, this.values);
+        }
+    }
+
+    /**
+     * This represents the entries of the maps, in the order of the arrays. The entries are created when them are
+     * iterated.
+     * @since 1.1
+     */
+    private static final class EntrySet extends AbstractSet<Map.Entry<Object, Object>> {
+
+        private final Object[] keys;
+        private final Object[] values;
+
+        EntrySet(final Object[] keys, final Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        public int size() { return this.keys.length; }
+
+        @Override
+        public Iterator<Map.Entry<Object, Object>> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return this.next < EntrySet.this.keys.length;
+                }
+
+                @Override
+                public Map.Entry<Object, Object> next() {
+                    if (this.next >= EntrySet.this.keys.length) throw new NoSuchElementException();
+
+                    final int index = this.next++;
+                    return new AbstractMap.SimpleImmutableEntry<>(EntrySet.this.keys[index], EntrySet.this.values[index]);
+                }
+            };
+        }
+    }
+}
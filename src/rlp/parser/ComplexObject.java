@@ -2,30 +2,131 @@ package rlp.parser;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
+ * This represents a value from the configuration. The primitive values are stored without boxing, in the fields from
+ * the value, and the type of the value is given by the {@link Type}.
+ *
  * @author rlp
  * @since 1.0
  */
 public class ComplexObject {
 
+    /**
+     * This represents the types of the values.
+     * @since 1.1
+     */
+    public enum Type {
+        BYTE,
+        SHORT,
+        INT,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        BOOLEAN,
+        CHARACTER,
+        STRING,
+        LIST,
+        MAP,
+        NULL
+    }
+
+    private final Type type;
+
+    /**
+     * This represents the value from the integral types, the booleans (0 or 1) and the characters.
+     * @since 1.1
+     */
+    private final long longBits;
+
+    /**
+     * This represents the value from the floating-point types.
+     * @since 1.1
+     */
+    private final double doubleBits;
+
+    /**
+     * This represents the value from the strings, the lists and the maps.
+     * @since 1.0
+     */
     private final Object intrinsicValue;
 
-    private ComplexObject(final Object value) {
+    private ComplexObject(final Type type, final long longBits, final double doubleBits, final Object value) {
+        this.type = type;
+        this.longBits = longBits;
+        this.doubleBits = doubleBits;
         this.intrinsicValue = value;
     } // package-private
 
-    public byte byteValue() { return (byte) this.intrinsicValue; }
+    public Type type() { return this.type; }
 
-    public short shortValue() { return (short) this.intrinsicValue; }
+    public byte byteValue() {
+        if (this.type != Type.BYTE) throw this.mismatch("byte");
+        return (byte) this.longBits;
+    }
 
-    public int intValue() { return (int) this.intrinsicValue; }
+    public short shortValue() {
+        if (this.type != Type.BYTE && this.type != Type.SHORT) throw this.mismatch("short");
+        return (short) this.longBits;
+    }
 
-    public float floatValue() { return (float) this.intrinsicValue; }
+    public int intValue() {
+        switch (this.type) {
+            case BYTE: case SHORT: case INT:
+                return (int) this.longBits;
+            case LONG:
+                // @Note The integer numbers that doesn't have type declaration are "long" only when them doesn't fit
+                // into an "integer", then the explicit "long" is read as "integer" when it fits.
+                if (this.longBits == (int) this.longBits) return (int) this.longBits;
+                throw new ArithmeticException("The value " + this.longBits + " doesn't fit into an int.");
+            default:
+                throw this.mismatch("int");
+        }
+    }
 
-    public long longValue() { return (long) this.intrinsicValue; }
+    public long longValue() {
+        switch (this.type) {
+            case BYTE: case SHORT: case INT: case LONG:
+                return this.longBits;
+            default:
+                throw this.mismatch("long");
+        }
+    }
 
-    public double doubleValue() { return (double) this.intrinsicValue; }
+    public float floatValue() {
+        switch (this.type) {
+            case BYTE: case SHORT: case INT: case LONG:
+                return this.longBits;
+            case FLOAT:
+                return (float) this.doubleBits;
+            default:
+                throw this.mismatch("float");
+        }
+    }
+
+    public double doubleValue() {
+        switch (this.type) {
+            case BYTE: case SHORT: case INT: case LONG:
+                return this.longBits;
+            case FLOAT: case DOUBLE:
+                return this.doubleBits;
+            default:
+                throw this.mismatch("double");
+        }
+    }
+
+    public boolean booleanValue() {
+        if (this.type != Type.BOOLEAN) throw this.mismatch("boolean");
+        return this.longBits != 0;
+    }
+
+    public char charValue() {
+        if (this.type != Type.CHARACTER) throw this.mismatch("char");
+        return (char) this.longBits;
+    }
 
     public String stringValue() { return (String) this.intrinsicValue; }
 
@@ -33,12 +134,157 @@ public class ComplexObject {
 
     public Map<?, ?> mapValue() { return (Map<?, ?>) this.intrinsicValue; }
 
+    /**
+     * This method returns the element of the list from the index. The elements of the large arrays from the lazy parse
+     * are parsed when them are requested, then only the element from the index is parsed.
+     * @param index the index of the element.
+     * @return the element.
+     * @since 1.1
+     */
+    public Object elementAt(final int index) { return this.listValue().get(index); }
+
+    /**
+     * This method returns the spliterator of the elements from the list. The large arrays from the lazy parse are split
+     * at the boundaries of the elements, and the elements are parsed when them are traversed.
+     * @return the spliterator of the elements.
+     * @since 1.1
+     */
+    public Spliterator<?> spliterator() { return this.listValue().spliterator(); }
+
+    /**
+     * This method returns the stream of the elements from the list, that can be parallel by {@link Stream#parallel()}.
+     * @return the stream of the elements.
+     * @since 1.1
+     */
+    public Stream<?> stream() { return StreamSupport.stream(this.spliterator(), false); }
+
+    /**
+     * This method returns the values from the list of integers as a new array. Each element is read like
+     * {@link #intValue()}, then a long that doesn't fit into an int throws an {@link ArithmeticException}.
+     * @return the copy of the values.
+     * @since 1.1
+     */
+    public int[] intArrayValue() {
+        final List<?> list = this.listValue();
+        if (list instanceof PrimitiveLists.IntList) return ((PrimitiveLists.IntList) list).array().clone();
+
+        final int[] array = new int[list.size()];
+        int i = 0;
+        for (final Object element : list) {
+            array[i++] = element instanceof Integer ? (Integer) element : newComplexObject(element).intValue();
+        }
+        return array;
+    }
+
+    /**
+     * This method returns the values from the list of longs as a new array. Each element is read like
+     * {@link #longValue()}.
+     * @return the copy of the values.
+     * @since 1.1
+     */
+    public long[] longArrayValue() {
+        final List<?> list = this.listValue();
+        if (list instanceof PrimitiveLists.LongList) return ((PrimitiveLists.LongList) list).array().clone();
+
+        final long[] array = new long[list.size()];
+        int i = 0;
+        for (final Object element : list) {
+            array[i++] = element instanceof Long ? (Long) element : newComplexObject(element).longValue();
+        }
+        return array;
+    }
+
+    /**
+     * This method returns the values from the list of doubles as a new array. Each element is read like
+     * {@link #doubleValue()}.
+     * @return the copy of the values.
+     * @since 1.1
+     */
+    public double[] doubleArrayValue() {
+        final List<?> list = this.listValue();
+        if (list instanceof PrimitiveLists.DoubleList) return ((PrimitiveLists.DoubleList) list).array().clone();
+
+        final double[] array = new double[list.size()];
+        int i = 0;
+        for (final Object element : list) {
+            array[i++] = element instanceof Double ? (Double) element : newComplexObject(element).doubleValue();
+        }
+        return array;
+    }
+
+    /**
+     * This method returns the value boxed by its type.
+     * @return the boxed value.
+     * @since 1.1
+     */
+    public Object value() {
+        switch (this.type) {
+            case BYTE: return (byte) this.longBits;
+            case SHORT: return (short) this.longBits;
+            case INT: return (int) this.longBits;
+            case LONG: return this.longBits;
+            case FLOAT: return (float) this.doubleBits;
+            case DOUBLE: return this.doubleBits;
+            case BOOLEAN: return this.longBits != 0;
+            case CHARACTER: return (char) this.longBits;
+            default: return this.intrinsicValue;
+        }
+    }
+
+    private ClassCastException mismatch(final String target) {
+        return new ClassCastException("The value of type " + this.type + " can't be read as " + target + ".");
+    }
+
     @Override
     public String toString() {
-        return "" + this.intrinsicValue;
+        switch (this.type) {
+            case BYTE: case SHORT: case INT: case LONG: return Long.toString(this.longBits);
+            case FLOAT: return Float.toString((float) this.doubleBits);
+            case DOUBLE: return Double.toString(this.doubleBits);
+            case BOOLEAN: return Boolean.toString(this.longBits != 0);
+            case CHARACTER: return String.valueOf((char) this.longBits);
+            default: return "" + this.intrinsicValue;
+        }
     }
 
+    // ... Factories ...
+
+    public static ComplexObject ofByte(final byte value) { return new ComplexObject(Type.BYTE, value, 0, null); }
+
+    public static ComplexObject ofShort(final short value) { return new ComplexObject(Type.SHORT, value, 0, null); }
+
+    public static ComplexObject ofInt(final int value) { return new ComplexObject(Type.INT, value, 0, null); }
+
+    public static ComplexObject ofLong(final long value) { return new ComplexObject(Type.LONG, value, 0, null); }
+
+    public static ComplexObject ofFloat(final float value) { return new ComplexObject(Type.FLOAT, 0, value, null); }
+
+    public static ComplexObject ofDouble(final double value) { return new ComplexObject(Type.DOUBLE, 0, value, null); }
+
+    public static ComplexObject ofBoolean(final boolean value) { return new ComplexObject(Type.BOOLEAN, value ? 1 : 0, 0, null); }
+
+    public static ComplexObject ofChar(final char value) { return new ComplexObject(Type.CHARACTER, value, 0, null); }
+
+    /**
+     * This method creates the complex object from a boxed value, then the primitive values are unboxed.
+     * @param value the value.
+     * @return the complex object.
+     * @since 1.0
+     */
     public static ComplexObject newComplexObject(final Object value) {
-        return new ComplexObject(value);
+        if (value == null) return new ComplexObject(Type.NULL, 0, 0, null);
+        if (value instanceof Integer) return ofInt((Integer) value);
+        if (value instanceof Long) return ofLong((Long) value);
+        if (value instanceof Double) return ofDouble((Double) value);
+        if (value instanceof Boolean) return ofBoolean((Boolean) value);
+        if (value instanceof String) return new ComplexObject(Type.STRING, 0, 0, value);
+        if (value instanceof List) return new ComplexObject(Type.LIST, 0, 0, value);
+        if (value instanceof Map) return new ComplexObject(Type.MAP, 0, 0, value);
+        if (value instanceof Float) return ofFloat((Float) value);
+        if (value instanceof Short) return ofShort((Short) value);
+        if (value instanceof Byte) return ofByte((Byte) value);
+        if (value instanceof Character) return ofChar((Character) value);
+
+        throw new IllegalArgumentException("The value of class " + value.getClass().getName() + " is not supported.");
     }
 }
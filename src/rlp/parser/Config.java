@@ -0,0 +1,76 @@
+package rlp.parser;
+
+import java.util.Map;
+
+/**
+ * This represents a parsed configuration, whose values are read by their keys.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public interface Config {
+
+    /**
+     * This method get the value by the key.
+     * @param key the key from the value.
+     * @return the ComplexObject that is referred by the key, or null if the key doesn't exist.
+     * @since 1.1
+     */
+    ComplexObject get(String key);
+
+    /**
+     * This method returns the map that contains the all values, in the order of the configuration.
+     * @return the map of the values.
+     * @since 1.1
+     */
+    Map<String, ComplexObject> getComplexObjectMap();
+
+    /**
+     * This method returns the handle of the key, that reads the value from this configuration, or from other
+     * configuration, without the lookup of the key after the first read.
+     * @param key the key.
+     * @return the handle of the key.
+     * @since 1.1
+     */
+    default ConfigKey key(final String key) {
+        return ConfigKey.of(key);
+    }
+
+    /**
+     * This method get the nested value by the path, that has the keys of the maps separated by dots and the indexes of
+     * the lists between brackets (i. e. {@code servers[3].ports.http}). The path is compiled once and cached, then the
+     * repeated reads of the path don't parse the path.
+     * @param path the path of the value.
+     * @return the ComplexObject that is referred by the path, or null if any step of the path doesn't exist.
+     * @throws IllegalArgumentException if the path is not valid.
+     * @see ConfigPath
+     * @since 1.1
+     */
+    default ComplexObject at(final String path) {
+        return ConfigPath.compile(path).get(this);
+    }
+
+    /**
+     * This method bind the values to a new instance of the class. The values are bound to the components of a record,
+     * or to the fields of a class with a constructor without parameters, by the names of the components and the fields.
+     * The nested records and classes are bound from the maps, and the lists and the maps are bound with the types of
+     * their elements.
+     * <p>
+     * Example:
+     * <pre>
+     * record Server(String host, int port) {}
+     * record AppConfig(String name, List&lt;Server&gt; servers, Map&lt;String, Integer&gt; limits) {}
+     *
+     * final AppConfig app = config.bind(AppConfig.class);
+     * </pre>
+     * @param type the class of the instance.
+     * @param <T> the type of the instance.
+     * @return the new instance.
+     * @throws ConfigBindException if a value can't be converted to its type, or a primitive value doesn't exist.
+     * @throws IllegalArgumentException if the class can't be bound.
+     * @since 1.1
+     */
+    default <T> T bind(final Class<T> type) {
+        return ConfigBinder.bind(this, type);
+    }
+}
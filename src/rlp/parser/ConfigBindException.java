@@ -0,0 +1,49 @@
+package rlp.parser;
+
+/**
+ * This represents the exception that is thrown when a value can't be bound to a record or an object by
+ * {@link Config#bind(Class)}, then the exception has the path of the value in the configuration
+ * (i. e. {@code servers[2].port}).
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public class ConfigBindException extends ConfigException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String path;
+    private final String reason;
+
+    ConfigBindException(final String path, final String reason) {
+        this(path, reason, null);
+    }
+
+    ConfigBindException(final String path, final String reason, final Throwable cause) {
+        super(path.isEmpty() ? "The value can't be bound: " + reason
+                : "The value of \"" + path + "\" can't be bound: " + reason, cause);
+        this.path = path;
+        this.reason = reason;
+    }
+
+    /**
+     * This method returns the path of the value that can't be bound.
+     * @return the path of the value.
+     * @since 1.1
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * This method creates the same exception for the value that contains the value of this exception. The path of the
+     * exception is built when the exception goes through the values, then the binding doesn't build paths.
+     * @param parent the key or the index ("[i]") of the value that contains the value of this exception.
+     * @return the exception with the path from the parent.
+     * @since 1.1
+     */
+    ConfigBindException within(final String parent) {
+        final String path = this.path.isEmpty() || this.path.charAt(0) == '[' ? parent + this.path : parent + "." + this.path;
+        return new ConfigBindException(path, this.reason, this.getCause());
+    }
+}
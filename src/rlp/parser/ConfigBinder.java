@@ -0,0 +1,634 @@
+package rlp.parser;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This represents the binder of the configurations to the records and the objects, that is used by
+ * {@link Config#bind(Class)}.
+ * <p>
+ * The binding of each class is built once, with the {@link MethodHandle} of the constructor and the fields, and with the
+ * converter of each value, and then it is cached by the class. The binding of the configuration reads the values from
+ * the slots of the configuration, like the {@link ConfigKey}, then the keys are not looked up again until the
+ * configuration is reloaded.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class ConfigBinder {
+
+    private static final ClassValue<Binding> BINDINGS = new ClassValue<>() {
+        @Override
+        protected Binding computeValue(final Class<?> type) {
+            return Binding.of(type);
+        }
+    };
+
+    // @Note This represents the kinds of the properties whose values are converted without the converter, when the
+    // value has the same type of the property.
+    private static final int KIND_OTHER = 0;
+    private static final int KIND_INT = 1;
+    private static final int KIND_LONG = 2;
+    private static final int KIND_DOUBLE = 3;
+    private static final int KIND_BOOLEAN = 4;
+    private static final int KIND_STRING = 5;
+
+    private ConfigBinder() {
+    }
+
+    /**
+     * This method bind the values of the configuration to a new instance of the class.
+     * @param config the configuration.
+     * @param type the class of a record, or a class with a constructor without parameters.
+     * @return the new instance.
+     * @throws ConfigBindException if a value can't be bound.
+     * @throws IllegalArgumentException if the class can't be bound.
+     * @since 1.1
+     */
+    static <T> T bind(final Config config, final Class<T> type) {
+        if (config == null) {
+            throw new NullPointerException("config must not be null");
+        }
+        if (type == null) {
+            throw new NullPointerException("type must not be null");
+        }
+
+        return type.cast(BINDINGS.get(type).bind(config));
+    }
+
+    // ... Binding ...
+
+    /**
+     * This represents the binding of a class, that are the properties of the class and the constructor. The properties
+     * of the records are the components, and the properties of the other classes are the fields, that are set after the
+     * instance is created.
+     * @since 1.1
+     */
+    private static final class Binding {
+
+        private final Class<?> type;
+        private final String[] names;
+        private final Class<?>[] types;
+        private final int[] kinds;
+        private final Converter[] converters;
+
+        /**
+         * This represents the slots of the properties from the last configuration, that is replaced when other
+         * configuration is bound. The resolution is immutable, like the resolution of the {@link ConfigKey}.
+         * @since 1.1
+         */
+        private Resolution resolution;
+
+        /**
+         * This represents the constructor, that is (Object[])Object for the records and ()Object for the other classes.
+         * @since 1.1
+         */
+        private final MethodHandle constructor;
+
+        /**
+         * This represents the setters of the fields, that are (Object, Object)void, or null for the records.
+         * @since 1.1
+         */
+        private final MethodHandle[] setters;
+
+        private Binding(final Class<?> type, final String[] names, final Class<?>[] types, final Converter[] converters,
+                        final MethodHandle constructor, final MethodHandle[] setters) {
+            this.type = type;
+            this.names = names;
+            this.types = types;
+            this.converters = converters;
+            this.constructor = constructor;
+            this.setters = setters;
+
+            this.kinds = new int[types.length];
+            for (int i = 0; i < types.length; i++) this.kinds[i] = kindOf(types[i]);
+        }
+
+        static Binding of(final Class<?> type) {
+            if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum()
+                    || Modifier.isAbstract(type.getModifiers())) {
+                throw new IllegalArgumentException("The class " + type.getName() + " can't be bound, because it is not a record or a class.");
+            }
+
+            final MethodHandles.Lookup lookup = lookup(type);
+            try {
+                return type.isRecord() ? ofRecord(type, lookup) : ofClass(type, lookup);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalArgumentException("The class " + type.getName() + " can't be bound: " + e.getMessage(), e);
+            }
+        }
+
+        private static Binding ofRecord(final Class<?> type, final MethodHandles.Lookup lookup) throws NoSuchMethodException, IllegalAccessException {
+            final RecordComponent[] components = type.getRecordComponents();
+
+            final String[] names = new String[components.length];
+            final Class<?>[] types = new Class<?>[components.length];
+            final Converter[] converters = new Converter[components.length];
+
+            for (int i = 0; i < components.length; i++) {
+                names[i] = components[i].getName();
+                types[i] = components[i].getType();
+                converters[i] = converterOf(components[i].getGenericType(), type, names[i]);
+            }
+
+            // @Note The canonical constructor receives the values as an array, and each value is unboxed or cast by the
+            // spreader.
+            final MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, types))
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+
+            return new Binding(type, names, types, converters, constructor, null);
+        }
+
+        private static Binding ofClass(final Class<?> type, final MethodHandles.Lookup lookup) throws NoSuchMethodException, IllegalAccessException {
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                int index = 0;
+                for (final Field field : current.getDeclaredFields()) {
+                    // @Note The static, transient and final fields are not bound, and the fields from the super classes
+                    // come before the fields from the class.
+                    final int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || Modifier.isFinal(modifiers)
+                            || field.isSynthetic()) continue;
+
+                    fields.add(index++, field);
+                }
+            }
+
+            final String[] names = new String[fields.size()];
+            final Class<?>[] types = new Class<?>[fields.size()];
+            final Converter[] converters = new Converter[fields.size()];
+            final MethodHandle[] setters = new MethodHandle[fields.size()];
+
+            for (int i = 0; i < names.length; i++) {
+                final Field field = fields.get(i);
+
+                names[i] = field.getName();
+                types[i] = field.getType();
+                converters[i] = converterOf(field.getGenericType(), type, names[i]);
+                setters[i] = lookup(field.getDeclaringClass()).unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+
+            final MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+
+            return new Binding(type, names, types, converters, constructor, setters);
+        }
+
+        private static MethodHandles.Lookup lookup(final Class<?> type) {
+            try {
+                return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("The class " + type.getName() + " can't be bound, because its package is not open.", e);
+            }
+        }
+
+        /**
+         * This method bind the values of the configuration, that are read from the slots of the configuration.
+         * @since 1.1
+         */
+        Object bind(final Config config) {
+            final Slots slots = ConfigKey.slotsOf(config);
+            if (slots == null) return this.bind(config.getComplexObjectMap());
+
+            Resolution resolution = this.resolution;
+            if (resolution == null || resolution.slots != slots) {
+                final int[] indexes = new int[this.names.length];
+                for (int i = 0; i < indexes.length; i++) indexes[i] = slots.slotOf(this.names[i]);
+
+                resolution = new Resolution(slots, indexes);
+                this.resolution = resolution;
+            }
+
+            final int[] indexes = resolution.indexes;
+            if (this.setters == null) {
+                final Object[] values = new Object[indexes.length];
+                for (int i = 0; i < values.length; i++) values[i] = this.convert(i, indexes[i] < 0 ? null : slots.valueAt(indexes[i]));
+                return this.newRecord(values);
+            }
+
+            final Object instance = this.newInstance();
+            for (int i = 0; i < indexes.length; i++) this.set(instance, i, indexes[i] < 0 ? null : slots.valueAt(indexes[i]));
+            return instance;
+        }
+
+        /**
+         * This method bind the values of the map, that is a value from the configuration.
+         * @since 1.1
+         */
+        Object bind(final Map<?, ?> map) {
+            if (this.setters == null) {
+                final Object[] values = new Object[this.names.length];
+                for (int i = 0; i < values.length; i++) values[i] = this.convert(i, map.get(this.names[i]));
+                return this.newRecord(values);
+            }
+
+            final Object instance = this.newInstance();
+            for (int i = 0; i < this.names.length; i++) this.set(instance, i, map.get(this.names[i]));
+            return instance;
+        }
+
+        private Object convert(final int index, final Object value) {
+            if (value == null) {
+                // @Note The primitive components must have a value, and the other components are null.
+                if (this.types[index].isPrimitive()) throw new ConfigBindException(this.names[index], "the key doesn't exist");
+                return null;
+            }
+
+            // @Note The values from the configuration whose type is the type of the property are not converted.
+            if (value instanceof ComplexObject) {
+                final ComplexObject object = (ComplexObject) value;
+                switch (this.kinds[index]) {
+                    case KIND_INT: if (object.type() == ComplexObject.Type.INT) return object.intValue(); break;
+                    case KIND_LONG: if (object.type() == ComplexObject.Type.LONG) return object.longValue(); break;
+                    case KIND_DOUBLE: if (object.type() == ComplexObject.Type.DOUBLE) return object.doubleValue(); break;
+                    case KIND_BOOLEAN: if (object.type() == ComplexObject.Type.BOOLEAN) return object.booleanValue(); break;
+                    case KIND_STRING: if (object.type() == ComplexObject.Type.STRING) return object.stringValue(); break;
+                    default: break;
+                }
+            }
+
+            try {
+                return this.converters[index].convert(value);
+            } catch (ConfigBindException e) {
+                throw e.within(this.names[index]);
+            }
+        }
+
+        private void set(final Object instance, final int index, final Object value) {
+            // @Note The fields whose key doesn't exist keep their initial value.
+            if (value == null) return;
+
+            final Object converted = this.convert(index, value);
+            try {
+                this.setters[index].invokeExact(instance, converted);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Object newRecord(final Object[] values) {
+            try {
+                return (Object) this.constructor.invokeExact(values);
+            } catch (RuntimeException e) {
+                // @Note The compact constructor can validate the values, then its exception is the reason.
+                throw new ConfigBindException("", "the constructor of " + this.type.getName() + " throws " + e, e);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Object newInstance() {
+            try {
+                return (Object) this.constructor.invokeExact();
+            } catch (RuntimeException e) {
+                throw new ConfigBindException("", "the constructor of " + this.type.getName() + " throws " + e, e);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class Resolution {
+
+        final Slots slots;
+        final int[] indexes;
+
+        Resolution(final Slots slots, final int[] indexes) {
+            this.slots = slots;
+            this.indexes = indexes;
+        }
+    }
+
+    private static int kindOf(final Class<?> type) {
+        if (type == int.class || type == Integer.class) return KIND_INT;
+        if (type == long.class || type == Long.class) return KIND_LONG;
+        if (type == double.class || type == Double.class) return KIND_DOUBLE;
+        if (type == boolean.class || type == Boolean.class) return KIND_BOOLEAN;
+        if (type == String.class) return KIND_STRING;
+        return KIND_OTHER;
+    }
+
+    // ... Converters ...
+
+    /**
+     * This represents the converter of a value to the type of a property. The value is a {@link ComplexObject}, when it
+     * is read from the configuration, or a boxed value, when it is read from a list or a map.
+     * @since 1.1
+     */
+    @FunctionalInterface
+    private interface Converter {
+
+        Object convert(Object value);
+    }
+
+    /**
+     * This method creates the converter to the type.
+     * @param type the generic type of the property.
+     * @param owner the class that contains the property, that is used by the errors.
+     * @param name the name of the property, that is used by the errors.
+     * @return the converter.
+     * @throws IllegalArgumentException if the type is not supported.
+     * @since 1.1
+     */
+    private static Converter converterOf(final Type type, final Class<?> owner, final String name) {
+        if (type instanceof Class) return converterOf((Class<?>) type, owner, name);
+
+        if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            final Class<?> raw = (Class<?>) parameterized.getRawType();
+            final Type[] arguments = parameterized.getActualTypeArguments();
+
+            if (raw == List.class || raw == Collection.class || raw == Iterable.class) {
+                return listConverter(converterOf(arguments[0], owner, name));
+            }
+            if (raw == Map.class) {
+                if (arguments[0] != String.class && arguments[0] != Object.class && !(arguments[0] instanceof WildcardType)) {
+                    throw unsupported(type, owner, name);
+                }
+                return mapConverter(converterOf(arguments[1], owner, name));
+            }
+            return converterOf(raw, owner, name);
+        }
+
+        if (type instanceof GenericArrayType) {
+            final Type component = ((GenericArrayType) type).getGenericComponentType();
+            final Class<?> raw = component instanceof ParameterizedType ? (Class<?>) ((ParameterizedType) component).getRawType() : Object.class;
+            return arrayConverter(raw, converterOf(component, owner, name));
+        }
+
+        if (type instanceof WildcardType) {
+            final Type[] upper = ((WildcardType) type).getUpperBounds();
+            return upper.length == 0 ? ConfigBinder::unwrap : converterOf(upper[0], owner, name);
+        }
+
+        // @Note The type variables are bound to their boxed values.
+        return ConfigBinder::unwrap;
+    }
+
+    private static Converter converterOf(final Class<?> type, final Class<?> owner, final String name) {
+        if (type == int.class || type == Integer.class) return value -> (int) integral(value, Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
+        if (type == long.class || type == Long.class) return value -> integral(value, Long.MIN_VALUE, Long.MAX_VALUE, "long");
+        if (type == double.class || type == Double.class) return value -> floating(value, "double");
+        if (type == boolean.class || type == Boolean.class) return ConfigBinder::toBoolean;
+        if (type == String.class) return ConfigBinder::toStringValue;
+        if (type == short.class || type == Short.class) return value -> (short) integral(value, Short.MIN_VALUE, Short.MAX_VALUE, "short");
+        if (type == byte.class || type == Byte.class) return value -> (byte) integral(value, Byte.MIN_VALUE, Byte.MAX_VALUE, "byte");
+        if (type == float.class || type == Float.class) return value -> (float) floating(value, "float");
+        if (type == char.class || type == Character.class) return ConfigBinder::toChar;
+
+        if (type == ComplexObject.class) {
+            return value -> value instanceof ComplexObject ? value : ComplexObject.newComplexObject(value);
+        }
+        if (type == Object.class) return ConfigBinder::unwrap;
+
+        if (type.isEnum()) return enumConverter(type);
+        if (type == int[].class) return ConfigBinder::toIntArray;
+        if (type == long[].class) return ConfigBinder::toLongArray;
+        if (type == double[].class) return ConfigBinder::toDoubleArray;
+        if (type.isArray()) return arrayConverter(type.getComponentType(), converterOf(type.getComponentType(), owner, name));
+
+        if (type == List.class || type == Collection.class || type == Iterable.class) return listConverter(ConfigBinder::unwrap);
+        if (type == Map.class) return mapConverter(ConfigBinder::unwrap);
+
+        if (type.isPrimitive() || type.isInterface() || type.getName().startsWith("java.")) throw unsupported(type, owner, name);
+
+        // @Note The nested records and classes are bound from the maps. The binding of the nested class is found when the
+        // value is converted, then the classes can contain themselves.
+        return value -> BINDINGS.get(type).bind(toMap(value));
+    }
+
+    private static Converter listConverter(final Converter elements) {
+        return value -> {
+            final List<?> list = toList(value);
+            final List<Object> result = new ArrayList<>(list.size());
+
+            int index = 0;
+            for (final Object element : list) {
+                try {
+                    result.add(elements.convert(element));
+                } catch (ConfigBindException e) {
+                    throw e.within("[" + index + "]");
+                }
+                index++;
+            }
+            return result;
+        };
+    }
+
+    private static Converter mapConverter(final Converter values) {
+        return value -> {
+            final Map<?, ?> map = toMap(value);
+            final Map<String, Object> result = new LinkedHashMap<>(Math.max(16, (int) (map.size() / 0.75f) + 1));
+
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                final String key = String.valueOf(entry.getKey());
+                try {
+                    result.put(key, values.convert(entry.getValue()));
+                } catch (ConfigBindException e) {
+                    throw e.within(key);
+                }
+            }
+            return result;
+        };
+    }
+
+    private static Converter arrayConverter(final Class<?> component, final Converter elements) {
+        return value -> {
+            final List<?> list = toList(value);
+            final Object array = Array.newInstance(component, list.size());
+
+            int index = 0;
+            for (final Object element : list) {
+                try {
+                    Array.set(array, index, elements.convert(element));
+                } catch (ConfigBindException e) {
+                    throw e.within("[" + index + "]");
+                }
+                index++;
+            }
+            return array;
+        };
+    }
+
+    private static Converter enumConverter(final Class<?> type) {
+        final Map<String, Object> constants = new HashMap<>();
+        for (final Object constant : type.getEnumConstants()) constants.put(((Enum<?>) constant).name(), constant);
+
+        return value -> {
+            final String name = toStringValue(value);
+            final Object constant = constants.get(name);
+            if (constant == null) {
+                throw new ConfigBindException("", "\"" + name + "\" is not a constant of " + type.getName());
+            }
+            return constant;
+        };
+    }
+
+    // @Note The next methods convert the values to the primitive values. The integral numbers are converted to the
+    // smaller types when them fit, and the all numbers are converted to the floating-point types.
+
+    private static long integral(final Object value, final long min, final long max, final String target) {
+        final long number;
+        if (value instanceof ComplexObject) {
+            final ComplexObject object = (ComplexObject) value;
+            switch (object.type()) {
+                case BYTE: case SHORT: case INT: case LONG:
+                    number = object.longValue();
+                    break;
+                default:
+                    throw mismatch(value, target);
+            }
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            number = ((Number) value).longValue();
+        } else {
+            throw mismatch(value, target);
+        }
+
+        if (number < min || number > max) throw new ConfigBindException("", "the value " + number + " doesn't fit into " + target);
+        return number;
+    }
+
+    private static double floating(final Object value, final String target) {
+        if (value instanceof ComplexObject) {
+            final ComplexObject object = (ComplexObject) value;
+            switch (object.type()) {
+                case BYTE: case SHORT: case INT: case LONG: case FLOAT: case DOUBLE:
+                    return object.doubleValue();
+                default:
+                    throw mismatch(value, target);
+            }
+        }
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        throw mismatch(value, target);
+    }
+
+    private static Object toBoolean(final Object value) {
+        if (value instanceof Boolean) return value;
+        if (value instanceof ComplexObject && ((ComplexObject) value).type() == ComplexObject.Type.BOOLEAN) {
+            return ((ComplexObject) value).booleanValue();
+        }
+        throw mismatch(value, "boolean");
+    }
+
+    private static Object toChar(final Object value) {
+        if (value instanceof Character) return value;
+        if (value instanceof ComplexObject && ((ComplexObject) value).type() == ComplexObject.Type.CHARACTER) {
+            return ((ComplexObject) value).charValue();
+        }
+        throw mismatch(value, "char");
+    }
+
+    private static String toStringValue(final Object value) {
+        if (value instanceof String) return (String) value;
+        if (value instanceof ComplexObject && ((ComplexObject) value).type() == ComplexObject.Type.STRING) {
+            return ((ComplexObject) value).stringValue();
+        }
+        throw mismatch(value, "String");
+    }
+
+    private static List<?> toList(final Object value) {
+        final Object unwrapped = unwrap(value);
+        if (unwrapped instanceof List) return (List<?>) unwrapped;
+        throw mismatch(value, "a list");
+    }
+
+    private static Map<?, ?> toMap(final Object value) {
+        final Object unwrapped = unwrap(value);
+        if (unwrapped instanceof Map) return (Map<?, ?>) unwrapped;
+        throw mismatch(value, "a map");
+    }
+
+    /**
+     * This method converts the list to an array. The lists that are backed by a primitive array are copied, because the
+     * array of the list must not be modified.
+     * @since 1.1
+     */
+    private static Object toIntArray(final Object value) {
+        final List<?> list = toList(value);
+        if (list instanceof PrimitiveLists.IntList) return ((PrimitiveLists.IntList) list).array().clone();
+
+        final int[] array = new int[list.size()];
+        int index = 0;
+        for (final Object element : list) {
+            try {
+                array[index] = (int) integral(element, Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
+            } catch (ConfigBindException e) {
+                throw e.within("[" + index + "]");
+            }
+            index++;
+        }
+        return array;
+    }
+
+    private static Object toLongArray(final Object value) {
+        final List<?> list = toList(value);
+        if (list instanceof PrimitiveLists.LongList) return ((PrimitiveLists.LongList) list).array().clone();
+
+        final long[] array = new long[list.size()];
+        int index = 0;
+        for (final Object element : list) {
+            try {
+                array[index] = integral(element, Long.MIN_VALUE, Long.MAX_VALUE, "long");
+            } catch (ConfigBindException e) {
+                throw e.within("[" + index + "]");
+            }
+            index++;
+        }
+        return array;
+    }
+
+    private static Object toDoubleArray(final Object value) {
+        final List<?> list = toList(value);
+        if (list instanceof PrimitiveLists.DoubleList) return ((PrimitiveLists.DoubleList) list).array().clone();
+
+        final double[] array = new double[list.size()];
+        int index = 0;
+        for (final Object element : list) {
+            try {
+                array[index] = floating(element, "double");
+            } catch (ConfigBindException e) {
+                throw e.within("[" + index + "]");
+            }
+            index++;
+        }
+        return array;
+    }
+
+    private static Object unwrap(final Object value) {
+        return value instanceof ComplexObject ? ((ComplexObject) value).value() : value;
+    }
+
+    private static ConfigBindException mismatch(final Object value, final String target) {
+        final ComplexObject.Type type = value instanceof ComplexObject ? ((ComplexObject) value).type()
+                : ComplexObject.newComplexObject(value).type();
+        return new ConfigBindException("", "the value of type " + type + " can't be converted to " + target);
+    }
+
+    private static IllegalArgumentException unsupported(final Type type, final Class<?> owner, final String name) {
+        return new IllegalArgumentException("The type " + type.getTypeName() + " of \"" + name + "\" from the class "
+                + owner.getName() + " is not supported.");
+    }
+}
@@ -0,0 +1,46 @@
+package rlp.parser;
+
+/**
+ * This represents the exception that is thrown when the configuration is not valid, then the exception has the line and
+ * the column from the character where the problem is found.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public class ConfigException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+
+    public ConfigException(final String message, final int line, final int column) {
+        super(message + " (line " + line + ", column " + column + ")");
+        this.line = line;
+        this.column = column;
+    }
+
+    public ConfigException(final String message, final Throwable cause) {
+        super(message, cause);
+        this.line = 0;
+        this.column = 0;
+    }
+
+    /**
+     * This method returns the line where the problem is found, that starts from 1, or 0 if the line is unknown.
+     * @return the line from the problem.
+     * @since 1.1
+     */
+    public int getLine() {
+        return this.line;
+    }
+
+    /**
+     * This method returns the column where the problem is found, that starts from 1, or 0 if the column is unknown.
+     * @return the column from the problem.
+     * @since 1.1
+     */
+    public int getColumn() {
+        return this.column;
+    }
+}
@@ -0,0 +1,118 @@
+package rlp.parser;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This represents the handle of a key, that resolves the slot of the key at the first read from a configuration, and
+ * then reads the value directly from the slot. The handle is resolved again when the configuration is reloaded, then
+ * the handles can be stored in constants.
+ * <p>
+ * Example:
+ * <pre>
+ * private static final ConfigKey TIMEOUT = ConfigKey.of("timeout");
+ *
+ * final int timeout = TIMEOUT.intValue(config);
+ * </pre>
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ConfigKey {
+
+    private final String name;
+
+    /**
+     * This represents the last resolution of the key. The resolution is immutable, then it can be replaced by any
+     * thread without lock, and a thread that sees an old resolution only resolves the key again.
+     * @since 1.1
+     */
+    private Resolution resolution;
+
+    private ConfigKey(final String name) {
+        this.name = name;
+    }
+
+    public static ConfigKey of(final String name) {
+        if (name == null) {
+            throw new NullPointerException("name must not be null");
+        }
+
+        return new ConfigKey(name);
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * This method get the value of the key from the configuration.
+     * @param config the configuration.
+     * @return the ComplexObject that is referred by the key, or null if the key doesn't exist.
+     * @since 1.1
+     */
+    public ComplexObject get(final Config config) {
+        final Slots slots = slotsOf(config);
+        if (slots == null) return config.get(this.name);
+
+        Resolution resolution = this.resolution;
+        if (resolution == null || resolution.slots != slots) {
+            resolution = new Resolution(slots, slots.slotOf(this.name));
+            this.resolution = resolution;
+        }
+
+        return resolution.slot < 0 ? null : slots.valueAt(resolution.slot);
+    }
+
+    public byte byteValue(final Config config) { return this.require(config).byteValue(); }
+
+    public short shortValue(final Config config) { return this.require(config).shortValue(); }
+
+    public int intValue(final Config config) { return this.require(config).intValue(); }
+
+    public long longValue(final Config config) { return this.require(config).longValue(); }
+
+    public float floatValue(final Config config) { return this.require(config).floatValue(); }
+
+    public double doubleValue(final Config config) { return this.require(config).doubleValue(); }
+
+    public boolean booleanValue(final Config config) { return this.require(config).booleanValue(); }
+
+    public char charValue(final Config config) { return this.require(config).charValue(); }
+
+    public String stringValue(final Config config) { return this.require(config).stringValue(); }
+
+    private ComplexObject require(final Config config) {
+        final ComplexObject value = this.get(config);
+        if (value == null) {
+            throw new NoSuchElementException("The key \"" + this.name + "\" doesn't exist.");
+        }
+        return value;
+    }
+
+    /**
+     * This method returns the slots of the configuration, or null if the configuration doesn't store its values in
+     * slots.
+     * @param config the configuration.
+     * @return the slots of the configuration.
+     * @since 1.1
+     */
+    static Slots slotsOf(final Config config) {
+        return config instanceof Slots.Provider ? ((Slots.Provider) config).slots() : null;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    private static final class Resolution {
+
+        final Slots slots;
+        final int slot;
+
+        Resolution(final Slots slots, final int slot) {
+            this.slots = slots;
+            this.slot = slot;
+        }
+    }
+}
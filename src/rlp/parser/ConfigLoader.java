@@ -0,0 +1,273 @@
+package rlp.parser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This represents the loader of the configurations from a directory tree, that reads and parses the all files
+ * concurrently and merges them into a single configuration.
+ * <p>
+ * The files are ordered by their paths relative to the root, and a key from a file replaces the same key from the files
+ * that come before it (i. e. "20-override.conf" replaces "10-base.conf"). The keys are kept in the order that them
+ * appear at the first time. The order is the same for each load, independently of the order that the files are read.
+ * The include directives of a file are relative to the directory of the file, and the included values belong to the
+ * file that includes them.
+ * <p>
+ * The files are loaded on virtual threads when the JVM supports them, otherwise on a pool of platform threads. The
+ * amount of files that are read at the same time is bounded by the parallelism.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ConfigLoader {
+
+    /**
+     * This represents the default amount of files that are read at the same time.
+     * @since 1.1
+     */
+    public static final int DEFAULT_PARALLELISM = 16;
+
+    private ConfigLoader() {
+    }
+
+    /**
+     * This method load the all files from the directory tree whose relative path matches the glob.
+     * <p>
+     * Example, the glob {@code "**.conf"} matches the all files with the extension ".conf", and the glob
+     * {@code "*.conf"} only matches the files that are directly in the root.
+     * @param root the root of the directory tree.
+     * @param glob the glob that matches the relative paths of the files.
+     * @return the result of the load.
+     * @throws IOException if the root can't be walked. The other directories that can't be walked are failures of the
+     * result.
+     * @since 1.1
+     */
+    public static Result loadAll(final Path root, final String glob) throws IOException {
+        return loadAll(root, glob, StandardCharsets.UTF_8, DEFAULT_PARALLELISM);
+    }
+
+    public static Result loadAll(final Path root, final String glob, final Charset charset, final int parallelism) throws IOException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+
+        // @Note The failures of the walk come before the failures of the files.
+        final List<Failure> failures = new ArrayList<>();
+        final List<Path> files = find(root, glob, failures);
+        final Semaphore permits = new Semaphore(parallelism);
+
+        final ExecutorService executor = newExecutor(parallelism);
+        try {
+            final List<Future<Config>> futures = new ArrayList<>(files.size());
+            for (final Path file : files) {
+                futures.add(executor.submit(() -> load(charset, permits, file)));
+            }
+
+            // @Note The results are merged in the order of the files, that is not the order that the files are read.
+            final Map<String, ComplexObject> values = new LinkedHashMap<>();
+            final Map<String, Path> sources = new HashMap<>();
+
+            for (int i = 0; i < files.size(); i++) {
+                final Path file = files.get(i);
+
+                try {
+                    for (final Map.Entry<String, ComplexObject> entry : futures.get(i).get().getComplexObjectMap().entrySet()) {
+                        values.put(entry.getKey(), entry.getValue());
+                        sources.put(entry.getKey(), file);
+                    }
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof Exception)) throw new IllegalStateException(e.getCause());
+                    failures.add(new Failure(file, (Exception) e.getCause()));
+                }
+            }
+
+            return new Result(new ParsedConfig(values), files, sources, failures);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The load of \"" + root + "\" is interrupted.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ... Internal Methods ...
+
+    /**
+     * This method find the all regular files from the directory tree whose relative path matches the glob, ordered by
+     * the relative path. The separator of the relative paths is always "/", then the order is the same on the all file
+     * systems. The directories and the files that can't be visited are failures, and the walk continues after them.
+     * @throws IOException if the root can't be walked.
+     * @since 1.1
+     */
+    private static List<Path> find(final Path root, final String glob, final List<Failure> failures) throws IOException {
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        final List<Path> files = new ArrayList<>();
+
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                if (Files.isRegularFile(file) && matcher.matches(root.relativize(file))) files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException e) throws IOException {
+                if (file.equals(root)) throw e;
+
+                failures.add(new Failure(file, e));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path directory, final IOException e) throws IOException {
+                // @Note The directory whose entries can't be all read is a failure, but its visited files are loaded.
+                if (e != null) failures.add(new Failure(directory, e));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        files.sort((a, b) -> relativeName(root, a).compareTo(relativeName(root, b)));
+        return files;
+    }
+
+    private static String relativeName(final Path root, final Path path) {
+        return root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    private static Config load(final Charset charset, final Semaphore permits, final Path file) throws IOException, InterruptedException {
+        final byte[] bytes;
+
+        // @Note Only the reads are bounded, the parse of the files that are already read is not blocked by the reads.
+        permits.acquire();
+        try {
+            bytes = Files.readAllBytes(file);
+        } finally {
+            permits.release();
+        }
+
+        // @Note The include directives of each file are relative to the directory of the file.
+        return new ConfigParser(charset, null, file.getParent()).parse(bytes);
+    }
+
+    /**
+     * This method creates the executor of the loads. The virtual threads are created through reflection, because this
+     * library is compiled for a Java version that doesn't have them.
+     * @param parallelism the amount of platform threads, when the virtual threads are not supported.
+     * @return the executor of the loads.
+     * @since 1.1
+     */
+    private static ExecutorService newExecutor(final int parallelism) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // @Note The virtual threads are not supported, or are a preview feature that is not enabled.
+        }
+
+        final AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, task -> {
+            final Thread thread = new Thread(task, "config-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This represents the result of a load, that contains the merged configuration and the failures from the files that
+     * can't be loaded.
+     * @since 1.1
+     */
+    public static final class Result {
+
+        private final Config config;
+        private final List<Path> files;
+        private final Map<String, Path> sources;
+        private final List<Failure> failures;
+
+        private Result(final Config config, final List<Path> files, final Map<String, Path> sources, final List<Failure> failures) {
+            this.config = config;
+            this.files = Collections.unmodifiableList(files);
+            this.sources = sources;
+            this.failures = Collections.unmodifiableList(failures);
+        }
+
+        public Config getConfig() {
+            return this.config;
+        }
+
+        /**
+         * This method returns the files that match the glob, in the order of the precedence.
+         * @return the files.
+         * @since 1.1
+         */
+        public List<Path> getFiles() {
+            return this.files;
+        }
+
+        /**
+         * This method returns the file whose value is kept for the key.
+         * @param key the key.
+         * @return the file of the key, or null if the key doesn't exist.
+         * @since 1.1
+         */
+        public Path sourceOf(final String key) {
+            return this.sources.get(key);
+        }
+
+        public List<Failure> getFailures() {
+            return this.failures;
+        }
+
+        public boolean hasFailures() {
+            return !this.failures.isEmpty();
+        }
+    }
+
+    /**
+     * This represents a file that can't be loaded, with the error from its read or parse.
+     * @since 1.1
+     */
+    public static final class Failure {
+
+        private final Path file;
+        private final Exception error;
+
+        private Failure(final Path file, final Exception error) {
+            this.file = file;
+            this.error = error;
+        }
+
+        public Path getFile() {
+            return this.file;
+        }
+
+        public Exception getError() {
+            return this.error;
+        }
+
+        @Override
+        public String toString() {
+            return this.file + ": " + this.error.getMessage();
+        }
+    }
+}
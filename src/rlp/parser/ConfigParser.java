@@ -0,0 +1,331 @@
+package rlp.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+/**
+ * This represents the stateless parser of the configurations that are not files, like the configurations from a
+ * key-value store or from a remote call. The parser is thread-safe and can be shared, and each parse returns a new
+ * immutable {@link Config}.
+ * <p>
+ * The characters of the input are copied into a character buffer that is reused by each thread, then the parse of the
+ * small inputs only allocates the parsed values. The buffers that grow for the large inputs are released after the
+ * parse. The bytes in UTF-8 or ASCII are read by the lexer without decode them, and the bytes in the other charsets are
+ * decoded into the character buffer.
+ * <p>
+ * The include directives are only supported by the parser that has a base directory, that the relative paths are
+ * resolved against. The included files are read through the {@link ParseCache#shared() shared cache}.
+ * <p>
+ * Example:
+ * <pre>
+ * private static final ConfigParser PARSER = new ConfigParser();
+ *
+ * final Config config = PARSER.parse(bytes);
+ * </pre>
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ConfigParser {
+
+    /**
+     * This represents the initial size of the buffers from each thread.
+     * @since 1.1
+     */
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    /**
+     * This represents the maximum size of the buffers that are kept by each thread after a parse.
+     * @since 1.1
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1 << 20;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final Charset charset;
+
+    /**
+     * This represents the pool that deduplicates the keys and the strings, or null if the strings are not pooled.
+     * @since 1.1
+     */
+    private final StringPool stringPool;
+
+    /**
+     * This represents the directory of the relative paths from the include directives, or null if the includes are not
+     * supported.
+     * @since 1.1
+     */
+    private final File baseDirectory;
+
+    public ConfigParser() {
+        this(StandardCharsets.UTF_8);
+    }
+
+    public ConfigParser(final Charset charset) {
+        this(charset, null);
+    }
+
+    /**
+     * This creates the parser that decode the bytes with the charset, and deduplicate the keys and the strings from the
+     * all parses through the pool.
+     * @param charset the charset that is used to decode the bytes.
+     * @param stringPool the pool of the strings, or null if the strings are not pooled.
+     * @since 1.1
+     */
+    public ConfigParser(final Charset charset, final StringPool stringPool) {
+        this(charset, stringPool, null);
+    }
+
+    /**
+     * This creates the parser that decode the bytes with the charset, and resolves the relative paths from the include
+     * directives against the base directory.
+     * @param charset the charset that is used to decode the bytes and the included files.
+     * @param stringPool the pool of the strings, or null if the strings are not pooled.
+     * @param baseDirectory the directory of the relative paths, or null if the includes are not supported.
+     * @since 1.1
+     */
+    public ConfigParser(final Charset charset, final StringPool stringPool, final Path baseDirectory) {
+        if (charset == null) {
+            throw new NullPointerException("charset must not be null");
+        }
+
+        this.charset = charset;
+        this.stringPool = stringPool;
+        this.baseDirectory = baseDirectory == null ? null : baseDirectory.toFile();
+    }
+
+    // ... Bytes ...
+
+    public Config parse(final byte[] bytes) {
+        return this.parse(bytes, 0, bytes.length);
+    }
+
+    public Config parse(final byte[] bytes, final int offset, final int length) {
+        return this.parse(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * This method parse the configuration from the remaining bytes of the buffer. The lexer reads the UTF-8 bytes from
+     * the array of the heap buffers, and the direct buffers are decoded without copy the bytes into the heap. The
+     * position of the buffer is not modified.
+     * @param bytes the bytes of the configuration.
+     * @return the parsed configuration.
+     * @throws ConfigException if the configuration or the bytes are not valid.
+     * @since 1.1
+     */
+    public Config parse(final ByteBuffer bytes) {
+        if (this.readsBytes() && bytes.hasArray()) {
+            return this.parseBytes(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.arrayOffset() + bytes.limit());
+        }
+
+        final Scratch scratch = Scratch.acquire();
+        try {
+            final int length = this.decode(bytes.duplicate(), scratch);
+            return this.parse(scratch.chars, length);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * This method parse the configuration from the all bytes of the stream. The stream is not closed.
+     * @param in the stream of the configuration.
+     * @return the parsed configuration.
+     * @throws IOException if the stream can't be read.
+     * @throws ConfigException if the configuration or the bytes are not valid.
+     * @since 1.1
+     */
+    public Config parse(final InputStream in) throws IOException {
+        final Scratch scratch = Scratch.acquire();
+        try {
+            int length = 0;
+            int read;
+
+            while ((read = in.read(scratch.bytes, length, scratch.bytes.length - length)) != Parser.EOF) {
+                length += read;
+                if (length == scratch.bytes.length) scratch.bytes = Arrays.copyOf(scratch.bytes, length << 1);
+            }
+
+            if (this.readsBytes()) return this.parseBytes(scratch.bytes, 0, length);
+
+            final int decoded = this.decode(ByteBuffer.wrap(scratch.bytes, 0, length), scratch);
+            return this.parse(scratch.chars, decoded);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    // ... Characters ...
+
+    /**
+     * This method parse the configuration from the all characters of the reader. The reader is not closed.
+     * @param in the reader of the configuration.
+     * @return the parsed configuration.
+     * @throws IOException if the reader can't be read.
+     * @throws ConfigException if the configuration is not valid.
+     * @since 1.1
+     */
+    public Config parse(final Reader in) throws IOException {
+        final Scratch scratch = Scratch.acquire();
+        try {
+            int length = 0;
+            int read;
+
+            while ((read = in.read(scratch.chars, length, scratch.chars.length - length)) != Parser.EOF) {
+                length += read;
+                if (length == scratch.chars.length) scratch.chars = Arrays.copyOf(scratch.chars, length << 1);
+            }
+
+            return this.parse(scratch.chars, length);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    public Config parse(final CharSequence text) {
+        final Scratch scratch = Scratch.acquire();
+        try {
+            final int length = text.length();
+            final char[] chars = scratch.chars(length);
+
+            if (text instanceof String) {
+                ((String) text).getChars(0, length, chars, 0);
+            } else {
+                for (int i = 0; i < length; i++) chars[i] = text.charAt(i);
+            }
+
+            return this.parse(chars, length);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    // ... Internal Methods ...
+
+    /**
+     * This method parse the key-values from the characters. The parsed values don't keep the characters, then the
+     * buffer can be reused after this method.
+     * @since 1.1
+     */
+    private Config parse(final char[] chars, final int length) {
+        // @Note The byte order mark is not a part of the configuration, then it is jumped.
+        final int offset = length > 0 && chars[0] == '\uFEFF' ? 1 : 0;
+
+        return this.parse(new Lexer(chars, offset, length));
+    }
+
+    /**
+     * This method parse the key-values from the UTF-8 bytes, that are read by the lexer without decode them.
+     * @since 1.1
+     */
+    private Config parseBytes(final byte[] bytes, int offset, final int limit) {
+        // @Note The byte order mark is not a part of the configuration, then it is jumped.
+        if (limit - offset >= 3 && bytes[offset] == (byte) 0xEF && bytes[offset + 1] == (byte) 0xBB && bytes[offset + 2] == (byte) 0xBF) {
+            offset += 3;
+        }
+
+        return this.parse(new Lexer(bytes, offset, limit, 1, 1, this.charset.equals(StandardCharsets.US_ASCII)));
+    }
+
+    private Config parse(final Lexer lexer) {
+        final ConfigReader reader = new ConfigReader(lexer, this.stringPool);
+        final Includes includes = this.baseDirectory == null ? null
+                : Includes.inDirectory(this.baseDirectory, this.charset, ParseCache.shared());
+
+        return new ParsedConfig(Parser.parseEntries(reader, new LinkedHashMap<>(), includes));
+    }
+
+    /**
+     * This method check if the bytes are read by the lexer, that only reads UTF-8 and ASCII.
+     * @since 1.1
+     */
+    private boolean readsBytes() {
+        return this.charset.equals(StandardCharsets.UTF_8) || this.charset.equals(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * This method decode the bytes into the character buffer of the scratch.
+     * @return the amount of decoded characters.
+     * @throws ConfigException if the bytes are not valid for the charset.
+     * @since 1.1
+     */
+    private int decode(final ByteBuffer bytes, final Scratch scratch) {
+        final CharsetDecoder decoder = scratch.decoder(this.charset);
+        final CharBuffer out = CharBuffer.wrap(scratch.chars((int) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte())));
+
+        try {
+            CoderResult result = decoder.decode(bytes, out, true);
+            if (result.isError()) result.throwException();
+
+            result = decoder.flush(out);
+            if (result.isError()) result.throwException();
+        } catch (CharacterCodingException e) {
+            throw new ConfigException("The input is not valid " + this.charset.name(), e);
+        }
+
+        return out.position();
+    }
+
+    /**
+     * This represents the buffers that are reused by the parses from a thread.
+     * @since 1.1
+     */
+    private static final class Scratch {
+
+        byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+        char[] chars = new char[INITIAL_BUFFER_SIZE];
+
+        private CharsetDecoder decoder;
+
+        /**
+         * This represents that the buffers are used by a parse, then a nested parse from the same thread uses new
+         * buffers.
+         * @since 1.1
+         */
+        private boolean inUse;
+
+        static Scratch acquire() {
+            Scratch scratch = SCRATCH.get();
+            if (scratch.inUse) scratch = new Scratch();
+
+            scratch.inUse = true;
+            return scratch;
+        }
+
+        void release() {
+            this.inUse = false;
+
+            // @Note The buffers that grow for a large input are not kept, then a thread doesn't hold a large buffer.
+            if (this.bytes.length > MAX_POOLED_BUFFER_SIZE) this.bytes = new byte[INITIAL_BUFFER_SIZE];
+            if (this.chars.length > MAX_POOLED_BUFFER_SIZE) this.chars = new char[INITIAL_BUFFER_SIZE];
+        }
+
+        char[] chars(final int capacity) {
+            if (this.chars.length < capacity) this.chars = new char[Math.max(capacity, this.chars.length << 1)];
+            return this.chars;
+        }
+
+        CharsetDecoder decoder(final Charset charset) {
+            if (this.decoder == null || !this.decoder.charset().equals(charset)) {
+                // @Note The malformed input is reported instead of replaced, like the files.
+                this.decoder = charset.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT);
+            }
+            return this.decoder.reset();
+        }
+    }
+}
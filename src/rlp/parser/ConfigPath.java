@@ -0,0 +1,280 @@
+package rlp.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This represents a path to a nested value, that is compiled once into the steps of the path. The path has the keys
+ * of the maps separated by dots, and the indexes of the lists between brackets, then a read of the path doesn't split
+ * the path again. The key that has dots or brackets is written as a quoted key between brackets.
+ * <p>
+ * The numeric steps are the same for the lists and the maps, that is the index of the list and the key of the map,
+ * then the path {@code ports[1]} reads the key "1" from a map, and the path {@code servers.0} reads the first element
+ * of a list.
+ * <p>
+ * Example:
+ * <pre>
+ * private static final ConfigPath HTTP_PORT = ConfigPath.of("servers[3].ports.http");
+ *
+ * final int port = HTTP_PORT.intValue(config);
+ * final String name = config.at("servers[0][\"display.name\"]").stringValue();
+ * </pre>
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ConfigPath {
+
+    /**
+     * This represents the maximum amount of paths that are compiled by {@link #compile(String)} and kept, then the
+     * paths that are built from values don't fill the memory.
+     * @since 1.1
+     */
+    private static final int MAX_CACHED_PATHS = 1024;
+
+    private static final ConcurrentHashMap<String, ConfigPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String path;
+
+    /**
+     * This represents the first step, that is a key of the configuration, and the next steps, that are the keys of the
+     * maps or the indexes of the lists.
+     * @since 1.1
+     */
+    private final ConfigKey root;
+    private final String[] keys;
+    private final int[] indexes;
+
+    private ConfigPath(final String path, final String root, final String[] keys, final int[] indexes) {
+        this.path = path;
+        this.root = ConfigKey.of(root);
+        this.keys = keys;
+        this.indexes = indexes;
+    }
+
+    /**
+     * This method compiles the path into its steps.
+     * @param path the path.
+     * @return the compiled path.
+     * @throws IllegalArgumentException if the path is not valid.
+     * @since 1.1
+     */
+    public static ConfigPath of(final String path) {
+        if (path == null) {
+            throw new NullPointerException("path must not be null");
+        }
+
+        return parse(path);
+    }
+
+    /**
+     * This method returns the compiled path from the cache of the paths, or compiles the path and adds it into the
+     * cache. It is used by {@link Config#at(String)}.
+     * @param path the path.
+     * @return the compiled path.
+     * @since 1.1
+     */
+    static ConfigPath compile(final String path) {
+        final ConfigPath compiled = CACHE.get(path);
+        if (compiled != null) return compiled;
+
+        final ConfigPath parsed = of(path);
+        if (CACHE.size() < MAX_CACHED_PATHS) CACHE.putIfAbsent(path, parsed);
+        return parsed;
+    }
+
+    public String path() {
+        return this.path;
+    }
+
+    /**
+     * This method get the value of the path from the configuration.
+     * @param config the configuration.
+     * @return the ComplexObject that is referred by the path, or null if any step of the path doesn't exist.
+     * @since 1.1
+     */
+    public ComplexObject get(final Config config) {
+        final ComplexObject root = this.root.get(config);
+        if (root == null || this.keys.length == 0) return root;
+
+        final Object value = this.walk(root.value());
+        return value == null ? null : value instanceof ComplexObject ? (ComplexObject) value : ComplexObject.newComplexObject(value);
+    }
+
+    /**
+     * This method get the value of the path from the configuration, as the plain value from the parsed arrays and maps.
+     * The primitive values are boxed, then the value is not wrapped into a ComplexObject.
+     * @param config the configuration.
+     * @return the value that is referred by the path, or null if any step of the path doesn't exist.
+     * @since 1.1
+     */
+    public Object value(final Config config) {
+        final ComplexObject root = this.root.get(config);
+        if (root == null) return null;
+        return this.keys.length == 0 ? root.value() : this.walk(root.value());
+    }
+
+    // @Note The typed values read the boxed values directly, and the other values are read like a ComplexObject.
+
+    public byte byteValue(final Config config) { return wrap(this.require(config)).byteValue(); }
+
+    public short shortValue(final Config config) { return wrap(this.require(config)).shortValue(); }
+
+    public int intValue(final Config config) {
+        final Object value = this.require(config);
+        return value instanceof Integer ? (Integer) value : wrap(value).intValue();
+    }
+
+    public long longValue(final Config config) {
+        final Object value = this.require(config);
+        return value instanceof Long ? (Long) value : value instanceof Integer ? (Integer) value : wrap(value).longValue();
+    }
+
+    public float floatValue(final Config config) { return wrap(this.require(config)).floatValue(); }
+
+    public double doubleValue(final Config config) {
+        final Object value = this.require(config);
+        return value instanceof Double ? (Double) value : wrap(value).doubleValue();
+    }
+
+    public boolean booleanValue(final Config config) {
+        final Object value = this.require(config);
+        return value instanceof Boolean ? (Boolean) value : wrap(value).booleanValue();
+    }
+
+    public char charValue(final Config config) { return wrap(this.require(config)).charValue(); }
+
+    public String stringValue(final Config config) { return (String) this.require(config); }
+
+    public List<?> listValue(final Config config) { return (List<?>) this.require(config); }
+
+    public Map<?, ?> mapValue(final Config config) { return (Map<?, ?>) this.require(config); }
+
+    private Object require(final Config config) {
+        final Object value = this.value(config);
+        if (value == null) {
+            throw new NoSuchElementException("The path \"" + this.path + "\" doesn't exist.");
+        }
+        return value;
+    }
+
+    private static ComplexObject wrap(final Object value) {
+        return ComplexObject.newComplexObject(value);
+    }
+
+    /**
+     * This method reads the steps after the first step from the value.
+     * @param value the value of the first step.
+     * @return the value of the last step, or null if a step doesn't exist.
+     * @since 1.1
+     */
+    private Object walk(Object value) {
+        for (int i = 0; i < this.keys.length && value != null; i++) {
+            // @Note The numeric steps check the list first, then the lists and the maps are only checked by the steps that
+            // can read them, and the failed type checks are avoided.
+            final int index = this.indexes[i];
+            if (index >= 0 && value instanceof List) {
+                final List<?> list = (List<?>) value;
+                value = index < list.size() ? list.get(index) : null;
+            } else if (value instanceof Map) {
+                value = ((Map<?, ?>) value).get(this.keys[i]);
+            } else {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * This method parse the path into the steps. The steps are the keys separated by dots, the indexes between brackets
+     * and the quoted keys between brackets.
+     * @since 1.1
+     */
+    private static ConfigPath parse(final String path) {
+        final List<String> steps = new ArrayList<>();
+        final int length = path.length();
+
+        int i = 0;
+        while (i < length) {
+            final char c = path.charAt(i);
+
+            if (c == '[') {
+                final int close;
+                if (i + 1 < length && path.charAt(i + 1) == '\"') {
+                    // @Note The quoted key is decoded until the quote, where the escaped characters are kept.
+                    final StringBuilder builder = new StringBuilder();
+                    int j = i + 2;
+                    for (; j < length && path.charAt(j) != '\"'; j++) {
+                        if (path.charAt(j) == '\\' && j + 1 < length) j++;
+                        builder.append(path.charAt(j));
+                    }
+                    if (j + 1 >= length || path.charAt(j + 1) != ']') throw invalid(path, "the quoted key is not closed");
+
+                    steps.add(builder.toString());
+                    close = j + 1;
+                } else {
+                    close = path.indexOf(']', i);
+                    if (close < 0) throw invalid(path, "the bracket is not closed");
+                    if (index(path, i + 1, close) < 0) throw invalid(path, "the index \"" + path.substring(i + 1, close) + "\" is not a number");
+
+                    steps.add(path.substring(i + 1, close));
+                }
+
+                i = close + 1;
+                if (i < length && path.charAt(i) != '.' && path.charAt(i) != '[') throw invalid(path, "a dot or a bracket is expected after the bracket");
+            } else {
+                if (c == '.') {
+                    if (steps.isEmpty()) throw invalid(path, "the key is empty");
+                    i++;
+                }
+
+                int end = i;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+                if (end == i) throw invalid(path, "the key is empty");
+
+                steps.add(path.substring(i, end));
+                i = end;
+            }
+        }
+
+        if (steps.isEmpty()) throw invalid(path, "the path is empty");
+
+        final String[] keys = new String[steps.size() - 1];
+        final int[] indexes = new int[keys.length];
+        for (int s = 0; s < keys.length; s++) {
+            keys[s] = steps.get(s + 1);
+            indexes[s] = index(keys[s], 0, keys[s].length());
+        }
+
+        return new ConfigPath(path, steps.get(0), keys, indexes);
+    }
+
+    /**
+     * This method parse the index of a list from the digits of the range.
+     * @return the index, or -1 if the range isn't a non-negative int.
+     * @since 1.1
+     */
+    private static int index(final String text, final int start, final int end) {
+        if (start == end || end - start > 10) return -1;
+
+        long index = 0;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            index = index * 10 + (c - '0');
+        }
+        return index > Integer.MAX_VALUE ? -1 : (int) index;
+    }
+
+    private static IllegalArgumentException invalid(final String path, final String reason) {
+        return new IllegalArgumentException("The path \"" + path + "\" is not valid: " + reason + ".");
+    }
+
+    @Override
+    public String toString() {
+        return this.path;
+    }
+}
@@ -0,0 +1,840 @@
+package rlp.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import rlp.parser.Lexer.Token;
+
+/**
+ * This represents the pull reader of the configuration, that read the configuration as a sequence of events, and the
+ * values are not stored. The reader only keeps the current token and the nesting of the arrays and maps, then the
+ * configuration can be larger than the memory.
+ * <p>
+ * Example, the configuration {@code a = [1, 2], b = true} is read as the events KEY, BEGIN_ARRAY, INT, INT, END_ARRAY,
+ * KEY, BOOLEAN and END_DOCUMENT.
+ * <p>
+ * The directive {@code include "path"} is read as the event INCLUDE, whose path is returned by {@link #includePath()}.
+ * The directive is only read between the key-values of the document, and the key "include" is still a key when it is
+ * followed by the equals token "=".
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ConfigReader implements Closeable {
+
+    /**
+     * This represents the size of the character window, when the reader reads from a stream.
+     * @since 1.1
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * This represents the events that the reader can read.
+     * @since 1.1
+     */
+    public enum Event {
+        KEY,
+        INCLUDE,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        BEGIN_MAP,
+        END_MAP,
+        STRING,
+        CHARACTER,
+        BYTE,
+        SHORT,
+        INT,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        BOOLEAN,
+        END_DOCUMENT
+    }
+
+    // @Note This represents the contexts that are stored in the nesting stack.
+    private static final byte CONTEXT_DOCUMENT = 0;
+    private static final byte CONTEXT_ARRAY = 1;
+    private static final byte CONTEXT_MAP = 2;
+    private static final byte CONTEXT_VALUE = 3;
+
+    // @Note This represents the literal of the include directive.
+    private static final String INCLUDE = "include";
+
+    private final Lexer lexer;
+
+    /**
+     * This represents the nesting stack, that store the context from each depth.
+     * @since 1.1
+     */
+    private byte[] contexts = new byte[16];
+    private int depth = 0;
+
+    /**
+     * This represents the current event, or null if the first event is not read.
+     * @since 1.1
+     */
+    private Event event;
+
+    /**
+     * This represents that the current event is a key, then the next tokens are the equals token "=" and the value.
+     * @since 1.1
+     */
+    private boolean afterKey = false;
+
+    /**
+     * This represents that the equals token "=" after the current key is already read, that happens when the key is
+     * "include" and the reader checks if it is a directive.
+     * @since 1.1
+     */
+    private boolean equalsRead = false;
+
+    /**
+     * This represents that the current event ends a value, then the next token must be the comma token "," or the
+     * token that closes the current context.
+     * @since 1.1
+     */
+    private boolean afterValue = false;
+
+    // @Note This represents the values from the current event, that are stored without boxing.
+    private long longValue;
+    private double doubleValue;
+
+    /**
+     * This represents the position of the first token from the value that is skipped by {@link #skipValue()}.
+     * @since 1.1
+     */
+    private int skippedStart;
+    private int skippedLine;
+
+    /**
+     * This represents the pool that deduplicates the keys and the strings, or null if the strings are not pooled.
+     * @since 1.1
+     */
+    private final StringPool stringPool;
+
+    /**
+     * This represents the buffer that the escaped strings are decoded into.
+     * @since 1.1
+     */
+    private char[] decodeBuffer = new char[0];
+
+    ConfigReader(final Lexer lexer) {
+        this(lexer, null);
+    }
+
+    ConfigReader(final Lexer lexer, final StringPool stringPool) {
+        this.lexer = lexer;
+        this.stringPool = stringPool;
+    }
+
+    /**
+     * This method creates the reader that reads a single value, instead of the key-values from a document. The events
+     * are the events from the value, followed by the end of the document.
+     * @param lexer the lexer that read the tokens from the value.
+     * @return the reader.
+     * @since 1.1
+     */
+    static ConfigReader ofValue(final Lexer lexer, final StringPool stringPool) {
+        final ConfigReader reader = new ConfigReader(lexer, stringPool);
+        reader.contexts[0] = CONTEXT_VALUE;
+        return reader;
+    }
+
+    // ... Factories ...
+
+    public static ConfigReader of(final File file) throws IOException {
+        return of(file, StandardCharsets.UTF_8);
+    }
+
+    public static ConfigReader of(final File file, final Charset charset) throws IOException {
+        return of(FileChannel.open(file.toPath(), StandardOpenOption.READ), charset);
+    }
+
+    public static ConfigReader of(final InputStream in) {
+        return of(in, StandardCharsets.UTF_8);
+    }
+
+    public static ConfigReader of(final InputStream in, final Charset charset) {
+        return new ConfigReader(new Lexer(new InputStreamReader(in, newDecoder(charset)), DEFAULT_BUFFER_SIZE));
+    }
+
+    public static ConfigReader of(final ReadableByteChannel channel, final Charset charset) {
+        return new ConfigReader(new Lexer(Channels.newReader(channel, newDecoder(charset), -1), DEFAULT_BUFFER_SIZE));
+    }
+
+    private static CharsetDecoder newDecoder(final Charset charset) {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    // ... Events ...
+
+    /**
+     * This method check if the reader has more events, that means that the end of the document is not read.
+     * @return true if the reader has more events, otherwise returns false.
+     * @since 1.1
+     */
+    public boolean hasNext() {
+        return this.event != Event.END_DOCUMENT;
+    }
+
+    /**
+     * This method read the next event. The values from the previous event are not available after this method.
+     * @return the event that is read.
+     * @throws ConfigException if the configuration is not valid.
+     * @since 1.1
+     */
+    public Event next() {
+        if (this.event == Event.END_DOCUMENT) {
+            throw new IllegalStateException("The end of the document is already read.");
+        }
+
+        Token token;
+
+        // @Note The key is followed by the equals token "=" and the value.
+        if (this.afterKey) {
+            this.afterKey = false;
+            this.expectEquals();
+            return this.event = this.readValue(this.lexer.next());
+        }
+
+        token = this.lexer.next();
+
+        // @Note After a value, only the comma token "," or the token that closes the context are accepted.
+        if (this.afterValue) {
+            this.afterValue = false;
+
+            if (token == Token.COMMA) {
+                token = this.lexer.next();
+            } else if (!this.closesContext(token)) {
+                throw this.lexer.error("Expected the comma token \",\", but found " + token);
+            }
+        }
+
+        switch (this.contexts[this.depth]) {
+            case CONTEXT_ARRAY:
+                if (token == Token.RIGHT_BRACKET) {
+                    this.depth--;
+                    this.afterValue = true;
+                    return this.event = Event.END_ARRAY;
+                }
+                return this.event = this.readValue(token);
+
+            case CONTEXT_MAP:
+                if (token == Token.RIGHT_BRACE) {
+                    this.depth--;
+                    this.afterValue = true;
+                    return this.event = Event.END_MAP;
+                }
+                return this.event = this.readKey(token);
+
+            case CONTEXT_VALUE:
+                if (token == Token.EOF) return this.event = Event.END_DOCUMENT;
+                return this.event = this.readValue(token);
+
+            default:
+                if (token == Token.EOF) {
+                    this.lexer.close();
+                    return this.event = Event.END_DOCUMENT;
+                }
+                if (token == Token.LITERAL && this.isInclude()) return this.event = this.readInclude();
+                return this.event = this.readKey(token);
+        }
+    }
+
+    /**
+     * This method skip the all events from the current value. If the current event is a key, then its value is skipped,
+     * and if the current event begins an array or a map, then the all events until the end of it are skipped. The
+     * skipped values are not parsed, then only the nesting is checked.
+     * @throws IllegalStateException if the current event is not a key or the begin of an array or a map.
+     * @since 1.1
+     */
+    public void skipValue() {
+        int start = this.depth;
+
+        if (this.event == Event.KEY) {
+            this.afterKey = false;
+            this.expectEquals();
+
+            final Token token = this.lexer.next();
+            this.skippedStart = this.lexer.tokenStart();
+            this.skippedLine = this.lexer.tokenLine();
+
+            if (token == Token.LEFT_BRACKET) {
+                this.push(CONTEXT_ARRAY);
+            } else if (token == Token.LEFT_BRACE) {
+                this.push(CONTEXT_MAP);
+            } else if (!isScalar(token)) {
+                throw this.lexer.error("Expected a value, but found " + token);
+            }
+        } else if (this.event == Event.BEGIN_ARRAY || this.event == Event.BEGIN_MAP) {
+            start--;
+        } else {
+            throw new IllegalStateException("The event " + this.event + " doesn't have a value to skip.");
+        }
+
+        while (this.depth > start) {
+            final Token token = this.lexer.next();
+
+            switch (token) {
+                case LEFT_BRACKET: this.push(CONTEXT_ARRAY); break;
+                case LEFT_BRACE: this.push(CONTEXT_MAP); break;
+                case RIGHT_BRACKET:
+                case RIGHT_BRACE:
+                    if (!this.closesContext(token)) throw this.lexer.error("Unexpected token " + token);
+                    this.depth--;
+                    break;
+                case EOF:
+                    throw this.lexer.error("Unexpected end of the document");
+                default:
+                    break;
+            }
+        }
+
+        this.afterValue = true;
+    }
+
+    /**
+     * This method returns the position of the first character from the value that is skipped after a key, when the
+     * reader reads from a buffer that contains the all input.
+     * @return the position of the first character from the skipped value.
+     * @since 1.1
+     */
+    int skippedStart() {
+        return this.skippedStart;
+    }
+
+    /**
+     * This method returns the line of the first character from the value that is skipped after a key.
+     * @return the line of the skipped value.
+     * @since 1.1
+     */
+    int skippedLine() {
+        return this.skippedLine;
+    }
+
+    /**
+     * This method returns the position after the last character from the value that is skipped after a key, when the
+     * reader reads from a buffer that contains the all input.
+     * @return the position after the last character from the skipped value.
+     * @since 1.1
+     */
+    int skippedEnd() {
+        return this.lexer.tokenEnd();
+    }
+
+    // ... Values ...
+
+    /**
+     * This method returns the current event.
+     * @return the current event, or null if the first event is not read.
+     * @since 1.1
+     */
+    public Event event() {
+        return this.event;
+    }
+
+    /**
+     * This method returns the depth of the current event, that is 0 for the keys from the document.
+     * @return the depth of the current event.
+     * @since 1.1
+     */
+    public int depth() {
+        return this.event == Event.BEGIN_ARRAY || this.event == Event.BEGIN_MAP ? this.depth - 1 : this.depth;
+    }
+
+    /**
+     * This method returns the key from the current event. The key of the map is returned as the text from the key, and
+     * the quoted key is decoded like a string.
+     * @return the key.
+     * @since 1.1
+     */
+    public String key() {
+        this.check(Event.KEY);
+        return this.equalsRead ? INCLUDE : this.unquotedText();
+    }
+
+    /**
+     * This method returns the path from the current include directive, without the quotes and with the escape sequences
+     * decoded.
+     * @return the path of the included file.
+     * @since 1.1
+     */
+    public String includePath() {
+        this.check(Event.INCLUDE);
+        return this.unquotedText();
+    }
+
+    /**
+     * This method creates the exception of an error at the current token, with its line and column.
+     * @param message the message of the error.
+     * @return the exception.
+     * @since 1.1
+     */
+    ConfigException error(final String message) {
+        return this.lexer.error(message);
+    }
+
+    /**
+     * This method returns the string from the current event, without the quotes and with the escape sequences decoded.
+     * @return the string.
+     * @since 1.1
+     */
+    public String stringValue() {
+        this.check(Event.STRING);
+        return this.unquotedText();
+    }
+
+    public char charValue() {
+        this.check(Event.CHARACTER);
+        return (char) this.longValue;
+    }
+
+    public boolean booleanValue() {
+        this.check(Event.BOOLEAN);
+        return this.longValue != 0;
+    }
+
+    public byte byteValue() { return (byte) this.longValue(); }
+
+    public short shortValue() { return (short) this.longValue(); }
+
+    public int intValue() { return (int) this.longValue(); }
+
+    public long longValue() {
+        if (this.event == Event.FLOAT || this.event == Event.DOUBLE) return (long) this.doubleValue;
+        if (!this.isNumber()) throw new IllegalStateException("The event " + this.event + " is not a number.");
+        return this.longValue;
+    }
+
+    public float floatValue() { return (float) this.doubleValue(); }
+
+    public double doubleValue() {
+        if (this.event == Event.FLOAT || this.event == Event.DOUBLE) return this.doubleValue;
+        if (!this.isNumber()) throw new IllegalStateException("The event " + this.event + " is not a number.");
+        return this.longValue;
+    }
+
+    /**
+     * This method returns the value from the current scalar event, boxed by the type of the event.
+     * @return the boxed value.
+     * @since 1.1
+     */
+    public Object value() {
+        switch (this.event) {
+            case STRING: return this.stringValue();
+            case CHARACTER: return this.charValue();
+            case BOOLEAN: return this.booleanValue();
+            case BYTE: return (byte) this.longValue;
+            case SHORT: return (short) this.longValue;
+            case INT: return (int) this.longValue;
+            case LONG: return this.longValue;
+            case FLOAT: return (float) this.doubleValue;
+            case DOUBLE: return this.doubleValue;
+            default: throw new IllegalStateException("The event " + this.event + " is not a scalar value.");
+        }
+    }
+
+    @Override
+    public void close() {
+        this.lexer.close();
+    }
+
+    // ... Internal Methods ...
+
+    private Event readKey(final Token token) {
+        if (token != Token.LITERAL && token != Token.STRING
+                && !(token == Token.CHARACTER && this.contexts[this.depth] == CONTEXT_MAP)) {
+            throw this.lexer.error("Expected a key, but found " + token);
+        }
+
+        this.afterKey = true;
+        return Event.KEY;
+    }
+
+    /**
+     * This method read the token after the literal "include". The string is the path of the include directive, and the
+     * equals token "=" is the key "include", whose equals token is already read.
+     * @return the event of the directive or the key.
+     * @since 1.1
+     */
+    private Event readInclude() {
+        final Token token = this.lexer.next();
+        if (token == Token.STRING) {
+            this.afterValue = true;
+            return Event.INCLUDE;
+        }
+        if (token != Token.EQUALS) {
+            throw this.lexer.error("Expected the path of the include or the equals token \"=\", but found " + token);
+        }
+
+        this.afterKey = true;
+        this.equalsRead = true;
+        return Event.KEY;
+    }
+
+    private boolean isInclude() {
+        if (this.lexer.tokenLength() != INCLUDE.length()) return false;
+
+        final char[] buffer = this.lexer.buffer();
+        final int start = this.lexer.tokenStart();
+        for (int i = 0; i < INCLUDE.length(); i++) {
+            if (buffer[start + i] != INCLUDE.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private void expectEquals() {
+        if (this.equalsRead) {
+            this.equalsRead = false;
+            return;
+        }
+
+        final Token token = this.lexer.next();
+        if (token != Token.EQUALS) {
+            throw this.lexer.error("Expected the equals token \"=\" after the key, but found " + token);
+        }
+    }
+
+    /**
+     * This method read the value that starts by the token. The arrays and maps only read the first token, and the scalar
+     * values are parsed without boxing.
+     * @param token the first token from the value.
+     * @return the event from the value.
+     * @since 1.1
+     */
+    private Event readValue(final Token token) {
+        switch (token) {
+            case LEFT_BRACKET:
+                this.push(CONTEXT_ARRAY);
+                return Event.BEGIN_ARRAY;
+
+            case LEFT_BRACE:
+                this.push(CONTEXT_MAP);
+                return Event.BEGIN_MAP;
+
+            case STRING:
+                this.afterValue = true;
+                return Event.STRING;
+
+            case CHARACTER:
+                // @Note The character can be wrote with a escape sequence (i. e. '\n', '\\u0041'), then the character is
+                // decoded before the length is checked.
+                if (this.lexer.tokenEscaped()) {
+                    if (this.decode(this.lexer.buffer(), this.lexer.tokenStart() + 1, this.lexer.tokenEnd() - 1) != 1) {
+                        throw this.lexer.error("Invalid character literal " + this.lexer.text());
+                    }
+                    this.longValue = this.decodeBuffer[0];
+                } else {
+                    if (this.lexer.tokenLength() != 3) throw this.lexer.error("Invalid character literal " + this.lexer.text());
+                    this.longValue = this.lexer.buffer()[this.lexer.tokenStart() + 1];
+                }
+
+                this.afterValue = true;
+                return Event.CHARACTER;
+
+            case LITERAL:
+                this.afterValue = true;
+
+                // @Note This conditions check if the value represents boolean values.
+                if (this.lexer.textEquals("true")) {
+                    this.longValue = 1;
+                    return Event.BOOLEAN;
+                }
+                if (this.lexer.textEquals("false")) {
+                    this.longValue = 0;
+                    return Event.BOOLEAN;
+                }
+
+                // @Note The number is parsed from the characters of the token, then the text is only created for the errors.
+                final Event number = this.readNumber(this.lexer.buffer(), this.lexer.tokenStart(), this.lexer.tokenEnd());
+                if (number != null) return number;
+
+                throw this.lexer.error("Unknown value \"" + this.lexer.text() + "\"");
+
+            default:
+                throw this.lexer.error("Expected a value, but found " + token);
+        }
+    }
+
+    /**
+     * This method parse the number literal from the characters of the buffer, and store the number into the value
+     * fields. The digits are accumulated directly from the buffer, and the type declaration is checked by the range of
+     * the type.
+     * <p>
+     * Example, the literals {@code 10}, {@code -3L}, {@code 1.5}, {@code 2.5f} and {@code 1e-3} are numbers.
+     * @param buffer the character buffer.
+     * @param start the position of the first character from the literal.
+     * @param end the position after the last character from the literal.
+     * @return the event from the type of the number, or null if the literal is not a number.
+     * @throws ConfigException if the number is out of the range of its type.
+     * @since 1.0
+     */
+    private Event readNumber(final char[] buffer, final int start, final int end) {
+        int position = start;
+
+        // @Note The sign of the number can be only the first character.
+        final boolean negative = buffer[position] == '-';
+        if (negative || buffer[position] == '+') position++;
+
+        // @Note Check if the number has type declaration. (i. e. 10L, 2.0d, 1b)
+        int last = end;
+        char type = 0;
+        if (last > position && isTypeDeclaration(buffer[last - 1])) type = (char) (buffer[--last] | 0x20);
+
+        // @Note The mantissa keeps the first 19 significant digits, that always fit into an unsigned long, and the next
+        // digits only change the exponent.
+        long mantissa = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean fraction = false;
+        boolean integral = true;
+
+        for (; position < last; position++) {
+            final char c = buffer[position];
+
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (significantDigits < 19) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) significantDigits++;
+                    if (fraction) exponent--;
+                } else {
+                    truncated |= c != '0';
+                    if (!fraction) exponent++;
+                }
+            } else if (c == '.') {
+                if (fraction) throw this.numberError("can't be parsed");
+                fraction = true;
+                integral = false;
+            } else if ((c == 'e' || c == 'E') && digits > 0) {
+                final int explicit = this.readExponent(buffer, position + 1, last);
+                if (explicit == Integer.MIN_VALUE) return null;
+
+                exponent += explicit;
+                integral = false;
+                break;
+            } else {
+                return null;
+            }
+        }
+
+        if (digits == 0) return null;
+
+        switch (type) {
+            case 'f': return this.floatNumber(negative, mantissa, exponent, truncated, start, last);
+            case 'd': return this.doubleNumber(negative, mantissa, exponent, truncated, start, last);
+            case 0:
+                if (!integral) return this.doubleNumber(negative, mantissa, exponent, truncated, start, last);
+                break;
+            default:
+                if (!integral) throw this.numberError("can't be parsed");
+                break;
+        }
+
+        // @Note The mantissa is exact when the number doesn't have more than 19 significant digits, and then the
+        // unsigned mantissa must fit into a signed long.
+        if (truncated || exponent != 0 || (negative ? Long.compareUnsigned(mantissa, Long.MIN_VALUE) > 0 : mantissa < 0)) {
+            throw this.numberError("is out of the range of " + (type == 0 ? "long" : typeName(type)));
+        }
+        this.longValue = negative ? -mantissa : mantissa;
+
+        switch (type) {
+            case 'b':
+                if (this.longValue != (byte) this.longValue) throw this.numberError("is out of the range of byte");
+                return Event.BYTE;
+            case 's':
+                if (this.longValue != (short) this.longValue) throw this.numberError("is out of the range of short");
+                return Event.SHORT;
+            case 'i':
+                if (this.longValue != (int) this.longValue) throw this.numberError("is out of the range of int");
+                return Event.INT;
+            case 'l':
+                return Event.LONG;
+            default:
+                // @Note This part include only integer numbers, that are "integer" when the number fits, otherwise "long".
+                return this.longValue == (int) this.longValue ? Event.INT : Event.LONG;
+        }
+    }
+
+    /**
+     * This method read the exponent after the character "e".
+     * @return the exponent, or {@link Integer#MIN_VALUE} if the exponent doesn't have digits.
+     * @since 1.1
+     */
+    private int readExponent(final char[] buffer, int position, final int end) {
+        final boolean negative = position < end && buffer[position] == '-';
+        if (position < end && (negative || buffer[position] == '+')) position++;
+        if (position == end) return Integer.MIN_VALUE;
+
+        int exponent = 0;
+        for (; position < end; position++) {
+            final char c = buffer[position];
+            if (c < '0' || c > '9') return Integer.MIN_VALUE;
+
+            // @Note The exponents that are greater than the limit are the same infinity or zero.
+            if (exponent < 100_000) exponent = exponent * 10 + (c - '0');
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    private Event doubleNumber(final boolean negative, final long mantissa, final int exponent, final boolean truncated,
+                               final int start, final int end) {
+        double value = truncated ? Double.NaN : DecimalConverter.toDouble(negative, mantissa, exponent);
+
+        // @Note The slow path is used when the fast conversion can't decide the rounding.
+        if (Double.isNaN(value)) value = Double.parseDouble(new String(this.lexer.buffer(), start, end - start));
+
+        this.doubleValue = value;
+        return Event.DOUBLE;
+    }
+
+    private Event floatNumber(final boolean negative, final long mantissa, final int exponent, final boolean truncated,
+                              final int start, final int end) {
+        float value = truncated ? Float.NaN : DecimalConverter.toFloat(negative, mantissa, exponent);
+        if (Float.isNaN(value)) value = Float.parseFloat(new String(this.lexer.buffer(), start, end - start));
+
+        this.doubleValue = value;
+        return Event.FLOAT;
+    }
+
+    private ConfigException numberError(final String reason) {
+        return this.lexer.error("The number \"" + this.lexer.text() + "\" " + reason);
+    }
+
+    private static boolean isTypeDeclaration(final char c) {
+        switch (c | 0x20) {
+            case 'b': case 's': case 'i': case 'l': case 'f': case 'd':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String typeName(final char type) {
+        switch (type) {
+            case 'b': return "byte";
+            case 's': return "short";
+            case 'i': return "int";
+            default: return "long";
+        }
+    }
+
+    private static boolean isScalar(final Token token) {
+        return token == Token.LITERAL || token == Token.STRING || token == Token.CHARACTER;
+    }
+
+    private boolean isNumber() {
+        return this.event != null && this.event.ordinal() >= Event.BYTE.ordinal() && this.event.ordinal() <= Event.DOUBLE.ordinal();
+    }
+
+    private boolean closesContext(final Token token) {
+        switch (this.contexts[this.depth]) {
+            case CONTEXT_ARRAY: return token == Token.RIGHT_BRACKET;
+            case CONTEXT_MAP: return token == Token.RIGHT_BRACE;
+            default: return token == Token.EOF;
+        }
+    }
+
+    private void push(final byte context) {
+        if (++this.depth == this.contexts.length) {
+            this.contexts = Arrays.copyOf(this.contexts, this.contexts.length << 1);
+        }
+        this.contexts[this.depth] = context;
+    }
+
+    private void check(final Event expected) {
+        if (this.event != expected) {
+            throw new IllegalStateException("Expected the event " + expected + ", but the current event is " + this.event);
+        }
+    }
+
+    /**
+     * This method returns the text from the current token, without the quotes if the token is a string or a character.
+     * The text without escape sequences is created directly from the buffer, otherwise it is decoded before.
+     * @return the text from the current token.
+     * @since 1.1
+     */
+    private String unquotedText() {
+        final char[] buffer = this.lexer.buffer();
+        final int start = this.lexer.tokenStart();
+        final int end = this.lexer.tokenEnd();
+
+        if (buffer[start] != '\"' && buffer[start] != '\'') return this.newString(buffer, start, end);
+        if (!this.lexer.tokenEscaped()) return this.newString(buffer, start + 1, end - 1);
+
+        final int length = this.decode(buffer, start + 1, end - 1);
+        return this.newString(this.decodeBuffer, 0, length);
+    }
+
+    private String newString(final char[] buffer, final int start, final int end) {
+        return this.stringPool == null ? new String(buffer, start, end - start) : this.stringPool.intern(buffer, start, end);
+    }
+
+    /**
+     * This method decode the escape sequences from the characters of the buffer into the decode buffer. The escape
+     * sequences are the same of the Java literals: \b, \t, \n, \f, \r, \", \', \\, \/ and \\uXXXX.
+     * @param buffer the character buffer.
+     * @param start the position of the first character.
+     * @param end the position after the last character.
+     * @return the amount of decoded characters.
+     * @throws ConfigException if a escape sequence is not valid.
+     * @since 1.1
+     */
+    private int decode(final char[] buffer, final int start, final int end) {
+        // @Note The decoded text is never longer than the encoded text.
+        if (this.decodeBuffer.length < end - start) this.decodeBuffer = new char[Math.max(16, end - start)];
+
+        final char[] decoded = this.decodeBuffer;
+        int length = 0;
+
+        for (int i = start; i < end; i++) {
+            final char c = buffer[i];
+            if (c != '\\') {
+                decoded[length++] = c;
+                continue;
+            }
+
+            if (++i == end) throw this.lexer.error("Invalid escape sequence at the end of " + this.lexer.text());
+
+            switch (buffer[i]) {
+                case 'b': decoded[length++] = '\b'; break;
+                case 't': decoded[length++] = '\t'; break;
+                case 'n': decoded[length++] = '\n'; break;
+                case 'f': decoded[length++] = '\f'; break;
+                case 'r': decoded[length++] = '\r'; break;
+                case '\"': case '\'': case '\\': case '/':
+                    decoded[length++] = buffer[i];
+                    break;
+                case 'u': {
+                    int code = 0;
+                    for (int digit = 0; digit < 4; digit++) {
+                        final int value = ++i < end ? Character.digit(buffer[i], 16) : -1;
+                        if (value < 0) throw this.lexer.error("Invalid unicode escape sequence in " + this.lexer.text());
+                        code = (code << 4) | value;
+                    }
+                    decoded[length++] = (char) code;
+                    break;
+                }
+                default:
+                    throw this.lexer.error("Invalid escape sequence \"\\" + buffer[i] + "\" in " + this.lexer.text());
+            }
+        }
+        return length;
+    }
+}
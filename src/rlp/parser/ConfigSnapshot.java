@@ -0,0 +1,875 @@
+package rlp.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32C;
+
+/**
+ * This represents the compiled snapshot of a configuration, that is a binary file with the parsed values. The snapshot
+ * is memory-mapped when it is loaded, and each value is decoded only when it is requested by {@link #get(String)}, then
+ * the time to load a snapshot doesn't depend of the size of the configuration.
+ * <p>
+ * The snapshot stores the size, the last modified time and the hash of the source file, and of the files that are
+ * included by the source file through the directive {@code include "path"}. When any of these files is modified after
+ * the snapshot is compiled, the snapshot is stale, then the source file is parsed by the {@link Parser} and the
+ * snapshot is compiled again.
+ * <p>
+ * The format of the snapshot is:
+ * <pre>
+ * header   magic, version, source size, source modified time, source hash, entry count, table capacity, include
+ *          count, include length
+ * entries  key hash, key offset, key length and value offset from each entry, in the order of the configuration
+ * table    open-addressing table of the entries by the key hash, that stores the entry index + 1 (0 is empty)
+ * includes path length, UTF-8 path, size, modified time and hash from each included file
+ * keys     the UTF-8 bytes from the keys
+ * values   the typed values, that are a tag followed by the value
+ * </pre>
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ConfigSnapshot implements Config, Slots.Provider {
+
+    // @Note This represents the header of the snapshot, that is "RLPC" in ASCII.
+    private static final int MAGIC = 0x524C5043;
+
+    // @Note The version 2 stores the strings without the quotes, and the version 3 stores the included files, then the
+    // snapshots from the previous versions are compiled again.
+    private static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 48;
+    private static final int ENTRY_SIZE = 16;
+
+    // @Note This represents the tags from the values.
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_BYTE = 1;
+    private static final byte TAG_SHORT = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_FLOAT = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_BOOLEAN = 7;
+    private static final byte TAG_CHARACTER = 8;
+    private static final byte TAG_STRING = 9;
+    private static final byte TAG_LIST = 10;
+    private static final byte TAG_MAP = 11;
+    private static final byte TAG_INT_ARRAY = 12;
+    private static final byte TAG_LONG_ARRAY = 13;
+    private static final byte TAG_DOUBLE_ARRAY = 14;
+
+    /**
+     * This represents the mapped snapshot, or null if the values are parsed from the source file.
+     * @since 1.1
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * This represents the values that are already decoded from the snapshot, by the entry index.
+     * @since 1.1
+     */
+    private final AtomicReferenceArray<ComplexObject> decoded;
+
+    /**
+     * This represents the values that are parsed from the source file, when the snapshot is stale.
+     * @since 1.1
+     */
+    private final Map<String, ComplexObject> parsed;
+
+    /**
+     * This represents the slots of the compiled values, that are the indexes of the entries, or null if the values are
+     * parsed from the source file.
+     * @since 1.1
+     */
+    private final Slots slots;
+
+    private final int size;
+    private final int tableCapacity;
+
+    private ConfigSnapshot(final ByteBuffer buffer) {
+        this(buffer, true);
+    }
+
+    /**
+     * This creates the snapshot that reads the values from the buffer.
+     * @param buffer the buffer of the snapshot.
+     * @param cached true if the decoded values are kept, otherwise the values are decoded by each read.
+     * @since 1.1
+     */
+    ConfigSnapshot(final ByteBuffer buffer, final boolean cached) {
+        this.buffer = buffer;
+        this.parsed = null;
+        this.slots = new Slots() {
+            @Override
+            public int slotOf(final String key) {
+                return ConfigSnapshot.this.indexOf(key);
+            }
+
+            @Override
+            public ComplexObject valueAt(final int slot) {
+                return ConfigSnapshot.this.valueAt(slot);
+            }
+        };
+        this.size = buffer.getInt(32);
+        this.tableCapacity = buffer.getInt(36);
+        this.decoded = cached ? new AtomicReferenceArray<>(this.size) : null;
+    }
+
+    private ConfigSnapshot(final Map<String, ComplexObject> parsed) {
+        this.buffer = null;
+        this.parsed = parsed;
+        this.slots = null;
+        this.size = parsed.size();
+        this.tableCapacity = 0;
+        this.decoded = null;
+    }
+
+    // ... Loading ...
+
+    /**
+     * This method load the snapshot of the source file. If the snapshot doesn't exist, is not valid or is stale, then
+     * the source file is parsed and the snapshot is compiled again.
+     * @param snapshot the compiled snapshot.
+     * @param source the source file of the configuration.
+     * @return the loaded snapshot.
+     * @throws IOException if the files can't be read or the snapshot can't be written.
+     * @since 1.1
+     */
+    public static ConfigSnapshot load(final File snapshot, final File source) throws IOException {
+        if (snapshot.isFile()) {
+            final ByteBuffer buffer = map(snapshot);
+
+            if (isValid(buffer) && isCurrent(buffer, source)) {
+                return new ConfigSnapshot(buffer);
+            }
+        }
+
+        // @Note The snapshot is stale, then the values are parsed from the source file and the snapshot is compiled
+        // again for the next load.
+        return new ConfigSnapshot(compileSource(source, snapshot));
+    }
+
+    /**
+     * This method parse the source file and compile the snapshot from it.
+     * @param source the source file of the configuration.
+     * @param snapshot the file that the snapshot is written.
+     * @throws IOException if the files can't be read or written.
+     * @since 1.1
+     */
+    public static void compile(final File source, final File snapshot) throws IOException {
+        compileSource(source, snapshot);
+    }
+
+    private static Map<String, ComplexObject> compileSource(final File source, final File snapshot) throws IOException {
+        // @Note The information from the source file is read before the parse, then if the source file is modified
+        // while it is parsed, the snapshot is stale at the next load.
+        final long sourceSize = source.length();
+        final long sourceModified = source.lastModified();
+        final long sourceHash = hash(source);
+
+        final Parser parser = new Parser(source);
+        parser.parse();
+
+        write(parser.getComplexObjectMap(), sourceSize, sourceModified, sourceHash, parser.includedSources(), snapshot);
+        return parser.getComplexObjectMap();
+    }
+
+    /**
+     * This method compile the snapshot from the values that are parsed from the source file. The snapshot is written
+     * into a temporary file, that replaces the snapshot, then a concurrent load never reads a partial snapshot.
+     * <p>
+     * The files that are included by the source file are not known from the values, then them are not stored, and the
+     * snapshot is not stale when only them are modified. The source files with includes are compiled by
+     * {@link #compile(File, File)}.
+     * @param values the values that are parsed from the source file.
+     * @param source the source file of the configuration.
+     * @param snapshot the file that the snapshot is written.
+     * @throws IOException if the files can't be read or written.
+     * @since 1.1
+     */
+    public static void compile(final Map<String, ComplexObject> values, final File source, final File snapshot) throws IOException {
+        write(values, source.length(), source.lastModified(), hash(source), List.of(), snapshot);
+    }
+
+    private static void write(final Map<String, ComplexObject> values, final long sourceSize, final long sourceModified,
+                              final long sourceHash, final List<ParseCache.Source> includes, final File snapshot) throws IOException {
+        final Encoder encoder = new Encoder(values.size(), false);
+        encoder.header(sourceSize, sourceModified, sourceHash, includes, values);
+
+        final File directory = snapshot.getAbsoluteFile().getParentFile();
+        final File temporary = File.createTempFile(snapshot.getName(), ".tmp", directory);
+
+        try (final FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer out = encoder.finish();
+            while (out.hasRemaining()) channel.write(out);
+        }
+
+        try {
+            Files.move(temporary.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * This method encodes the values in the format of the snapshot, without the information of a source file.
+     * @param values the values.
+     * @param direct true if the values are encoded into a direct buffer, otherwise into a heap buffer.
+     * @return the buffer with the encoded values, that has the exact size of the values.
+     * @since 1.1
+     */
+    static ByteBuffer encode(final Map<String, ComplexObject> values, final boolean direct) {
+        final Encoder encoder = new Encoder(values.size(), direct);
+        encoder.header(0, 0, 0, List.of(), values);
+        return encoder.finish();
+    }
+
+    private static ByteBuffer map(final File file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * This method check if the snapshot has the format of this version, and if the sections of the snapshot are inside
+     * of the buffer. The offsets from the entries and the table are checked, and the last value is skipped until the
+     * end of the snapshot, then a truncated or corrupt snapshot is stale instead of failing at the first read. The
+     * check doesn't decode the values, then its time only depends of the amount of entries.
+     * @param buffer the mapped snapshot.
+     * @return true if the snapshot is valid, otherwise returns false.
+     * @since 1.1
+     */
+    private static boolean isValid(final ByteBuffer buffer) {
+        final int limit = buffer.limit();
+        if (limit < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) return false;
+
+        final int size = buffer.getInt(32);
+        final int tableCapacity = buffer.getInt(36);
+        if (size < 0 || tableCapacity <= size || Integer.bitCount(tableCapacity) != 1) return false;
+
+        final long table = HEADER_SIZE + (long) size * ENTRY_SIZE;
+        final long includes = table + (long) tableCapacity * 4;
+        final int includeCount = buffer.getInt(40);
+        final int includeLength = buffer.getInt(44);
+        if (includeCount < 0 || includeLength < 0 || includes + includeLength > limit) return false;
+
+        final long keys = includes + includeLength;
+        long include = includes;
+        for (int i = 0; i < includeCount; i++) {
+            if (include + 4 > keys) return false;
+
+            final int pathLength = buffer.getInt((int) include);
+            if (pathLength < 0 || include + 4 + pathLength + 24 > keys) return false;
+            include += 4 + pathLength + 24;
+        }
+        if (include != keys) return false;
+
+        // @Note Each entry is in exactly one slot, then the table has an empty slot and the probes of a missing key end.
+        final boolean[] indexed = new boolean[size + 1];
+        int count = 0;
+        for (int slot = 0; slot < tableCapacity; slot++) {
+            final int index = buffer.getInt((int) table + (slot << 2));
+            if (index < 0 || index > size) return false;
+            if (index == 0) continue;
+
+            if (indexed[index]) return false;
+            indexed[index] = true;
+            count++;
+        }
+        if (count != size) return false;
+
+        // @Note The key of each entry is followed by its value, in the order of the entries.
+        long end = keys;
+        for (int i = 0; i < size; i++) {
+            final int entry = HEADER_SIZE + i * ENTRY_SIZE;
+            final int keyOffset = buffer.getInt(entry + 4);
+            final int keyLength = buffer.getInt(entry + 8);
+            final int valueOffset = buffer.getInt(entry + 12);
+
+            if (keyOffset < end || keyLength < 0 || (long) keyOffset + keyLength != valueOffset || valueOffset >= limit) {
+                return false;
+            }
+            end = valueOffset + 1L;
+        }
+        if (size == 0) return keys == limit;
+
+        final Decoder decoder = new Decoder(buffer, buffer.getInt(HEADER_SIZE + (size - 1) * ENTRY_SIZE + 12));
+        try {
+            decoder.skip();
+        } catch (IndexOutOfBoundsException | IllegalStateException e) {
+            return false;
+        }
+        return decoder.pos == limit;
+    }
+
+    /**
+     * This method check if the snapshot is compiled from the current content of the source file. The hash of the source
+     * file is only computed when the last modified time is changed, then the check doesn't read the source file when it
+     * is not modified.
+     * @param buffer the mapped snapshot.
+     * @param source the source file.
+     * @return true if the snapshot is current, otherwise returns false.
+     * @throws IOException if the source file can't be read.
+     * @since 1.1
+     */
+    private static boolean isCurrent(final ByteBuffer buffer, final File source) throws IOException {
+        if (!isCurrent(source, buffer.getLong(8), buffer.getLong(16), buffer.getLong(24))) return false;
+
+        // @Note The included files are after the table, and their offsets are already checked by the validation.
+        int include = HEADER_SIZE + buffer.getInt(32) * ENTRY_SIZE + buffer.getInt(36) * 4;
+        for (int i = 0, count = buffer.getInt(40); i < count; i++) {
+            final byte[] path = new byte[buffer.getInt(include)];
+            buffer.get(include + 4, path);
+            include += 4 + path.length;
+
+            final File file = new File(new String(path, StandardCharsets.UTF_8));
+            if (!isCurrent(file, buffer.getLong(include), buffer.getLong(include + 8), buffer.getLong(include + 16))) {
+                return false;
+            }
+            include += 24;
+        }
+        return true;
+    }
+
+    private static boolean isCurrent(final File file, final long size, final long modified, final long hash) throws IOException {
+        if (!file.isFile() || file.length() != size) return false;
+        if (file.lastModified() == modified) return true;
+
+        return hash(file) == hash;
+    }
+
+    /**
+     * This method computes the hash of the content from the file, that is the CRC-32C of the bytes.
+     * @param file the file.
+     * @return the hash of the content.
+     * @throws IOException if the file can't be read.
+     * @since 1.1
+     */
+    static long hash(final File file) throws IOException {
+        final CRC32C crc = new CRC32C();
+
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > 0) crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        return crc.getValue();
+    }
+
+    // ... Values ...
+
+    /**
+     * This method check if the values are read from the compiled snapshot, or from the source file when the snapshot
+     * is stale.
+     * @return true if the values are read from the compiled snapshot, otherwise returns false.
+     * @since 1.1
+     */
+    public boolean isCompiled() {
+        return this.buffer != null;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * This method get the value by the key. The value is decoded from the snapshot at the first time that it is
+     * requested.
+     * @param key the key from the value.
+     * @return the ComplexObject that is referred by the key, or null if the key doesn't exist.
+     * @since 1.1
+     */
+    public ComplexObject get(final String key) {
+        if (this.parsed != null) return this.parsed.get(key);
+
+        final int index = this.indexOf(key);
+        if (index < 0) return null;
+
+        return this.valueAt(index);
+    }
+
+    /**
+     * This method returns the map that contains the all values, in the order of the configuration. The all values are
+     * decoded by this method.
+     * @return the map of the values.
+     * @since 1.1
+     */
+    public Map<String, ComplexObject> getComplexObjectMap() {
+        if (this.parsed != null) return Collections.unmodifiableMap(this.parsed);
+
+        final Map<String, ComplexObject> map = new LinkedHashMap<>();
+        for (int i = 0; i < this.size; i++) {
+            final int entry = HEADER_SIZE + i * ENTRY_SIZE;
+            map.put(this.decodeString(this.buffer.getInt(entry + 4), this.buffer.getInt(entry + 8)), this.valueAt(i));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public Slots slots() {
+        return this.slots;
+    }
+
+    private ComplexObject valueAt(final int index) {
+        if (this.decoded == null) return this.decodeComplexObject(this.buffer.getInt(HEADER_SIZE + index * ENTRY_SIZE + 12));
+
+        ComplexObject value = this.decoded.get(index);
+
+        if (value == null) {
+            value = this.decodeComplexObject(this.buffer.getInt(HEADER_SIZE + index * ENTRY_SIZE + 12));
+
+            // @Note If other thread decodes the value at the same time, then the first value is kept.
+            if (!this.decoded.compareAndSet(index, null, value)) value = this.decoded.get(index);
+        }
+        return value;
+    }
+
+    /**
+     * This method find the index of the entry from the key, through the open-addressing table.
+     * @param key the key.
+     * @return the index of the entry, or -1 if the key doesn't exist.
+     * @since 1.1
+     */
+    private int indexOf(final String key) {
+        final int hash = key.hashCode();
+        final int mask = this.tableCapacity - 1;
+        final int table = HEADER_SIZE + this.size * ENTRY_SIZE;
+
+        // @Note The probes are bounded by the capacity of the table, then a table without an empty slot never loops.
+        int slot = spread(hash) & mask;
+        for (int probes = 0; probes < this.tableCapacity; probes++, slot = (slot + 1) & mask) {
+            final int index = this.buffer.getInt(table + (slot << 2)) - 1;
+            if (index < 0) return -1;
+
+            final int entry = HEADER_SIZE + index * ENTRY_SIZE;
+            if (this.buffer.getInt(entry) == hash
+                    && this.keyEquals(key, this.buffer.getInt(entry + 4), this.buffer.getInt(entry + 8))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This method compare the key with the UTF-8 bytes from the snapshot, without decode the bytes when the key only has
+     * ASCII characters.
+     * @since 1.1
+     */
+    private boolean keyEquals(final String key, final int offset, final int length) {
+        final int keyLength = key.length();
+        if (keyLength > length) return false;
+
+        for (int i = 0; i < length; i++) {
+            final byte b = this.buffer.get(offset + i);
+
+            if (b < 0) return key.equals(this.decodeString(offset, length));
+            if (i >= keyLength || key.charAt(i) != b) return false;
+        }
+        return keyLength == length;
+    }
+
+    private String decodeString(final int offset, final int length) {
+        final byte[] bytes = new byte[length];
+        this.buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ComplexObject decodeComplexObject(final int offset) {
+        switch (this.buffer.get(offset)) {
+            case TAG_BYTE: return ComplexObject.ofByte(this.buffer.get(offset + 1));
+            case TAG_SHORT: return ComplexObject.ofShort(this.buffer.getShort(offset + 1));
+            case TAG_INT: return ComplexObject.ofInt(this.buffer.getInt(offset + 1));
+            case TAG_LONG: return ComplexObject.ofLong(this.buffer.getLong(offset + 1));
+            case TAG_FLOAT: return ComplexObject.ofFloat(this.buffer.getFloat(offset + 1));
+            case TAG_DOUBLE: return ComplexObject.ofDouble(this.buffer.getDouble(offset + 1));
+            case TAG_BOOLEAN: return ComplexObject.ofBoolean(this.buffer.get(offset + 1) != 0);
+            case TAG_CHARACTER: return ComplexObject.ofChar(this.buffer.getChar(offset + 1));
+            default: return ComplexObject.newComplexObject(new Decoder(this.buffer, offset).value());
+        }
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * This represents the decoder of the values from the snapshot, that reads the values from a position.
+     * @since 1.1
+     */
+    private static final class Decoder {
+
+        private final ByteBuffer buffer;
+        private int pos;
+
+        Decoder(final ByteBuffer buffer, final int pos) {
+            this.buffer = buffer;
+            this.pos = pos;
+        }
+
+        Object value() {
+            final byte tag = this.buffer.get(this.pos++);
+
+            switch (tag) {
+                case TAG_NULL: return null;
+                case TAG_BYTE: return this.buffer.get(this.pos++);
+                case TAG_SHORT: { final short value = this.buffer.getShort(this.pos); this.pos += 2; return value; }
+                case TAG_INT: { final int value = this.buffer.getInt(this.pos); this.pos += 4; return value; }
+                case TAG_LONG: { final long value = this.buffer.getLong(this.pos); this.pos += 8; return value; }
+                case TAG_FLOAT: { final float value = this.buffer.getFloat(this.pos); this.pos += 4; return value; }
+                case TAG_DOUBLE: { final double value = this.buffer.getDouble(this.pos); this.pos += 8; return value; }
+                case TAG_BOOLEAN: return this.buffer.get(this.pos++) != 0;
+                case TAG_CHARACTER: { final char value = this.buffer.getChar(this.pos); this.pos += 2; return value; }
+                case TAG_STRING: {
+                    final int length = this.count();
+                    final byte[] bytes = new byte[length];
+                    this.buffer.get(this.pos + 4, bytes);
+                    this.pos += 4 + length;
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+                case TAG_LIST: {
+                    final int count = this.count();
+                    this.pos += 4;
+
+                    final Object[] array = new Object[count];
+                    for (int i = 0; i < count; i++) array[i] = this.value();
+                    return CompactCollections.listOf(array, count);
+                }
+                case TAG_MAP: {
+                    final int count = this.count();
+                    this.pos += 4;
+
+                    final Object[] keys = new Object[count];
+                    final Object[] values = new Object[count];
+                    for (int i = 0; i < count; i++) {
+                        keys[i] = this.value();
+                        values[i] = this.value();
+                    }
+                    return CompactCollections.mapOf(keys, values, count);
+                }
+                case TAG_INT_ARRAY: {
+                    final int[] array = new int[this.count()];
+                    this.buffer.duplicate().position(this.pos + 4).asIntBuffer().get(array);
+                    this.pos += 4 + (array.length << 2);
+                    return new PrimitiveLists.IntList(array, array.length);
+                }
+                case TAG_LONG_ARRAY: {
+                    final long[] array = new long[this.count()];
+                    this.buffer.duplicate().position(this.pos + 4).asLongBuffer().get(array);
+                    this.pos += 4 + (array.length << 3);
+                    return new PrimitiveLists.LongList(array, array.length);
+                }
+                case TAG_DOUBLE_ARRAY: {
+                    final double[] array = new double[this.count()];
+                    this.buffer.duplicate().position(this.pos + 4).asDoubleBuffer().get(array);
+                    this.pos += 4 + (array.length << 3);
+                    return new PrimitiveLists.DoubleList(array, array.length);
+                }
+                default:
+                    throw new IllegalStateException("The snapshot has an unknown tag " + tag + " at " + (this.pos - 1) + ".");
+            }
+        }
+
+        /**
+         * This method skips the value from the position, without decode it.
+         * @throws IndexOutOfBoundsException if the value is not inside of the buffer.
+         * @throws IllegalStateException if the value has an unknown tag.
+         * @since 1.1
+         */
+        void skip() {
+            final byte tag = this.buffer.get(this.pos++);
+
+            switch (tag) {
+                case TAG_NULL: return;
+                case TAG_BYTE: case TAG_BOOLEAN: this.advance(1); return;
+                case TAG_SHORT: case TAG_CHARACTER: this.advance(2); return;
+                case TAG_INT: case TAG_FLOAT: this.advance(4); return;
+                case TAG_LONG: case TAG_DOUBLE: this.advance(8); return;
+                case TAG_STRING: this.advance(4 + (long) this.count()); return;
+                case TAG_INT_ARRAY: this.advance(4 + ((long) this.count() << 2)); return;
+                case TAG_LONG_ARRAY: case TAG_DOUBLE_ARRAY: this.advance(4 + ((long) this.count() << 3)); return;
+                case TAG_LIST: case TAG_MAP: {
+                    final long values = tag == TAG_MAP ? (long) this.count() << 1 : this.count();
+                    this.advance(4);
+                    for (long i = 0; i < values; i++) this.skip();
+                    return;
+                }
+                default:
+                    throw new IllegalStateException("The snapshot has an unknown tag " + tag + " at " + (this.pos - 1) + ".");
+            }
+        }
+
+        /**
+         * This method reads the count of a string, a list or a map. Each element has at least one byte, then the count
+         * that is greater than the remaining bytes is not valid, and a corrupt count doesn't allocate a large array.
+         * @since 1.1
+         */
+        private int count() {
+            final int count = this.buffer.getInt(this.pos);
+            if (count < 0 || count > this.buffer.limit() - this.pos - 4) {
+                throw new IllegalStateException("The snapshot has an invalid count " + count + " at " + this.pos + ".");
+            }
+            return count;
+        }
+
+        private void advance(final long bytes) {
+            if (bytes > this.buffer.limit() - this.pos) {
+                throw new IndexOutOfBoundsException("The value at " + this.pos + " exceeds the snapshot.");
+            }
+            this.pos += (int) bytes;
+        }
+    }
+
+    /**
+     * This represents the encoder of the snapshot, that writes the snapshot into a growing buffer.
+     * @since 1.1
+     */
+    private static final class Encoder {
+
+        private ByteBuffer out;
+
+        /**
+         * This represents if the values are encoded into direct buffers, that are released when the buffer grows.
+         * @since 1.1
+         */
+        private final boolean direct;
+
+        Encoder(final int entries, final boolean direct) {
+            this.direct = direct;
+            this.out = this.allocate(Math.max(4096, HEADER_SIZE + entries * 64));
+        }
+
+        void header(final long sourceSize, final long sourceModified, final long sourceHash,
+                    final List<ParseCache.Source> includes, final Map<String, ComplexObject> values) {
+            final int size = values.size();
+
+            // @Note The table has the double of the capacity of the entries, then the probes are short.
+            int tableCapacity = 2;
+            while (tableCapacity < size * 2) tableCapacity <<= 1;
+
+            // @Note The files that are included more than once are stored once.
+            final Map<String, ParseCache.Source> sources = new LinkedHashMap<>();
+            for (final ParseCache.Source include : includes) sources.putIfAbsent(include.file.getPath(), include);
+
+            this.out.putInt(MAGIC).putInt(VERSION)
+                    .putLong(sourceSize).putLong(sourceModified).putLong(sourceHash)
+                    .putInt(size).putInt(tableCapacity).putInt(sources.size()).putInt(0);
+
+            final int entries = HEADER_SIZE;
+            final int table = entries + size * ENTRY_SIZE;
+
+            this.ensure(size * ENTRY_SIZE + tableCapacity * 4);
+            this.out.position(table + tableCapacity * 4);
+
+            final int includeStart = this.out.position();
+            for (final ParseCache.Source include : sources.values()) {
+                final byte[] path = include.file.getPath().getBytes(StandardCharsets.UTF_8);
+                this.ensure(4 + path.length + 24);
+                this.out.putInt(path.length).put(path).putLong(include.size).putLong(include.modified).putLong(include.hash);
+            }
+            this.out.putInt(44, this.out.position() - includeStart);
+
+            final int[] slots = new int[tableCapacity];
+            int index = 0;
+
+            for (final Map.Entry<String, ComplexObject> entry : values.entrySet()) {
+                final String key = entry.getKey();
+                final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+
+                final int keyOffset = this.out.position();
+                this.ensure(keyBytes.length);
+                this.out.put(keyBytes);
+
+                final int valueOffset = this.out.position();
+                this.value(entry.getValue().value());
+
+                final int hash = key.hashCode();
+                this.out.putInt(entries + index * ENTRY_SIZE, hash)
+                        .putInt(entries + index * ENTRY_SIZE + 4, keyOffset)
+                        .putInt(entries + index * ENTRY_SIZE + 8, keyBytes.length)
+                        .putInt(entries + index * ENTRY_SIZE + 12, valueOffset);
+
+                int slot = spread(hash) & (tableCapacity - 1);
+                while (slots[slot] != 0) slot = (slot + 1) & (tableCapacity - 1);
+                slots[slot] = ++index;
+            }
+
+            for (int slot = 0; slot < tableCapacity; slot++) {
+                this.out.putInt(table + (slot << 2), slots[slot]);
+            }
+        }
+
+        ByteBuffer finish() {
+            if (!this.direct) return this.out.flip();
+
+            // @Note The direct buffer is copied into a buffer of the exact size, then the unused capacity is released.
+            final ByteBuffer exact = this.allocate(this.out.position());
+            exact.put(this.out.flip()).flip();
+            CharInput.release(this.out);
+            this.out = exact;
+            return exact;
+        }
+
+        private ByteBuffer allocate(final int capacity) {
+            return this.direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+
+        private void value(final Object value) {
+            this.ensure(9);
+
+            if (value == null) {
+                this.out.put(TAG_NULL);
+            } else if (value instanceof Integer) {
+                this.out.put(TAG_INT).putInt((Integer) value);
+            } else if (value instanceof Long) {
+                this.out.put(TAG_LONG).putLong((Long) value);
+            } else if (value instanceof Double) {
+                this.out.put(TAG_DOUBLE).putDouble((Double) value);
+            } else if (value instanceof Boolean) {
+                this.out.put(TAG_BOOLEAN).put((byte) ((Boolean) value ? 1 : 0));
+            } else if (value instanceof String) {
+                final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                this.ensure(4 + bytes.length);
+                this.out.put(TAG_STRING).putInt(bytes.length).put(bytes);
+            } else if (value instanceof PrimitiveLists.IntList) {
+                final int[] array = ((PrimitiveLists.IntList) value).array();
+                this.ensure(4 + (array.length << 2));
+                this.out.put(TAG_INT_ARRAY).putInt(array.length);
+                this.out.asIntBuffer().put(array);
+                this.out.position(this.out.position() + (array.length << 2));
+            } else if (value instanceof PrimitiveLists.LongList) {
+                final long[] array = ((PrimitiveLists.LongList) value).array();
+                this.ensure(4 + (array.length << 3));
+                this.out.put(TAG_LONG_ARRAY).putInt(array.length);
+                this.out.asLongBuffer().put(array);
+                this.out.position(this.out.position() + (array.length << 3));
+            } else if (value instanceof PrimitiveLists.DoubleList) {
+                final double[] array = ((PrimitiveLists.DoubleList) value).array();
+                this.ensure(4 + (array.length << 3));
+                this.out.put(TAG_DOUBLE_ARRAY).putInt(array.length);
+                this.out.asDoubleBuffer().put(array);
+                this.out.position(this.out.position() + (array.length << 3));
+            } else if (value instanceof List) {
+                this.list((List<?>) value);
+            } else if (value instanceof Map) {
+                final Map<?, ?> map = (Map<?, ?>) value;
+                this.out.put(TAG_MAP).putInt(map.size());
+                for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                    this.value(entry.getKey());
+                    this.value(entry.getValue());
+                }
+            } else if (value instanceof Float) {
+                this.out.put(TAG_FLOAT).putFloat((Float) value);
+            } else if (value instanceof Short) {
+                this.out.put(TAG_SHORT).putShort((Short) value);
+            } else if (value instanceof Byte) {
+                this.out.put(TAG_BYTE).put((Byte) value);
+            } else if (value instanceof Character) {
+                this.out.put(TAG_CHARACTER).putChar((Character) value);
+            } else {
+                throw new IllegalArgumentException("The value of class " + value.getClass().getName() + " can't be compiled.");
+            }
+        }
+
+        /**
+         * This method writes the list that is not backed by a primitive array, like the large arrays from the lazy
+         * parse. The elements are written as a primitive array while them have the numeric type of the first element,
+         * like the parse of an array, then the list is encoded like the parsed list with the same elements. When an
+         * element has other type, the elements that are already written are tagged and the list is written as a list of
+         * objects. The elements are iterated once, then the elements of a lazy array are parsed once.
+         * @param list the list.
+         * @since 1.1
+         */
+        private void list(final List<?> list) {
+            final int size = list.size();
+            final int start = this.out.position();
+            final Iterator<?> elements = list.iterator();
+
+            if (!elements.hasNext()) {
+                this.out.put(TAG_LIST).putInt(size);
+                return;
+            }
+
+            Object element = elements.next();
+            final byte tag;
+            final int width;
+            if (element instanceof Integer) {
+                tag = TAG_INT;
+                width = 4;
+                this.ensure(5 + (size << 2));
+                this.out.put(TAG_INT_ARRAY).putInt(size);
+            } else if (element instanceof Long || element instanceof Double) {
+                tag = element instanceof Long ? TAG_LONG : TAG_DOUBLE;
+                width = 8;
+                this.ensure(5 + (size << 3));
+                this.out.put(tag == TAG_LONG ? TAG_LONG_ARRAY : TAG_DOUBLE_ARRAY).putInt(size);
+            } else {
+                this.out.put(TAG_LIST).putInt(size);
+                this.value(element);
+                while (elements.hasNext()) this.value(elements.next());
+                return;
+            }
+
+            int count = 0;
+            while (true) {
+                if (tag == TAG_INT) this.out.putInt((Integer) element);
+                else if (tag == TAG_LONG) this.out.putLong((Long) element);
+                else this.out.putDouble((Double) element);
+                count++;
+
+                if (!elements.hasNext()) return;
+
+                element = elements.next();
+                if (!isTagged(element, tag)) break;
+            }
+
+            // @Note The written elements are moved from the end, then each element is moved after its tag without
+            // overwrite the elements that are not moved yet.
+            this.ensure(count);
+            final int values = start + 5;
+            for (int i = count - 1; i >= 0; i--) {
+                final int from = values + i * width;
+                final int to = values + i * (width + 1);
+                for (int b = width - 1; b >= 0; b--) this.out.put(to + 1 + b, this.out.get(from + b));
+                this.out.put(to, tag);
+            }
+            this.out.put(start, TAG_LIST).position(values + count * (width + 1));
+
+            this.value(element);
+            while (elements.hasNext()) this.value(elements.next());
+        }
+
+        private static boolean isTagged(final Object element, final byte tag) {
+            switch (tag) {
+                case TAG_INT: return element instanceof Integer;
+                case TAG_LONG: return element instanceof Long;
+                default: return element instanceof Double;
+            }
+        }
+
+        private void ensure(final int bytes) {
+            if (this.out.remaining() >= bytes) return;
+
+            long capacity = this.out.capacity();
+            while (capacity - this.out.position() < bytes) capacity <<= 1;
+
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("The snapshot exceeds the limit of " + Integer.MAX_VALUE + " bytes.");
+            }
+
+            final ByteBuffer grown = this.allocate((int) capacity);
+            grown.put(this.out.flip());
+            if (this.direct) CharInput.release(this.out);
+            this.out = grown;
+        }
+    }
+}
@@ -0,0 +1,686 @@
+package rlp.parser;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This represents the writer of the configurations, that writes the keys and the values in the format that is read by
+ * the {@link Parser}, then the written configuration is parsed into the same values.
+ * <p>
+ * The numbers are written with the type declaration of their type (i. e. {@code 1b}, {@code 2s}, {@code 3L},
+ * {@code 1.5f}), except the "integer" and "double" numbers, that are the types of the numbers without type declaration.
+ * The strings and the characters are written with the escape sequences that are decoded by the parser.
+ * <p>
+ * The characters are written into a reusable buffer, that is written to the {@link Writer} or encoded to the
+ * {@link WritableByteChannel} when it is full, then the values are written without create a string for each value.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * try (final ConfigWriter writer = new ConfigWriter(channel)) {
+ *     writer.key("port").value(8080)
+ *           .key("hosts").beginArray().value("a.example").value("b.example").endArray();
+ * }
+ * }</pre>
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ConfigWriter implements Closeable, Flushable {
+
+    /**
+     * This represents the default size of the buffer, in characters.
+     * @since 1.1
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // @Note This represents the contexts of the writer, that are the values that contain the next value.
+    private static final int CONTEXT_DOCUMENT = 0;
+    private static final int CONTEXT_ARRAY = 1;
+    private static final int CONTEXT_MAP = 2;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final char[] MIN_LONG = Long.toString(Long.MIN_VALUE).toCharArray();
+
+    private final Writer writer;
+    private final WritableByteChannel channel;
+
+    /**
+     * This represents the encoder of the characters to the channel, and the buffers of the encode. The buffer of the
+     * characters wraps the buffer of the writer.
+     * @since 1.1
+     */
+    private final CharsetEncoder encoder;
+    private final CharBuffer encoderInput;
+    private final ByteBuffer encoderOutput;
+
+    private final char[] buffer;
+    private int position;
+
+    /**
+     * This represents the builder that formats the floating-point numbers, that is reused by each number.
+     * @since 1.1
+     */
+    private final StringBuilder numberBuilder = new StringBuilder(32);
+
+    private int[] contexts = new int[16];
+    private int[] counts = new int[16];
+    private int depth;
+
+    /**
+     * This represents that a key is written, then the next call must write its value.
+     * @since 1.1
+     */
+    private boolean afterKey;
+
+    private boolean closed;
+
+    public ConfigWriter(final Writer writer) {
+        this(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ConfigWriter(final Writer writer, final int bufferSize) {
+        if (writer == null) {
+            throw new NullPointerException("writer must not be null");
+        }
+
+        this.writer = writer;
+        this.channel = null;
+        this.encoder = null;
+        this.encoderInput = null;
+        this.encoderOutput = null;
+        this.buffer = new char[checkBufferSize(bufferSize)];
+    }
+
+    public ConfigWriter(final WritableByteChannel channel) {
+        this(channel, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ConfigWriter(final WritableByteChannel channel, final Charset charset, final int bufferSize) {
+        if (channel == null) {
+            throw new NullPointerException("channel must not be null");
+        }
+        if (charset == null) {
+            throw new NullPointerException("charset must not be null");
+        }
+
+        this.writer = null;
+        this.channel = channel;
+        this.buffer = new char[checkBufferSize(bufferSize)];
+
+        // @Note The characters that can't be encoded are reported instead of replaced, like the decode of the parser.
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.encoderInput = CharBuffer.wrap(this.buffer);
+        this.encoderOutput = ByteBuffer.allocate((int) Math.ceil(this.buffer.length * (double) this.encoder.maxBytesPerChar()));
+    }
+
+    // ... Structure ...
+
+    /**
+     * This method write the key of the next value. The keys are written in the configuration and in the maps.
+     * @param key the key.
+     * @return this writer.
+     * @throws IOException if the output can't be written.
+     * @throws IllegalStateException if a key is not expected.
+     * @since 1.1
+     */
+    public ConfigWriter key(final String key) throws IOException {
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
+        }
+        this.checkOpen();
+
+        final int context = this.contexts[this.depth];
+        if (context == CONTEXT_ARRAY) throw new IllegalStateException("The array elements don't have keys.");
+        if (this.afterKey) throw new IllegalStateException("Expected the value of the key, but found the key \"" + key + "\".");
+
+        if (this.counts[this.depth]++ > 0) {
+            this.write(',');
+            this.write(context == CONTEXT_DOCUMENT ? '\n' : ' ');
+        }
+
+        if (isLiteral(key)) {
+            this.write(key);
+        } else {
+            this.writeQuoted(key, '\"');
+        }
+
+        this.ensure(3);
+        this.buffer[this.position++] = ' ';
+        this.buffer[this.position++] = '=';
+        this.buffer[this.position++] = ' ';
+
+        this.afterKey = true;
+        return this;
+    }
+
+    public ConfigWriter beginArray() throws IOException {
+        this.beforeValue();
+        this.write('[');
+        this.push(CONTEXT_ARRAY);
+        return this;
+    }
+
+    public ConfigWriter endArray() throws IOException {
+        if (this.contexts[this.depth] != CONTEXT_ARRAY) throw new IllegalStateException("There is not an array to end.");
+
+        this.write(']');
+        this.depth--;
+        return this;
+    }
+
+    public ConfigWriter beginMap() throws IOException {
+        this.beforeValue();
+        this.write('{');
+        this.push(CONTEXT_MAP);
+        return this;
+    }
+
+    public ConfigWriter endMap() throws IOException {
+        if (this.contexts[this.depth] != CONTEXT_MAP) throw new IllegalStateException("There is not a map to end.");
+        if (this.afterKey) throw new IllegalStateException("Expected the value of the key, but found the end of the map.");
+
+        this.write('}');
+        this.depth--;
+        return this;
+    }
+
+    // ... Values ...
+
+    public ConfigWriter value(final byte value) throws IOException {
+        this.beforeValue();
+        this.writeLong(value);
+        this.write('b');
+        return this;
+    }
+
+    public ConfigWriter value(final short value) throws IOException {
+        this.beforeValue();
+        this.writeLong(value);
+        this.write('s');
+        return this;
+    }
+
+    public ConfigWriter value(final int value) throws IOException {
+        this.beforeValue();
+        this.writeLong(value);
+        return this;
+    }
+
+    public ConfigWriter value(final long value) throws IOException {
+        this.beforeValue();
+        this.writeLong(value);
+        this.write('L');
+        return this;
+    }
+
+    public ConfigWriter value(final float value) throws IOException {
+        checkFinite(value);
+        this.beforeValue();
+        this.writeFloat(value);
+        this.write('f');
+        return this;
+    }
+
+    public ConfigWriter value(final double value) throws IOException {
+        checkFinite(value);
+        this.beforeValue();
+        this.writeDouble(value);
+        return this;
+    }
+
+    public ConfigWriter value(final boolean value) throws IOException {
+        this.beforeValue();
+        this.write(value ? "true" : "false");
+        return this;
+    }
+
+    public ConfigWriter value(final char value) throws IOException {
+        this.beforeValue();
+        this.ensure(8);
+        this.buffer[this.position++] = '\'';
+        this.writeEscaped(value, '\'');
+        this.buffer[this.position++] = '\'';
+        return this;
+    }
+
+    public ConfigWriter value(final String value) throws IOException {
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+
+        this.beforeValue();
+        this.writeQuoted(value, '\"');
+        return this;
+    }
+
+    /**
+     * This method write the value of the complex object, with the type of the complex object.
+     * @param value the complex object.
+     * @return this writer.
+     * @throws IOException if the output can't be written.
+     * @throws IllegalArgumentException if the value is null, because the configuration doesn't have a null value.
+     * @since 1.1
+     */
+    public ConfigWriter value(final ComplexObject value) throws IOException {
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+
+        switch (value.type()) {
+            case BYTE: return this.value(value.byteValue());
+            case SHORT: return this.value(value.shortValue());
+            case INT: return this.value(value.intValue());
+            case LONG: return this.value(value.longValue());
+            case FLOAT: return this.value(value.floatValue());
+            case DOUBLE: return this.value(value.doubleValue());
+            case BOOLEAN: return this.value(value.booleanValue());
+            case CHARACTER: return this.value(value.charValue());
+            case STRING: return this.value(value.stringValue());
+            case LIST: return this.list(value.listValue());
+            case MAP: return this.map(value.mapValue());
+            default: throw new IllegalArgumentException("The null value can't be written.");
+        }
+    }
+
+    /**
+     * This method write the boxed value, that can be a list or a map of boxed values, like the values from the lists
+     * and the maps of the {@link ComplexObject}.
+     * @param value the boxed value.
+     * @return this writer.
+     * @throws IOException if the output can't be written.
+     * @throws IllegalArgumentException if the class of the value is not supported.
+     * @since 1.1
+     */
+    public ConfigWriter value(final Object value) throws IOException {
+        if (value instanceof String) return this.value((String) value);
+        if (value instanceof Integer) return this.value((int) (Integer) value);
+        if (value instanceof Long) return this.value((long) (Long) value);
+        if (value instanceof Double) return this.value((double) (Double) value);
+        if (value instanceof Boolean) return this.value((boolean) (Boolean) value);
+        if (value instanceof List) return this.list((List<?>) value);
+        if (value instanceof Map) return this.map((Map<?, ?>) value);
+        if (value instanceof ComplexObject) return this.value((ComplexObject) value);
+        if (value instanceof Float) return this.value((float) (Float) value);
+        if (value instanceof Short) return this.value((short) (Short) value);
+        if (value instanceof Byte) return this.value((byte) (Byte) value);
+        if (value instanceof Character) return this.value((char) (Character) value);
+
+        if (value == null) throw new IllegalArgumentException("The null value can't be written.");
+        throw new IllegalArgumentException("The value of class " + value.getClass().getName() + " is not supported.");
+    }
+
+    /**
+     * This method write the all key-values, like the map from {@link Config#getComplexObjectMap()}.
+     * @param values the key-values.
+     * @return this writer.
+     * @throws IOException if the output can't be written.
+     * @since 1.1
+     */
+    public ConfigWriter writeAll(final Map<String, ComplexObject> values) throws IOException {
+        for (final Map.Entry<String, ComplexObject> entry : values.entrySet()) {
+            this.key(entry.getKey()).value(entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * This method write the characters from the buffer to the output, and flush the output. The incomplete surrogate
+     * pair at the end of the buffer is kept until the next character.
+     * @throws IOException if the output can't be written.
+     * @since 1.1
+     */
+    @Override
+    public void flush() throws IOException {
+        this.drain();
+
+        if (this.writer != null) this.writer.flush();
+    }
+
+    /**
+     * This method write the remaining characters and close the output.
+     * @throws IOException if the output can't be written.
+     * @throws IllegalStateException if an array, a map or a key-value is not complete, after the output is closed.
+     * @since 1.1
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) return;
+        this.closed = true;
+
+        final boolean complete = this.depth == 0 && !this.afterKey;
+        try {
+            if (this.counts[0] > 0) this.write('\n');
+            this.drain();
+
+            if (this.channel != null) {
+                this.encoderInput.limit(this.position).position(0);
+                this.encode(true);
+                this.position = 0;
+
+                final CoderResult result = this.encoder.flush(this.encoderOutput);
+                if (result.isError()) result.throwException();
+                this.writeBytes();
+            }
+        } finally {
+            if (this.writer != null) this.writer.close();
+            else this.channel.close();
+        }
+
+        if (!complete) throw new IllegalStateException("The configuration is not complete.");
+    }
+
+    // ... Internal Methods ...
+
+    private void beforeValue() throws IOException {
+        this.checkOpen();
+
+        if (this.contexts[this.depth] == CONTEXT_ARRAY) {
+            if (this.counts[this.depth]++ > 0) {
+                this.ensure(2);
+                this.buffer[this.position++] = ',';
+                this.buffer[this.position++] = ' ';
+            }
+            return;
+        }
+
+        if (!this.afterKey) throw new IllegalStateException("Expected a key, but found a value.");
+        this.afterKey = false;
+    }
+
+    private void checkOpen() {
+        if (this.closed) throw new IllegalStateException("The writer is closed.");
+    }
+
+    private void push(final int context) {
+        if (++this.depth == this.contexts.length) {
+            this.contexts = Arrays.copyOf(this.contexts, this.depth << 1);
+            this.counts = Arrays.copyOf(this.counts, this.depth << 1);
+        }
+
+        this.contexts[this.depth] = context;
+        this.counts[this.depth] = 0;
+    }
+
+    private ConfigWriter list(final List<?> list) throws IOException {
+        this.beginArray();
+
+        // @Note The lists that are backed by a primitive array are written without box the elements.
+        if (list instanceof PrimitiveLists.IntList) {
+            for (final int element : ((PrimitiveLists.IntList) list).array()) this.value(element);
+        } else if (list instanceof PrimitiveLists.LongList) {
+            for (final long element : ((PrimitiveLists.LongList) list).array()) this.value(element);
+        } else if (list instanceof PrimitiveLists.DoubleList) {
+            for (final double element : ((PrimitiveLists.DoubleList) list).array()) this.value(element);
+        } else {
+            for (final Object element : list) this.value(element);
+        }
+
+        return this.endArray();
+    }
+
+    private ConfigWriter map(final Map<?, ?> map) throws IOException {
+        this.beginMap();
+
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getKey() == null) throw new IllegalArgumentException("The null key can't be written.");
+            this.key(entry.getKey().toString()).value(entry.getValue());
+        }
+
+        return this.endMap();
+    }
+
+    /**
+     * This method write the digits of the number directly into the buffer, from the last digit to the first digit.
+     * @since 1.1
+     */
+    private void writeLong(long value) throws IOException {
+        this.ensure(20);
+
+        if (value == Long.MIN_VALUE) {
+            System.arraycopy(MIN_LONG, 0, this.buffer, this.position, MIN_LONG.length);
+            this.position += MIN_LONG.length;
+            return;
+        }
+
+        if (value < 0) {
+            this.buffer[this.position++] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) digits++;
+
+        int position = this.position + digits;
+        this.position = position;
+        do {
+            this.buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    /**
+     * This method write the floating-point number with the shortest digits that are parsed into the same number, that
+     * are the digits from {@link Double#toString(double)}. The integral numbers are written from their digits, and the
+     * other numbers are formatted into the reusable builder.
+     * @since 1.1
+     */
+    private void writeDouble(final double value) throws IOException {
+        if (isSmallIntegral(value)) {
+            this.writeLong((long) value);
+            this.write(".0");
+            return;
+        }
+
+        this.numberBuilder.setLength(0);
+        this.numberBuilder.append(value);
+        this.writeNumberBuilder();
+    }
+
+    private void writeFloat(final float value) throws IOException {
+        if (isSmallIntegral(value)) {
+            this.writeLong((long) value);
+            this.write(".0");
+            return;
+        }
+
+        this.numberBuilder.setLength(0);
+        this.numberBuilder.append(value);
+        this.writeNumberBuilder();
+    }
+
+    private void writeNumberBuilder() throws IOException {
+        final int length = this.numberBuilder.length();
+        this.ensure(length);
+        this.numberBuilder.getChars(0, length, this.buffer, this.position);
+        this.position += length;
+    }
+
+    /**
+     * This method write the string between the quotes, and the characters that can't be in the literal are written as
+     * escape sequences.
+     * @since 1.1
+     */
+    private void writeQuoted(final String string, final char quote) throws IOException {
+        this.write(quote);
+
+        final int length = string.length();
+        int start = 0;
+
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c >= 0x20 && c != quote && c != '\\' && !Character.isSurrogate(c)) continue;
+
+            // @Note The surrogate pairs are copied, and only the unpaired surrogates are escaped, because them can't be
+            // encoded.
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+
+            this.write(string, start, i);
+            this.ensure(6);
+            this.writeEscaped(c, quote);
+            start = i + 1;
+        }
+
+        this.write(string, start, length);
+        this.write(quote);
+    }
+
+    /**
+     * This method write the character, or its escape sequence. The buffer must have the space of 6 characters.
+     * @since 1.1
+     */
+    private void writeEscaped(final char c, final char quote) {
+        final char[] buffer = this.buffer;
+
+        switch (c) {
+            case '\b': buffer[this.position++] = '\\'; buffer[this.position++] = 'b'; return;
+            case '\t': buffer[this.position++] = '\\'; buffer[this.position++] = 't'; return;
+            case '\n': buffer[this.position++] = '\\'; buffer[this.position++] = 'n'; return;
+            case '\f': buffer[this.position++] = '\\'; buffer[this.position++] = 'f'; return;
+            case '\r': buffer[this.position++] = '\\'; buffer[this.position++] = 'r'; return;
+            case '\\': buffer[this.position++] = '\\'; buffer[this.position++] = '\\'; return;
+            default:
+                break;
+        }
+
+        if (c == quote) {
+            buffer[this.position++] = '\\';
+            buffer[this.position++] = quote;
+        } else if (c < 0x20 || Character.isSurrogate(c)) {
+            buffer[this.position++] = '\\';
+            buffer[this.position++] = 'u';
+            buffer[this.position++] = HEX_DIGITS[(c >> 12) & 0xF];
+            buffer[this.position++] = HEX_DIGITS[(c >> 8) & 0xF];
+            buffer[this.position++] = HEX_DIGITS[(c >> 4) & 0xF];
+            buffer[this.position++] = HEX_DIGITS[c & 0xF];
+        } else {
+            buffer[this.position++] = c;
+        }
+    }
+
+    private void write(final char c) throws IOException {
+        this.ensure(1);
+        this.buffer[this.position++] = c;
+    }
+
+    private void write(final String string) throws IOException {
+        this.write(string, 0, string.length());
+    }
+
+    /**
+     * This method copy the characters from the string into the buffer, then the long strings are copied in parts.
+     * @since 1.1
+     */
+    private void write(final String string, int start, final int end) throws IOException {
+        while (start < end) {
+            this.ensure(1);
+
+            final int count = Math.min(end - start, this.buffer.length - this.position);
+            string.getChars(start, start + count, this.buffer, this.position);
+            this.position += count;
+            start += count;
+        }
+    }
+
+    /**
+     * This method makes sure that the buffer has the space of the characters, then the buffer is written to the output
+     * when it doesn't have the space.
+     * @since 1.1
+     */
+    private void ensure(final int length) throws IOException {
+        if (this.position + length > this.buffer.length) this.drain();
+    }
+
+    /**
+     * This method write the characters from the buffer to the output.
+     * @since 1.1
+     */
+    private void drain() throws IOException {
+        if (this.writer != null) {
+            this.writer.write(this.buffer, 0, this.position);
+            this.position = 0;
+            return;
+        }
+
+        this.encoderInput.limit(this.position).position(0);
+        this.encode(false);
+
+        // @Note The encoder doesn't consume the high surrogate at the end of the input, because the low surrogate is
+        // not written yet, then it is moved to the start of the buffer.
+        final int remaining = this.encoderInput.remaining();
+        System.arraycopy(this.buffer, this.encoderInput.position(), this.buffer, 0, remaining);
+        this.position = remaining;
+    }
+
+    private void encode(final boolean endOfInput) throws IOException {
+        CoderResult result;
+        while ((result = this.encoder.encode(this.encoderInput, this.encoderOutput, endOfInput)).isOverflow()) {
+            this.writeBytes();
+        }
+        if (result.isError()) result.throwException();
+
+        this.writeBytes();
+    }
+
+    private void writeBytes() throws IOException {
+        this.encoderOutput.flip();
+        while (this.encoderOutput.hasRemaining()) {
+            this.channel.write(this.encoderOutput);
+        }
+        this.encoderOutput.clear();
+    }
+
+    /**
+     * This method check if the key can be written without the quotes, that is when the key is a literal token.
+     * @since 1.1
+     */
+    private static boolean isLiteral(final String key) {
+        if (key.isEmpty()) return false;
+
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (c < 0x20 || Lexer.isDelimiter(c) || Character.isSurrogate(c)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method check if the number is integral and is written with the digits of the integer by
+     * {@link Double#toString(double)}, that is when the number is less than 10^7. The negative zero is not integral,
+     * because its sign is lost by the conversion to long.
+     * @since 1.1
+     */
+    private static boolean isSmallIntegral(final double value) {
+        return value == (long) value && Math.abs(value) < 1e7 && Double.doubleToRawLongBits(value) != Long.MIN_VALUE;
+    }
+
+    private static void checkFinite(final double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("The value " + value + " can't be written, because it isn't a number literal.");
+        }
+    }
+
+    private static int checkBufferSize(final int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("bufferSize must be at least 64");
+        }
+        return bufferSize;
+    }
+}
@@ -0,0 +1,177 @@
+package rlp.parser;
+
+import java.math.BigInteger;
+
+/**
+ * This represents the conversion of the decimal numbers into the floating-point numbers, that is done from the
+ * mantissa and the exponent of the decimal number, without the text from the number.
+ * <p>
+ * The conversion tries an exact fast path when the mantissa and the power of ten are exact doubles, and then the
+ * Eisel-Lemire algorithm, that multiplies the mantissa by a 128-bit approximation of the power of ten. Both are
+ * correctly rounded, and when the result can't be decided the conversion fails, then the caller must use the slow path
+ * from {@link Double#parseDouble(String)}.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class DecimalConverter {
+
+    // @Note This represents the range of the exponents from the table of the powers of five.
+    private static final int MIN_EXPONENT = -342;
+    private static final int MAX_EXPONENT = 308;
+
+    /**
+     * This represents the powers of ten that are exact doubles, that are used by the fast path.
+     * @since 1.1
+     */
+    private static final double[] DOUBLE_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final float[] FLOAT_POWERS = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * This represents the 128-bit approximations of the powers of five from {@link #MIN_EXPONENT} to
+     * {@link #MAX_EXPONENT}, normalized so that the most significant bit is set. Each power is stored as the high and
+     * the low 64 bits.
+     * @since 1.1
+     */
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private DecimalConverter() {
+    }
+
+    /**
+     * This method converts the decimal number into a double.
+     * @param negative true if the number is negative.
+     * @param mantissa the digits from the number, as an unsigned integer of at most 19 digits.
+     * @param exponent the power of ten that multiplies the mantissa.
+     * @return the correctly rounded double, or NaN if the slow path must be used.
+     * @since 1.1
+     */
+    static double toDouble(final boolean negative, final long mantissa, final int exponent) {
+        if (mantissa == 0) return negative ? -0.0 : 0.0;
+
+        // @Note The mantissa and the power of ten are exact doubles, then the single operation is correctly rounded.
+        if (mantissa > 0 && mantissa <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+            final double value = exponent < 0 ? mantissa / DOUBLE_POWERS[-exponent] : mantissa * DOUBLE_POWERS[exponent];
+            return negative ? -value : value;
+        }
+
+        return eiselLemire(negative, mantissa, exponent);
+    }
+
+    /**
+     * This method converts the decimal number into a float.
+     * @param negative true if the number is negative.
+     * @param mantissa the digits from the number, as an unsigned integer of at most 19 digits.
+     * @param exponent the power of ten that multiplies the mantissa.
+     * @return the correctly rounded float, or NaN if the slow path must be used.
+     * @since 1.1
+     */
+    static float toFloat(final boolean negative, final long mantissa, final int exponent) {
+        if (mantissa == 0) return negative ? -0.0f : 0.0f;
+
+        // @Note The double can't be rounded to float, because the double rounding is not always correct.
+        if (mantissa > 0 && mantissa <= 1L << 24 && exponent >= -10 && exponent <= 10) {
+            final float value = exponent < 0 ? mantissa / FLOAT_POWERS[-exponent] : mantissa * FLOAT_POWERS[exponent];
+            return negative ? -value : value;
+        }
+
+        return Float.NaN;
+    }
+
+    /**
+     * This method converts the decimal number by the Eisel-Lemire algorithm.
+     * @since 1.1
+     */
+    private static double eiselLemire(final boolean negative, final long mantissa, final int exponent) {
+        if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) return Double.NaN;
+
+        final int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+        final long normalized = mantissa << leadingZeros;
+        long binaryExponent = ((217706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+        final int index = (exponent - MIN_EXPONENT) << 1;
+        long high = unsignedMultiplyHigh(normalized, POWERS_OF_FIVE[index]);
+        long low = normalized * POWERS_OF_FIVE[index];
+
+        // @Note The product from the high 64 bits of the power is not precise enough, then the low 64 bits are used.
+        if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + normalized, normalized) < 0) {
+            final long productHigh = unsignedMultiplyHigh(normalized, POWERS_OF_FIVE[index + 1]);
+            final long productLow = normalized * POWERS_OF_FIVE[index + 1];
+
+            long mergedHigh = high;
+            final long mergedLow = low + productHigh;
+            if (Long.compareUnsigned(mergedLow, low) < 0) mergedHigh++;
+
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1
+                    && Long.compareUnsigned(productLow + normalized, normalized) < 0) {
+                return Double.NaN;
+            }
+
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        final long upperBit = high >>> 63;
+        long binaryMantissa = high >>> (upperBit + 9);
+        binaryExponent -= 1 ^ upperBit;
+
+        // @Note The number is too close to the half between two doubles.
+        if (low == 0 && (high & 0x1FF) == 0 && (binaryMantissa & 3) == 1) return Double.NaN;
+
+        binaryMantissa += binaryMantissa & 1;
+        binaryMantissa >>>= 1;
+        if (binaryMantissa >>> 53 > 0) {
+            binaryMantissa >>>= 1;
+            binaryExponent++;
+        }
+
+        // @Note The subnormal numbers and the infinities are converted by the slow path.
+        if (binaryExponent <= 0 || binaryExponent >= 0x7FF) return Double.NaN;
+
+        long bits = binaryExponent << 52 | binaryMantissa & 0x000FFFFFFFFFFFFFL;
+        if (negative) bits |= Long.MIN_VALUE;
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static long unsignedMultiplyHigh(final long x, final long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    /**
+     * This method computes the table of the powers of five. The positive powers are truncated to 128 bits, and the
+     * negative powers are the reciprocals that are rounded up, like the table from the original algorithm.
+     * @return the table of the powers of five.
+     * @since 1.1
+     */
+    private static long[] powersOfFive() {
+        final long[] powers = new long[(MAX_EXPONENT - MIN_EXPONENT + 1) << 1];
+        final BigInteger five = BigInteger.valueOf(5);
+
+        for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+            BigInteger power;
+
+            if (q < 0) {
+                final BigInteger divisor = five.pow(-q);
+                final int bits = divisor.bitLength();
+                final int shift = q >= -27 ? bits + 127 : 2 * bits + 128;
+                power = BigInteger.ONE.shiftLeft(shift).divide(divisor).add(BigInteger.ONE);
+            } else {
+                power = five.pow(q);
+                if (power.bitLength() < 128) power = power.shiftLeft(128 - power.bitLength());
+            }
+
+            if (power.bitLength() > 128) power = power.shiftRight(power.bitLength() - 128);
+
+            final int index = (q - MIN_EXPONENT) << 1;
+            powers[index] = power.shiftRight(64).longValue();
+            powers[index + 1] = power.longValue();
+        }
+        return powers;
+    }
+}
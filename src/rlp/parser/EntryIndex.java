@@ -0,0 +1,201 @@
+package rlp.parser;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This represents the index of the key-values from a configuration, that stores each key with the positions of its
+ * value in the character buffer. The index is built by a structural scan, that doesn't parse the values.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class EntryIndex {
+
+    final char[] buffer;
+
+    // @Note This represents the keys, in the order of the configuration, and the positions and lines of their values.
+    private final KeyTable keys;
+    final int[] starts;
+    final int[] ends;
+    final int[] lines;
+
+    /**
+     * This represents the values from the included files, by the index of the key, or null if no key is included.
+     * @since 1.1
+     */
+    private final ComplexObject[] included;
+
+    /**
+     * This represents the hashes of the included files, by the index of the key, or null if no key is included.
+     * @since 1.1
+     */
+    private final long[] includedHashes;
+
+    private EntryIndex(final char[] buffer, final KeyTable keys, final int[] starts, final int[] ends, final int[] lines,
+                       final ComplexObject[] included, final long[] includedHashes) {
+        this.buffer = buffer;
+        this.keys = keys;
+        this.starts = starts;
+        this.ends = ends;
+        this.lines = lines;
+        this.included = included;
+        this.includedHashes = includedHashes;
+    }
+
+    /**
+     * This method scan the configuration from the buffer, that finds the keys and the positions from their values
+     * without parse the values. The scan only checks the nesting of the arrays and the maps.
+     * @param buffer the character buffer.
+     * @param length the amount of characters in the buffer.
+     * @return the index of the key-values.
+     * @throws ConfigException if the structure of the configuration is not valid.
+     * @since 1.1
+     */
+    static EntryIndex scan(final char[] buffer, final int length) {
+        return scan(buffer, length, null);
+    }
+
+    /**
+     * This method scan the configuration from the buffer, where the values of the included files are parsed when the
+     * include directives are found, because the keys of the included files are only known by the parse of the files.
+     * @param buffer the character buffer.
+     * @param length the amount of characters in the buffer.
+     * @param includes the include directives of the parse, or null if the includes are not supported.
+     * @return the index of the key-values.
+     * @throws ConfigException if the structure of the configuration is not valid.
+     * @since 1.1
+     */
+    static EntryIndex scan(final char[] buffer, final int length, final Includes includes) {
+        final ConfigReader reader = new ConfigReader(new Lexer(buffer, 0, length));
+        final KeyTable keys = new KeyTable(16);
+
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int[] lines = new int[16];
+        ComplexObject[] included = null;
+        long[] includedHashes = null;
+        int size = 0;
+
+        while (reader.next() != ConfigReader.Event.END_DOCUMENT) {
+            if (reader.event() == ConfigReader.Event.INCLUDE) {
+                // @Note The included values have no position in the buffer, then them are kept with the start -1 and
+                // the hash of the included file.
+                final ParseCache.Parsed parsed = Parser.include(reader, includes);
+                final long hash = parsed.hash();
+
+                for (final Map.Entry<String, ComplexObject> entry : parsed.values.entrySet()) {
+                    final int index = keys.add(entry.getKey());
+                    if (index == size) {
+                        if (size == starts.length) {
+                            starts = Arrays.copyOf(starts, size << 1);
+                            ends = Arrays.copyOf(ends, size << 1);
+                            lines = Arrays.copyOf(lines, size << 1);
+                        }
+
+                        size++;
+                    }
+
+                    if (included == null || index >= included.length) {
+                        included = Arrays.copyOf(included == null ? new ComplexObject[0] : included, starts.length);
+                        includedHashes = Arrays.copyOf(includedHashes == null ? new long[0] : includedHashes, starts.length);
+                    }
+
+                    included[index] = entry.getValue();
+                    includedHashes[index] = hash;
+                    starts[index] = ends[index] = -1;
+                }
+                continue;
+            }
+
+            final String key = reader.key();
+            reader.skipValue();
+
+            // @Note The key that is repeated replaces the value from the previous key, like a map.
+            final int index = keys.add(key);
+            if (index == size) {
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size << 1);
+                    ends = Arrays.copyOf(ends, size << 1);
+                    lines = Arrays.copyOf(lines, size << 1);
+                }
+
+                size++;
+            }
+
+            if (included != null && index < included.length) included[index] = null;
+
+            starts[index] = reader.skippedStart();
+            ends[index] = reader.skippedEnd();
+            lines[index] = reader.skippedLine();
+        }
+
+        return new EntryIndex(buffer, keys, Arrays.copyOf(starts, size), Arrays.copyOf(ends, size),
+                Arrays.copyOf(lines, size), included == null ? null : Arrays.copyOf(included, size),
+                includedHashes == null ? null : Arrays.copyOf(includedHashes, size));
+    }
+
+    int size() {
+        return this.keys.size();
+    }
+
+    String key(final int index) {
+        return this.keys.key(index);
+    }
+
+    /**
+     * This method returns the keys in the order of the configuration.
+     * @return the copy of the keys.
+     * @since 1.1
+     */
+    String[] keys() {
+        return this.keys.keys();
+    }
+
+    /**
+     * This method returns the index of the key.
+     * @param key the key.
+     * @return the index of the key, or -1 if the key doesn't exist.
+     * @since 1.1
+     */
+    int indexOf(final Object key) {
+        return this.keys.indexOf(key);
+    }
+
+    /**
+     * This method computes the 64-bit hash of the text from the value, that is the FNV-1a hash of the characters. The
+     * hash of an included value is the hash of the included file.
+     * @param index the index of the key.
+     * @return the hash of the text from the value.
+     * @since 1.1
+     */
+    long hash(final int index) {
+        if (this.included != null && this.included[index] != null) return this.includedHashes[index];
+
+        long hash = 0xCBF29CE484222325L;
+        for (int i = this.starts[index], end = this.ends[index]; i < end; i++) {
+            hash = (hash ^ this.buffer[i]) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * This method parse the value from the index by the parser.
+     * @param index the index of the key.
+     * @param parser the parser of the value.
+     * @return the parsed value.
+     * @since 1.1
+     */
+    ComplexObject parse(final int index, final ValueParser parser) {
+        if (this.included != null && this.included[index] != null) return this.included[index];
+        return parser.parse(this.buffer, this.starts[index], this.ends[index], this.lines[index]);
+    }
+
+    /**
+     * This represents the function that parse a value from the range of the character buffer.
+     * @since 1.1
+     */
+    interface ValueParser {
+        ComplexObject parse(char[] buffer, int start, int end, int line);
+    }
+}
@@ -0,0 +1,137 @@
+package rlp.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This represents the include directives of a parse, that resolves the included files through the {@link ParseCache}.
+ * The paths are relative to the directory of the file that includes them, and the files that are being parsed form the
+ * chain of the includes, then a file that includes itself, directly or through other files, is a cycle. The paths from a
+ * configuration that is not a file are relative to a base directory.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class Includes {
+
+    /**
+     * This represents the file that includes the files, or null if the configuration is not a file.
+     * @since 1.1
+     */
+    private final File file;
+
+    /**
+     * This represents the directory that the relative paths are resolved against.
+     * @since 1.1
+     */
+    private final File directory;
+
+    private final Charset charset;
+    private final ParseCache cache;
+
+    /**
+     * This represents the canonical paths of the files that are being parsed, from the first file until this file, that
+     * is only resolved at the first include of the first file.
+     * @since 1.1
+     */
+    private volatile List<String> chain;
+
+    /**
+     * This represents the files that are included, directly or through other files, by the parse.
+     * @since 1.1
+     */
+    private final List<ParseCache.Source> sources = Collections.synchronizedList(new ArrayList<>());
+
+    Includes(final File file, final Charset charset, final ParseCache cache, final List<String> chain) {
+        this(file, file.getAbsoluteFile().getParentFile(), charset, cache, chain);
+    }
+
+    private Includes(final File file, final File directory, final Charset charset, final ParseCache cache, final List<String> chain) {
+        this.file = file;
+        this.directory = directory;
+        this.charset = charset;
+        this.cache = cache;
+        this.chain = chain;
+    }
+
+    /**
+     * This method creates the include directives of a configuration that is not a file, whose relative paths are
+     * resolved against the directory. The chain of the includes starts empty, because the configuration can't be
+     * included by a file.
+     * @param directory the base directory of the relative paths.
+     * @param charset the charset of the included files.
+     * @param cache the cache of the included files.
+     * @return the include directives.
+     * @since 1.1
+     */
+    static Includes inDirectory(final File directory, final Charset charset, final ParseCache cache) {
+        return new Includes(null, directory.getAbsoluteFile(), charset, cache, List.of());
+    }
+
+    /**
+     * This method returns the parsed file from the current include directive of the reader.
+     * @param reader the reader whose current event is the include directive.
+     * @return the parsed file, with its key-values and the files that are included by it.
+     * @throws ConfigException if the file doesn't exist, can't be parsed or is included in a cycle.
+     * @since 1.1
+     */
+    ParseCache.Parsed resolve(final ConfigReader reader) {
+        final String path = reader.includePath();
+
+        File included = new File(path);
+        if (!included.isAbsolute()) included = new File(this.directory, path);
+
+        final File canonical;
+        try {
+            canonical = included.getCanonicalFile();
+        } catch (IOException e) {
+            throw reader.error("The included file \"" + path + "\" can't be resolved");
+        }
+        if (!canonical.isFile()) throw reader.error("The included file \"" + path + "\" doesn't exist");
+
+        final List<String> chain = this.chain();
+        if (chain.contains(canonical.getPath())) {
+            throw reader.error("The file \"" + path + "\" is included in a cycle: " + String.join(" -> ", chain)
+                    + " -> " + canonical.getPath());
+        }
+
+        final List<String> next = new ArrayList<>(chain);
+        next.add(canonical.getPath());
+
+        final ParseCache.Parsed parsed = this.cache.get(canonical,
+                source -> Parser.parseIncluded(source, this.charset, this.cache, Collections.unmodifiableList(next)),
+                chain.size() > 1);
+
+        this.sources.add(parsed.source);
+        this.sources.addAll(parsed.includes);
+        return parsed;
+    }
+
+    /**
+     * This method returns the files that are included by the parse.
+     * @return the copy of the included files.
+     * @since 1.1
+     */
+    List<ParseCache.Source> sources() {
+        synchronized (this.sources) {
+            return List.copyOf(this.sources);
+        }
+    }
+
+    private List<String> chain() {
+        List<String> chain = this.chain;
+        if (chain == null) {
+            try {
+                chain = List.of(this.file.getCanonicalPath());
+            } catch (IOException e) {
+                chain = List.of(this.file.getAbsolutePath());
+            }
+            this.chain = chain;
+        }
+        return chain;
+    }
+}
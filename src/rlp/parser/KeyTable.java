@@ -0,0 +1,114 @@
+package rlp.parser;
+
+import java.util.Arrays;
+
+/**
+ * This represents the compact index of the keys from a configuration, that maps each key to its index in the order
+ * that the keys are added. The index is an open-addressing table of integers, then a lookup doesn't allocate and
+ * doesn't follow the nodes of a map.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class KeyTable {
+
+    private String[] keys;
+    private int size;
+
+    /**
+     * This represents the open-addressing table, that stores the index of the key + 1 in each slot, or 0 if the slot is
+     * empty. The capacity is a power of two, and the table is at most half full.
+     * @since 1.1
+     */
+    private int[] table;
+
+    KeyTable(final int expectedSize) {
+        int capacity = 4;
+        while (capacity < expectedSize * 2) capacity <<= 1;
+
+        this.keys = new String[Math.max(4, expectedSize)];
+        this.table = new int[capacity];
+    }
+
+    /**
+     * This method creates the index of the keys, that must be distinct.
+     * @param keys the keys.
+     * @return the index of the keys.
+     * @since 1.1
+     */
+    static KeyTable of(final String[] keys) {
+        final KeyTable table = new KeyTable(keys.length);
+        for (final String key : keys) table.add(key);
+        return table;
+    }
+
+    /**
+     * This method returns the index of the key.
+     * @param key the key.
+     * @return the index of the key, or -1 if the key doesn't exist.
+     * @since 1.1
+     */
+    int indexOf(final Object key) {
+        if (key == null) return -1;
+
+        final int mask = this.table.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            final int index = this.table[slot] - 1;
+            if (index < 0) return -1;
+            if (this.keys[index].equals(key)) return index;
+        }
+    }
+
+    /**
+     * This method adds the key, if the key doesn't exist.
+     * @param key the key.
+     * @return the index of the key.
+     * @since 1.1
+     */
+    int add(final String key) {
+        final int existing = this.indexOf(key);
+        if (existing >= 0) return existing;
+
+        if (this.size == this.keys.length) this.keys = Arrays.copyOf(this.keys, this.size << 1);
+        if ((this.size + 1) * 2 > this.table.length) this.rehash(this.table.length << 1);
+
+        this.keys[this.size] = key;
+        this.insert(key, this.size);
+        return this.size++;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    String key(final int index) {
+        return this.keys[index];
+    }
+
+    /**
+     * This method returns the keys in the order that them are added.
+     * @return the copy of the keys.
+     * @since 1.1
+     */
+    String[] keys() {
+        return Arrays.copyOf(this.keys, this.size);
+    }
+
+    private void rehash(final int capacity) {
+        this.table = new int[capacity];
+        for (int i = 0; i < this.size; i++) this.insert(this.keys[i], i);
+    }
+
+    private void insert(final String key, final int index) {
+        final int mask = this.table.length - 1;
+
+        int slot = spread(key.hashCode()) & mask;
+        while (this.table[slot] != 0) slot = (slot + 1) & mask;
+
+        this.table[slot] = index + 1;
+    }
+
+    private static int spread(final int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+}
@@ -0,0 +1,307 @@
+package rlp.parser;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * This represents the list of the elements from an array that are parsed from the character buffer when them are
+ * requested, then the large arrays from the lazy parse are not built into a list.
+ * <p>
+ * The iteration parse the elements in order, from the characters of the array. The indexed access and the split of the
+ * {@link #spliterator()} use the positions of the elements, that are found by a scan of the array at the first time
+ * that them are necessary. The elements are not kept, then each access parse the element again.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class LazyArray extends AbstractList<Object> implements RandomAccess {
+
+    /**
+     * This represents the minimum amount of characters from an array, from which the array is parsed lazily. The
+     * smaller arrays are parsed into a list, because them are accessed many times.
+     * @since 1.1
+     */
+    static final int MIN_LENGTH = 4096;
+
+    private final char[] buffer;
+
+    /**
+     * This represents the range of the characters between the brackets of the array.
+     * @since 1.1
+     */
+    private final int start;
+    private final int end;
+    private final int line;
+
+    private final StringPool stringPool;
+
+    /**
+     * This represents the positions of the elements, that are built by {@link #index()}.
+     * @since 1.1
+     */
+    private volatile Index index;
+
+    /**
+     * This creates the lazy array from the range of the characters between the brackets.
+     * @since 1.1
+     */
+    LazyArray(final char[] buffer, final int start, final int end, final int line, final StringPool stringPool) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.line = line;
+        this.stringPool = stringPool;
+    }
+
+    /**
+     * This method parse the element from the index, by its position.
+     * @param index the index of the element.
+     * @return the parsed element.
+     * @since 1.1
+     */
+    @Override
+    public Object get(final int index) {
+        final Index elements = this.index();
+        if (index < 0 || index >= elements.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + elements.size);
+        }
+
+        // @Note The end of the element is checked, then the invalid elements fail like in the sequential read.
+        final ConfigReader reader = this.reader(elements, index, index + 1);
+        final Object element = Parser.parseValue(reader, reader.next());
+        reader.next();
+        return element;
+    }
+
+    @Override
+    public int size() {
+        return this.index().size;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return Spliterators.iterator(this.spliterator());
+    }
+
+    @Override
+    public void forEach(final Consumer<? super Object> action) {
+        this.spliterator().forEachRemaining(action);
+    }
+
+    /**
+     * This method returns the spliterator that parse the elements in order. The spliterator is split at the boundaries
+     * of the elements, then the elements can be parsed in parallel.
+     * @return the spliterator of the elements.
+     * @since 1.1
+     */
+    @Override
+    public Spliterator<Object> spliterator() {
+        final Index elements = this.index;
+        return new ElementSpliterator(0, elements == null ? -1 : elements.size);
+    }
+
+    /**
+     * This method creates the reader of the elements from the index until the fence. The value reader reads the
+     * elements that are separated by the comma token ",".
+     * @since 1.1
+     */
+    private ConfigReader reader(final Index elements, final int index, final int fence) {
+        final Lexer lexer = new Lexer(this.buffer, elements.starts[index], elements.starts[fence] - 1,
+                elements.lines[index], elements.columns[index]);
+        return ConfigReader.ofValue(lexer, this.stringPool);
+    }
+
+    /**
+     * This method returns the positions of the elements, that are found by a scan of the array at the first call. The
+     * scan only follows the strings, the characters, the comments and the nesting, like the {@link ChunkSplitter}.
+     * @return the positions of the elements.
+     * @since 1.1
+     */
+    private Index index() {
+        Index elements = this.index;
+        if (elements != null) return elements;
+
+        int[] starts = new int[16];
+        int[] lines = new int[16];
+        int[] columns = new int[16];
+        int size = 0;
+
+        int line = this.line;
+        int lineStart = this.start;
+        while (lineStart > 0 && this.buffer[lineStart - 1] != '\n') lineStart--;
+
+        int elementStart = this.start;
+        int elementLine = line;
+        int elementColumn = this.start - lineStart + 1;
+        boolean empty = true;
+        int depth = 0;
+
+        for (int i = this.start; i < this.end; i++) {
+            final char c = this.buffer[i];
+
+            switch (c) {
+                case '\n':
+                    line++;
+                    lineStart = i + 1;
+                    continue;
+                case ' ': case '\t': case '\r':
+                    continue;
+                case '#':
+                    while (i + 1 < this.end && this.buffer[i + 1] != '\n') i++;
+                    continue;
+                case '\"':
+                case '\'':
+                    while (++i < this.end && this.buffer[i] != c) {
+                        if (this.buffer[i] == '\\' && i + 1 < this.end) i++;
+                        if (this.buffer[i] == '\n') {
+                            line++;
+                            lineStart = i + 1;
+                        }
+                    }
+                    break;
+                case '[':
+                case '{':
+                    depth++;
+                    break;
+                case ']':
+                case '}':
+                    depth--;
+                    break;
+                case ',':
+                    if (depth == 0) {
+                        if (size + 2 > starts.length) {
+                            starts = Arrays.copyOf(starts, starts.length << 1);
+                            lines = Arrays.copyOf(lines, lines.length << 1);
+                            columns = Arrays.copyOf(columns, columns.length << 1);
+                        }
+
+                        starts[size] = elementStart;
+                        lines[size] = elementLine;
+                        columns[size] = elementColumn;
+                        size++;
+
+                        elementStart = i + 1;
+                        elementLine = line;
+                        elementColumn = i + 1 - lineStart + 1;
+                        empty = true;
+                        continue;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            empty = false;
+        }
+
+        // @Note The last element is empty when the array is empty, or after the trailing comma.
+        if (!empty) {
+            if (size + 2 > starts.length) {
+                starts = Arrays.copyOf(starts, starts.length << 1);
+                lines = Arrays.copyOf(lines, lines.length << 1);
+                columns = Arrays.copyOf(columns, columns.length << 1);
+            }
+
+            starts[size] = elementStart;
+            lines[size] = elementLine;
+            columns[size] = elementColumn;
+            size++;
+        }
+
+        // @Note The position after the end is the start of the next element, then the end of each element is the position
+        // before the start of the next element.
+        starts[size] = this.end + 1;
+
+        elements = new Index(starts, lines, columns, size);
+        this.index = elements;
+        return elements;
+    }
+
+    private static final class Index {
+
+        final int[] starts;
+        final int[] lines;
+        final int[] columns;
+        final int size;
+
+        Index(final int[] starts, final int[] lines, final int[] columns, final int size) {
+            this.starts = starts;
+            this.lines = lines;
+            this.columns = columns;
+            this.size = size;
+        }
+    }
+
+    /**
+     * This represents the spliterator of the elements from the index until the fence. The fence is unknown (-1) until
+     * the first split, then the spliterator that isn't split reads the elements without the positions of the elements.
+     * @since 1.1
+     */
+    private final class ElementSpliterator implements Spliterator<Object> {
+
+        private int next;
+        private int fence;
+        private ConfigReader reader;
+
+        ElementSpliterator(final int next, final int fence) {
+            this.next = next;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Object> action) {
+            if (this.fence >= 0 && this.next >= this.fence) return false;
+
+            if (this.reader == null) {
+                if (this.fence < 0) {
+                    final Lexer lexer = new Lexer(LazyArray.this.buffer, LazyArray.this.start, LazyArray.this.end, LazyArray.this.line);
+                    this.reader = ConfigReader.ofValue(lexer, LazyArray.this.stringPool);
+                } else {
+                    this.reader = LazyArray.this.reader(LazyArray.this.index(), this.next, this.fence);
+                }
+            }
+
+            final ConfigReader.Event event = this.reader.next();
+            if (event == ConfigReader.Event.END_DOCUMENT) return false;
+
+            this.next++;
+            action.accept(Parser.parseValue(this.reader, event));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Object> trySplit() {
+            final Index elements = LazyArray.this.index();
+            if (this.fence < 0) this.fence = elements.size;
+
+            final int middle = (this.next + this.fence) >>> 1;
+            if (middle <= this.next) return null;
+
+            // @Note The reader of this spliterator is positioned at the next element, then it is created again from the
+            // position of the first element after the split.
+            final Spliterator<Object> prefix = new ElementSpliterator(this.next, middle);
+            this.next = middle;
+            this.reader = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            if (this.fence >= 0) return this.fence - this.next;
+
+            final Index elements = LazyArray.this.index;
+            return elements == null ? Long.MAX_VALUE : elements.size - this.next;
+        }
+
+        @Override
+        public int characteristics() {
+            final int characteristics = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+            return this.fence >= 0 ? characteristics | Spliterator.SIZED | Spliterator.SUBSIZED : characteristics;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package rlp.parser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This represents the read-only map of the values that are parsed only when them are requested at the first time. The
+ * map stores the positions of each value in the character buffer, that are found by a structural scan, and the parsed
+ * values are cached.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class LazyValueMap extends AbstractMap<String, ComplexObject> implements Slots {
+
+    private final EntryIndex entries;
+    private final EntryIndex.ValueParser valueParser;
+
+    /**
+     * This represents the values that are already parsed, by the index of the key.
+     * @since 1.1
+     */
+    private final AtomicReferenceArray<ComplexObject> values;
+
+    private LazyValueMap(final EntryIndex entries, final EntryIndex.ValueParser valueParser) {
+        this.entries = entries;
+        this.valueParser = valueParser;
+        this.values = new AtomicReferenceArray<>(entries.size());
+    }
+
+    /**
+     * This method scan the configuration from the buffer, that finds the keys and the positions from their values
+     * without parse the values.
+     * @param buffer the character buffer.
+     * @param length the amount of characters in the buffer.
+     * @param valueParser the function that parse the values.
+     * @return the map of the values.
+     * @throws ConfigException if the structure of the configuration is not valid.
+     * @since 1.1
+     */
+    static LazyValueMap scan(final char[] buffer, final int length, final EntryIndex.ValueParser valueParser) {
+        return scan(buffer, length, valueParser, null);
+    }
+
+    /**
+     * This method scan the configuration from the buffer, where the values of the included files are parsed by the
+     * scan.
+     * @param buffer the character buffer.
+     * @param length the amount of characters in the buffer.
+     * @param valueParser the function that parse the values.
+     * @param includes the include directives of the parse, or null if the includes are not supported.
+     * @return the map of the values.
+     * @throws ConfigException if the structure of the configuration is not valid.
+     * @since 1.1
+     */
+    static LazyValueMap scan(final char[] buffer, final int length, final EntryIndex.ValueParser valueParser,
+                             final Includes includes) {
+        return new LazyValueMap(EntryIndex.scan(buffer, length, includes), valueParser);
+    }
+
+    @Override
+    public ComplexObject get(final Object key) {
+        final int index = this.entries.indexOf(key);
+        return index < 0 ? null : this.valueAt(index);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.entries.indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    @Override
+    public int slotOf(final String key) {
+        return this.entries.indexOf(key);
+    }
+
+    /**
+     * This method returns the value from the index, that is parsed at the first time. If two threads request the value
+     * at the same time, both parse the value but only the first parsed value is kept, then the all threads see the
+     * same value.
+     * @param index the index of the key.
+     * @return the value.
+     * @since 1.1
+     */
+    @Override
+    public ComplexObject valueAt(final int index) {
+        final ComplexObject value = this.values.get(index);
+        if (value != null) return value;
+
+        final ComplexObject parsed = this.entries.parse(index, this.valueParser);
+        return this.values.compareAndSet(index, null, parsed) ? parsed : this.values.get(index);
+    }
+
+    /**
+     * This method returns the view of this map that parse the values by each read, without keep the parsed values. It
+     * is used to copy the values to other storage, where the parsed values are discarded after the copy.
+     * @return the map of the values that are not cached.
+     * @since 1.1
+     */
+    Map<String, ComplexObject> uncached() {
+        return new AbstractMap<String, ComplexObject>() {
+            @Override
+            public int size() {
+                return LazyValueMap.this.entries.size();
+            }
+
+            @Override
+            public Set<Entry<String, ComplexObject>> entrySet() {
+                return new AbstractSet<Entry<String, ComplexObject>>() {
+                    @Override
+                    public Iterator<Entry<String, ComplexObject>> iterator() {
+                        return new Iterator<Entry<String, ComplexObject>>() {
+                            private int index = 0;
+
+                            @Override
+                            public boolean hasNext() {
+                                return this.index < LazyValueMap.this.entries.size();
+                            }
+
+                            @Override
+                            public Entry<String, ComplexObject> next() {
+                                if (!this.hasNext()) throw new NoSuchElementException();
+
+                                final int index = this.index++;
+                                return new SimpleImmutableEntry<>(LazyValueMap.this.entries.key(index),
+                                        LazyValueMap.this.entries.parse(index, LazyValueMap.this.valueParser));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return LazyValueMap.this.entries.size();
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, ComplexObject>> entrySet() {
+        return new AbstractSet<Entry<String, ComplexObject>>() {
+            @Override
+            public Iterator<Entry<String, ComplexObject>> iterator() {
+                return new Iterator<Entry<String, ComplexObject>>() {
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < LazyValueMap.this.entries.size();
+                    }
+
+                    @Override
+                    public Entry<String, ComplexObject> next() {
+                        if (!this.hasNext()) throw new NoSuchElementException();
+
+                        return new LazyEntry(this.index++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LazyValueMap.this.entries.size();
+            }
+        };
+    }
+
+    /**
+     * This represents the entry of the map, that only parse the value when it is requested, then the iteration over the
+     * keys doesn't parse the values.
+     * @since 1.1
+     */
+    private final class LazyEntry implements Entry<String, ComplexObject> {
+
+        private final int index;
+
+        LazyEntry(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return LazyValueMap.this.entries.key(this.index);
+        }
+
+        @Override
+        public ComplexObject getValue() {
+            return LazyValueMap.this.valueAt(this.index);
+        }
+
+        @Override
+        public ComplexObject setValue(final ComplexObject value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Entry)) return false;
+
+            final Entry<?, ?> entry = (Entry<?, ?>) o;
+            return this.getKey().equals(entry.getKey()) && this.getValue().equals(entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.getKey().hashCode() ^ this.getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
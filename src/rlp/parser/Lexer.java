@@ -0,0 +1,673 @@
+package rlp.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * This represents the tokenizer of the configuration, that read the tokens from the character buffer in a single pass.
+ * The lexer doesn't create strings for the tokens, then the token is represented by the start and end positions in the
+ * buffer, and the parser decides if the text from the token must be created.
+ * <p>
+ * The lexer can read from a buffer that contains the all input, or from a {@link Reader} through a window that is
+ * refilled when the all characters from it are read, then only the current token must be in the buffer.
+ * <p>
+ * The lexer can also read the UTF-8 bytes without decode the all input. The comments, the strings and the literals are
+ * jumped by the bitmaps of the {@link StructuralIndex}, and only the bytes of the current token are copied into the
+ * buffer, where the multi-byte characters are decoded. The lines and the columns are only counted for the errors.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class Lexer {
+
+    /**
+     * This represents the types of the tokens that the lexer can read.
+     * @since 1.1
+     */
+    enum Token {
+        /** A bare literal, that is a key, a number or a boolean. (i. e. key, 10, 1.5d, true) */
+        LITERAL,
+        /** A string literal, that is delimited by the character ("). */
+        STRING,
+        /** A character literal, that is delimited by the character ('). */
+        CHARACTER,
+        EQUALS,
+        COMMA,
+        LEFT_BRACKET,
+        RIGHT_BRACKET,
+        LEFT_BRACE,
+        RIGHT_BRACE,
+        EOF
+    }
+
+    /**
+     * This represents the amount of bytes from a literal that are checked one by one, before the bitmap of the
+     * delimiters is used.
+     * @since 1.1
+     */
+    private static final int SCALAR_LITERAL_BYTES = 8;
+
+    private char[] buffer;
+    private int limit;
+
+    private int pos;
+
+    /**
+     * This represents the source that refills the buffer, or null if the buffer contains the all input.
+     * @since 1.1
+     */
+    private Reader source;
+
+    /**
+     * This represents the line of the current position, that starts from 1.
+     * @since 1.1
+     */
+    private int line = 1;
+
+    /**
+     * This represents the position of the first character from the current line.
+     * @since 1.1
+     */
+    private int lineStart;
+
+    private int tokenStart;
+    private int tokenEnd;
+    private int tokenLine;
+    private int tokenColumn;
+
+    /**
+     * This represents that the current string or character token contains a escape sequence (i. e. \n, \\u0041), then
+     * its text must be decoded.
+     * @since 1.1
+     */
+    private boolean tokenEscaped;
+
+    // ... Bytes ...
+
+    /**
+     * This represents the UTF-8 bytes that the lexer reads, or null if the lexer reads the characters. The buffer only
+     * contains the text of the current token, that is decoded from the bytes.
+     * @since 1.1
+     */
+    private byte[] bytes;
+    private StructuralIndex index;
+
+    /**
+     * This represents that the bytes must be ASCII, when the charset of the bytes is US-ASCII.
+     * @since 1.1
+     */
+    private boolean ascii;
+
+    private int bytePosition;
+    private int byteLimit;
+
+    /**
+     * This represents the position of the first byte from the current token.
+     * @since 1.1
+     */
+    private int tokenByte;
+
+    /**
+     * This represents the position until the lines are counted, the position of the first byte from the line and the
+     * column of this byte, that are only updated when the line of a token is requested.
+     * @since 1.1
+     */
+    private int countedByte;
+    private int lineByte;
+    private int lineColumn;
+
+    Lexer(final char[] buffer, final int offset, final int limit) {
+        this.buffer = buffer;
+        this.pos = offset;
+        this.lineStart = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * This creates the lexer that read a part of the buffer, that starts at the line. The line is used to report the
+     * errors with the same line and column from the all buffer.
+     * @since 1.1
+     */
+    Lexer(final char[] buffer, final int offset, final int limit, final int line) {
+        this(buffer, offset, limit);
+        this.line = line;
+
+        while (this.lineStart > 0 && !isNewLine(buffer[this.lineStart - 1])) {
+            this.lineStart--;
+        }
+    }
+
+    /**
+     * This creates the lexer that read a part of the buffer, that starts at the line and the column. The characters
+     * before the offset are not read, then the buffer can only contain the part.
+     * @since 1.1
+     */
+    Lexer(final char[] buffer, final int offset, final int limit, final int line, final int column) {
+        this(buffer, offset, limit);
+        this.line = line;
+        this.lineStart = offset - column + 1;
+    }
+
+    /**
+     * This creates the lexer that read the UTF-8 bytes from the offset until the limit, that starts at the line and the
+     * column. The bytes before the offset are not read, then the byte order mark must be before the offset.
+     * @param bytes the bytes.
+     * @param ascii true if the bytes must be ASCII, otherwise the bytes must be UTF-8.
+     * @since 1.1
+     */
+    Lexer(final byte[] bytes, final int offset, final int limit, final int line, final int column, final boolean ascii) {
+        this.buffer = new char[64];
+        this.bytes = bytes;
+        this.index = new StructuralIndex(bytes, limit);
+        this.ascii = ascii;
+        this.bytePosition = offset;
+        this.byteLimit = limit;
+        this.line = line;
+        this.countedByte = offset;
+        this.lineByte = offset;
+        this.lineColumn = column;
+    }
+
+    Lexer(final Reader source, final int bufferSize) {
+        this.buffer = new char[bufferSize];
+        this.source = source;
+
+        // @Note The byte order mark is not a part of the configuration, then it is jumped before the first token.
+        if (this.fill() && this.buffer[0] == '\uFEFF') this.pos++;
+    }
+
+    /**
+     * This method refill the buffer from the source. The characters from the start of the current token are moved to
+     * the start of the buffer, and the buffer only grows when the current token fills the all buffer.
+     * @return true if a character is read into the buffer, otherwise returns false.
+     * @since 1.1
+     */
+    private boolean fill() {
+        if (this.source == null) return false;
+
+        final int shift = this.tokenStart;
+        if (shift > 0) {
+            System.arraycopy(this.buffer, shift, this.buffer, 0, this.limit - shift);
+
+            this.limit -= shift;
+            this.pos -= shift;
+            this.lineStart -= shift;
+            this.tokenStart = 0;
+        }
+
+        if (this.limit == this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length << 1);
+        }
+
+        try {
+            int read;
+            do {
+                read = this.source.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            } while (read == 0);
+
+            if (read == Parser.EOF) {
+                this.close();
+                return false;
+            }
+
+            this.limit += read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("An error occured when read the source into the buffer.", e);
+        }
+    }
+
+    /**
+     * This method close the source, if the lexer reads from a source.
+     * @since 1.1
+     */
+    void close() {
+        if (this.source == null) return;
+
+        try {
+            this.source.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.source = null;
+        }
+    }
+
+    /**
+     * This method read the next token from the buffer.
+     * @return the type of the token that is read.
+     * @since 1.1
+     */
+    Token next() {
+        if (this.bytes != null) return this.nextFromBytes();
+
+        this.skipWhitespacesAndComments();
+
+        this.tokenStart = this.pos;
+        this.tokenLine = this.line;
+        this.tokenColumn = this.pos - this.lineStart + 1;
+
+        if (this.pos >= this.limit && !this.fill()) {
+            this.tokenEnd = this.pos;
+            return Token.EOF;
+        }
+
+        final char c = this.buffer[this.pos++];
+
+        switch (c) {
+            case '=': this.tokenEnd = this.pos; return Token.EQUALS;
+            case ',': this.tokenEnd = this.pos; return Token.COMMA;
+            case '[': this.tokenEnd = this.pos; return Token.LEFT_BRACKET;
+            case ']': this.tokenEnd = this.pos; return Token.RIGHT_BRACKET;
+            case '{': this.tokenEnd = this.pos; return Token.LEFT_BRACE;
+            case '}': this.tokenEnd = this.pos; return Token.RIGHT_BRACE;
+            case '\"':
+                this.skipQuoted('\"');
+                return Token.STRING;
+            case '\'':
+                this.skipQuoted('\'');
+                return Token.CHARACTER;
+            default:
+                // @Note The literal is every sequence of characters that are not whitespaces or structural characters.
+                while ((this.pos < this.limit || this.fill()) && !isDelimiter(this.buffer[this.pos])) {
+                    this.pos++;
+                }
+
+                this.tokenEnd = this.pos;
+                return Token.LITERAL;
+        }
+    }
+
+    /**
+     * This method jump the all characters until the closing quote, then the token end is the position after the closing
+     * quote. The character after the escape character (\\) is always jumped, then the escaped quote doesn't close the
+     * literal.
+     * @param quote the quote character that closes the literal.
+     * @since 1.1
+     */
+    private void skipQuoted(final char quote) {
+        this.tokenEscaped = false;
+
+        while (this.pos < this.limit || this.fill()) {
+            char c = this.buffer[this.pos++];
+
+            if (c == '\\') {
+                this.tokenEscaped = true;
+                if (this.pos == this.limit && !this.fill()) break;
+                c = this.buffer[this.pos++];
+            } else if (c == quote) {
+                this.tokenEnd = this.pos;
+                return;
+            }
+
+            if (isNewLine(c)) {
+                this.line++;
+                this.lineStart = this.pos;
+            }
+        }
+
+        throw this.error("Unterminated literal, expected the character (" + quote + ")");
+    }
+
+    /**
+     * This method jump the all whitespaces, new lines and comments before the next token. The comment starts with the
+     * comment token "#" and ends at the end of the line.
+     * @since 1.1
+     */
+    private void skipWhitespacesAndComments() {
+        // @Note The characters before the next token are not necessary, then the refill doesn't keep them.
+        this.tokenStart = this.pos;
+
+        while (this.pos < this.limit || this.fill()) {
+            this.tokenStart = this.pos;
+
+            final char c = this.buffer[this.pos];
+
+            if (isNewLine(c)) {
+                this.pos++;
+                this.line++;
+                this.lineStart = this.pos;
+            } else if (isWhitespace(c) || isCarriageReturn(c)) {
+                this.pos++;
+            } else if (c == '#') {
+                this.jumpLine();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method jump the all characters until the end of the line, but the new line is not jumped.
+     * @since 1.1
+     */
+    private void jumpLine() {
+        while ((this.pos < this.limit || this.fill()) && !isNewLine(this.buffer[this.pos])) {
+            this.pos++;
+            this.tokenStart = this.pos;
+        }
+    }
+
+    // ... Bytes ...
+
+    /**
+     * This method read the next token from the bytes. The end of a literal or a string is found by the bitmap of its
+     * delimiters, and only the bytes of the token are copied into the buffer.
+     * @return the type of the token that is read.
+     * @since 1.1
+     */
+    private Token nextFromBytes() {
+        final int start = this.skipBytes(this.bytePosition);
+        this.tokenByte = start;
+
+        if (start == this.byteLimit) {
+            this.bytePosition = start;
+            this.tokenStart = this.tokenEnd = 0;
+            return Token.EOF;
+        }
+
+        final Token token;
+        int end = start + 1;
+
+        switch (this.bytes[start]) {
+            case '=': token = Token.EQUALS; break;
+            case ',': token = Token.COMMA; break;
+            case '[': token = Token.LEFT_BRACKET; break;
+            case ']': token = Token.RIGHT_BRACKET; break;
+            case '{': token = Token.LEFT_BRACE; break;
+            case '}': token = Token.RIGHT_BRACE; break;
+            case '\"':
+                end = this.skipQuotedBytes(start + 1, '\"', StructuralIndex.BITMAP_QUOTE_ENDS);
+                token = Token.STRING;
+                break;
+            case '\'':
+                end = this.skipQuotedBytes(start + 1, '\'', StructuralIndex.BITMAP_APOSTROPHE_ENDS);
+                token = Token.CHARACTER;
+                break;
+            default:
+                end = this.skipLiteralBytes(end);
+                token = Token.LITERAL;
+                break;
+        }
+
+        this.bytePosition = end;
+        this.copyToken(start, end);
+        return token;
+    }
+
+    /**
+     * This method jump the whitespaces, the new lines and the comments from the position. The whitespaces between the
+     * tokens are usually a few bytes, then they are jumped one by one, and the comments are jumped by the bitmap of the
+     * new lines. The comments that contain multi-byte characters are decoded, then the invalid bytes are found even in
+     * the comments.
+     * @param position the position of the first byte.
+     * @return the position of the first byte from the next token, or the limit.
+     * @since 1.1
+     */
+    private int skipBytes(int position) {
+        final byte[] bytes = this.bytes;
+
+        while (position < this.byteLimit) {
+            final byte b = bytes[position];
+
+            if (b == ' ' || b == '\n' || b == '\t' || b == '\r') {
+                position++;
+            } else if (b == '#') {
+                final int end = this.index.next(position + 1, this.byteLimit, StructuralIndex.BITMAP_NEW_LINES);
+                if (this.index.next(position, end, StructuralIndex.BITMAP_HIGHS) < end) {
+                    this.tokenByte = position;
+                    this.copyToken(position, end);
+                }
+                position = end;
+            } else {
+                return position;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * This method jump the bytes until the end of the literal. The most literals are short, like the numbers and the
+     * keys, then the first bytes are checked one by one, and the bytes after them are jumped by the bitmap of the
+     * delimiters. The bitmap is a superset of the delimiters, then the byte at each position from it is checked.
+     * @param position the position after the first byte of the literal.
+     * @return the position after the last byte of the literal.
+     * @since 1.1
+     */
+    private int skipLiteralBytes(int position) {
+        final int scalarLimit = Math.min(position + SCALAR_LITERAL_BYTES, this.byteLimit);
+        for (; position < scalarLimit; position++) {
+            if (isDelimiter((char) this.bytes[position])) return position;
+        }
+
+        while ((position = this.index.next(position, this.byteLimit, StructuralIndex.BITMAP_DELIMITERS)) < this.byteLimit
+                && !isDelimiter((char) this.bytes[position])) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * This method jump the bytes until the closing quote, by the bitmap of the quotes and the escape characters (\\).
+     * The byte after the escape character is always jumped, then the escaped quote doesn't close the literal.
+     * @return the position after the closing quote.
+     * @since 1.1
+     */
+    private int skipQuotedBytes(int position, final char quote, final int bitmap) {
+        this.tokenEscaped = false;
+
+        while ((position = this.index.next(position, this.byteLimit, bitmap)) < this.byteLimit) {
+            if (this.bytes[position] == quote) return position + 1;
+
+            this.tokenEscaped = true;
+            position += 2;
+        }
+
+        throw this.error("Unterminated literal, expected the character (" + quote + ")");
+    }
+
+    /**
+     * This method copy the bytes of the token into the buffer. The ASCII bytes are widened, and the multi-byte
+     * characters are decoded, where each character has less bytes than its amount of chars.
+     * @since 1.1
+     */
+    private void copyToken(final int from, final int to) {
+        final int size = to - from;
+        if (this.buffer.length < size) this.buffer = new char[Math.max(size, this.buffer.length << 1)];
+
+        final char[] chars = this.buffer;
+        int i = 0;
+        for (; i < size; i++) {
+            final byte b = this.bytes[from + i];
+            if (b < 0) break;
+            chars[i] = (char) b;
+        }
+
+        this.tokenStart = 0;
+        this.tokenEnd = i == size ? size : this.decode(from + i, to, i);
+    }
+
+    /**
+     * This method decode the UTF-8 bytes into the buffer. The overlong sequences, the surrogates and the code points
+     * after U+10FFFF are not valid, like the decoder of the charset.
+     * @return the position after the last decoded char in the buffer.
+     * @throws ConfigException if the bytes are not valid.
+     * @since 1.1
+     */
+    private int decode(int position, final int end, int at) {
+        final char[] chars = this.buffer;
+
+        while (position < end) {
+            final int lead = this.bytes[position++] & 0xFF;
+
+            if (lead < 0x80) {
+                chars[at++] = (char) lead;
+            } else if (this.ascii) {
+                throw this.invalidBytes();
+            } else if (lead >= 0xC2 && lead <= 0xDF) {
+                chars[at++] = (char) ((lead & 0x1F) << 6 | this.continuation(position++, end, 0x80, 0xBF));
+            } else if (lead >= 0xE0 && lead <= 0xEF) {
+                final int second = this.continuation(position++, end, lead == 0xE0 ? 0xA0 : 0x80, lead == 0xED ? 0x9F : 0xBF);
+                chars[at++] = (char) ((lead & 0x0F) << 12 | second << 6 | this.continuation(position++, end, 0x80, 0xBF));
+            } else if (lead >= 0xF0 && lead <= 0xF4) {
+                final int second = this.continuation(position++, end, lead == 0xF0 ? 0x90 : 0x80, lead == 0xF4 ? 0x8F : 0xBF);
+                final int third = this.continuation(position++, end, 0x80, 0xBF);
+                final int codePoint = (lead & 0x07) << 18 | second << 12 | third << 6 | this.continuation(position++, end, 0x80, 0xBF);
+
+                chars[at++] = Character.highSurrogate(codePoint);
+                chars[at++] = Character.lowSurrogate(codePoint);
+            } else {
+                throw this.invalidBytes();
+            }
+        }
+        return at;
+    }
+
+    private int continuation(final int position, final int end, final int min, final int max) {
+        if (position >= end) throw this.invalidBytes();
+
+        final int b = this.bytes[position] & 0xFF;
+        if (b < min || b > max) throw this.invalidBytes();
+        return b & 0x3F;
+    }
+
+    private ConfigException invalidBytes() {
+        return this.error("The input is not valid " + (this.ascii ? "US-ASCII" : "UTF-8"));
+    }
+
+    /**
+     * This method counts the lines until the current token, and the column of the token in characters, where each byte
+     * is a character except the continuation bytes, and the 4-byte sequences are two characters.
+     * @since 1.1
+     */
+    private void locate() {
+        for (; this.countedByte < this.tokenByte; this.countedByte++) {
+            if (this.bytes[this.countedByte] == '\n') {
+                this.line++;
+                this.lineByte = this.countedByte + 1;
+                this.lineColumn = 1;
+            }
+        }
+
+        int column = this.lineColumn;
+        for (int i = this.lineByte; i < this.tokenByte; i++) {
+            final byte b = this.bytes[i];
+            if ((b & 0xC0) != 0x80) column++;
+            if ((b & 0xF8) == 0xF0) column++;
+        }
+
+        this.tokenLine = this.line;
+        this.tokenColumn = column;
+    }
+
+    // ... Token Information ...
+
+    char[] buffer() {
+        return this.buffer;
+    }
+
+    int tokenStart() {
+        return this.tokenStart;
+    }
+
+    int tokenEnd() {
+        return this.tokenEnd;
+    }
+
+    int tokenLine() {
+        if (this.bytes != null) this.locate();
+        return this.tokenLine;
+    }
+
+    int tokenLength() {
+        return this.tokenEnd - this.tokenStart;
+    }
+
+    boolean tokenEscaped() {
+        return this.tokenEscaped;
+    }
+
+    /**
+     * This method creates the string from the text of the current token.
+     * @return the text of the current token.
+     * @since 1.1
+     */
+    String text() {
+        return new String(this.buffer, this.tokenStart, this.tokenEnd - this.tokenStart);
+    }
+
+    /**
+     * This method check if the text of the current token is equals of the string, without creates the text of the token.
+     * @param string the string that will be compared.
+     * @return true if the text of the current token is equals of the string, otherwise returns false.
+     * @since 1.1
+     */
+    boolean textEquals(final String string) {
+        final int length = string.length();
+        if (this.tokenEnd - this.tokenStart != length) return false;
+
+        for (int i = 0; i < length; i++) {
+            if (this.buffer[this.tokenStart + i] != string.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method creates the exception about the current token, with the line and the column from the token.
+     * @param message the message that describes the problem.
+     * @return the exception.
+     * @since 1.1
+     */
+    ConfigException error(final String message) {
+        if (this.bytes != null) this.locate();
+        return new ConfigException(message, this.tokenLine, this.tokenColumn);
+    }
+
+    // ... Character Classes ...
+
+    /**
+     * This method check if the character ends a literal, that are the whitespaces and the structural characters.
+     * @param c the character that will be checked.
+     * @return true if the character ends a literal, otherwise returns false.
+     * @since 1.1
+     */
+    static boolean isDelimiter(final char c) {
+        switch (c) {
+            case ' ': case '\t': case '\r': case '\n':
+            case '=': case ',': case '[': case ']': case '{': case '}':
+            case '\"': case '\'': case '#':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * This method check if the character represents a whitespace character.
+     * @param c the character that will be checked.
+     * @return true if the character is a whitespace, otherwise returns false.
+     */
+    static boolean isWhitespace(final char c) {
+        return c == 32 || c == 9;
+    }
+
+    /**
+     * This method check if the character represents a carriage return.
+     * @param c the character that will be checked.
+     * @return true if the character is a carriage return, otehrwise returns false.
+     */
+    static boolean isCarriageReturn(final char c) {
+        return c == 13;
+    }
+
+    /**
+     * This method check if the character represents a new line.
+     * @param c the character that will be checked.
+     * @return true if the character is a new line, otherwise returns false.
+     */
+    static boolean isNewLine(final char c) {
+        return c == 10;
+    }
+}
@@ -0,0 +1,198 @@
+package rlp.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This represents a configuration whose values are stored out of the heap, in a direct buffer with the format of the
+ * {@link ConfigSnapshot}, that is a flat layout of the typed values with an index of the keys. The values are decoded by
+ * each read and are not kept, then the heap that is retained by the configuration doesn't depend of the amount of
+ * values, and the very large configurations don't increase the pauses of the garbage collector.
+ * <p>
+ * The memory of the values is released by {@link #close()}, without wait for the garbage collector, then the
+ * configuration must be closed when it is replaced. The reads that are in progress finish before the memory is released,
+ * and the reads after the close throw an {@link IllegalStateException}.
+ * <p>
+ * Example:
+ * <pre>
+ * try (final OffHeapConfig routes = OffHeapConfig.parse(new File("routes.cfg"))) {
+ *     final String target = routes.get("route.1234").stringValue();
+ * }
+ * </pre>
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class OffHeapConfig implements Config, Slots.Provider, Closeable {
+
+    // @Note This represents the state of the buffer, that is the amount of reads in progress and the flags of the close.
+    private static final int CLOSED = 1 << 30;
+    private static final int RELEASED = CLOSED | (1 << 29);
+
+    private final ByteBuffer buffer;
+    private final ConfigSnapshot values;
+    private final Slots slots;
+    private final AtomicInteger state = new AtomicInteger();
+
+    private OffHeapConfig(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.values = new ConfigSnapshot(buffer, false);
+        this.slots = this.guard(this.values.slots());
+    }
+
+    /**
+     * This method copies the values into the direct buffer.
+     * @param values the values.
+     * @return the configuration with the copied values.
+     * @since 1.1
+     */
+    public static OffHeapConfig of(final Map<String, ComplexObject> values) {
+        if (values == null) {
+            throw new NullPointerException("values must not be null");
+        }
+
+        return new OffHeapConfig(ConfigSnapshot.encode(values, true));
+    }
+
+    /**
+     * This method parse the file and copies the values into the direct buffer. The file is parsed lazily, then each
+     * value is parsed, copied and discarded, and the all values are never in the heap at the same time.
+     * @param file the file of the configuration.
+     * @return the configuration with the parsed values.
+     * @throws ConfigException if the file can't be parsed.
+     * @since 1.1
+     */
+    public static OffHeapConfig parse(final File file) {
+        if (file == null) {
+            throw new NullPointerException("file must not be null");
+        }
+
+        final Parser parser = new Parser(file);
+        parser.parse(ParseOptions.lazy());
+
+        final Map<String, ComplexObject> values = parser.getComplexObjectMap();
+        return of(values instanceof LazyValueMap ? ((LazyValueMap) values).uncached() : values);
+    }
+
+    /**
+     * This method get the value by the key, that is decoded from the direct buffer.
+     * @param key the key from the value.
+     * @return the ComplexObject that is referred by the key, or null if the key doesn't exist.
+     * @throws IllegalStateException if the configuration is closed.
+     * @since 1.1
+     */
+    @Override
+    public ComplexObject get(final String key) {
+        this.acquire();
+        try {
+            return this.values.get(key);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * This method returns the map that contains the all values, in the order of the configuration. The all values are
+     * decoded into the heap by this method.
+     * @return the map of the values.
+     * @throws IllegalStateException if the configuration is closed.
+     * @since 1.1
+     */
+    @Override
+    public Map<String, ComplexObject> getComplexObjectMap() {
+        this.acquire();
+        try {
+            return this.values.getComplexObjectMap();
+        } finally {
+            this.release();
+        }
+    }
+
+    public int size() {
+        return this.values.size();
+    }
+
+    /**
+     * This method returns the amount of bytes of the direct buffer.
+     * @return the amount of bytes that are out of the heap.
+     * @since 1.1
+     */
+    public long offHeapBytes() {
+        return this.buffer.capacity();
+    }
+
+    @Override
+    public Slots slots() {
+        return this.slots;
+    }
+
+    /**
+     * This method returns the slots that read the values with the check of the close.
+     * @param slots the slots of the values.
+     * @return the checked slots.
+     * @since 1.1
+     */
+    private Slots guard(final Slots slots) {
+        return new Slots() {
+            @Override
+            public int slotOf(final String key) {
+                OffHeapConfig.this.acquire();
+                try {
+                    return slots.slotOf(key);
+                } finally {
+                    OffHeapConfig.this.release();
+                }
+            }
+
+            @Override
+            public ComplexObject valueAt(final int slot) {
+                OffHeapConfig.this.acquire();
+                try {
+                    return slots.valueAt(slot);
+                } finally {
+                    OffHeapConfig.this.release();
+                }
+            }
+        };
+    }
+
+    /**
+     * This method releases the memory of the values. The memory is released when the reads that are in progress finish.
+     * @since 1.1
+     */
+    @Override
+    public void close() {
+        final int state = this.state.getAndUpdate(current -> current | CLOSED);
+        if ((state & CLOSED) != 0) return;
+
+        if (this.state.compareAndSet(CLOSED, RELEASED)) CharInput.release(this.buffer);
+    }
+
+    public boolean isClosed() {
+        return (this.state.get() & CLOSED) != 0;
+    }
+
+    private void acquire() {
+        while (true) {
+            final int state = this.state.get();
+            if ((state & CLOSED) != 0) {
+                throw new IllegalStateException("The configuration is closed.");
+            }
+
+            if (this.state.compareAndSet(state, state + 1)) return;
+        }
+    }
+
+    private void release() {
+        // @Note The last read after the close releases the memory.
+        if (this.state.decrementAndGet() == CLOSED && this.state.compareAndSet(CLOSED, RELEASED)) CharInput.release(this.buffer);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapConfig{size=" + this.size() + ", offHeapBytes=" + this.offHeapBytes() + ", closed=" + this.isClosed() + "}";
+    }
+}
@@ -0,0 +1,328 @@
+package rlp.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This represents the cache of the files that are included by the directive {@code include "path"}, then a file that
+ * is included by many configurations is read and parsed once. The parsed values are immutable, then them are shared by
+ * the configurations that include the file.
+ * <p>
+ * Each file is cached with its size, its last modified time and the hash of its content, that are also kept for the
+ * files that it includes. A cached file is current while the size and the last modified time of the all files are the
+ * same, and when the last modified time changes, the file is current if the hash of the content is the same, like the
+ * {@link ConfigSnapshot}. The file that is not current is parsed again.
+ * <p>
+ * The cache evicts the least recently used files when it has more than the maximum amount of files, or when the sum of
+ * the sizes of the files is greater than the maximum amount of bytes. When many threads include the same file at the
+ * same time, the file is parsed by the first thread and the other threads wait for the parse.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ParseCache {
+
+    private static final ParseCache SHARED = new ParseCache(256, 64L << 20);
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    /**
+     * This represents the cached files by the canonical path, in the order of the access.
+     * @since 1.1
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * This creates the cache with the limits of the cached files.
+     * @param maxEntries the maximum amount of files.
+     * @param maxBytes the maximum sum of the sizes of the files.
+     * @since 1.1
+     */
+    public ParseCache(final int maxEntries, final long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative");
+        }
+
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * This method returns the cache that is shared by the all parses of the process, that is used by default. The cache
+     * keeps at most 256 files and 64 MB of files.
+     * @return the shared cache.
+     * @since 1.1
+     */
+    public static ParseCache shared() {
+        return SHARED;
+    }
+
+    public long getHits() { return this.hits.get(); }
+
+    public long getMisses() { return this.misses.get(); }
+
+    public long getEvictions() { return this.evictions.get(); }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * This method returns the sum of the sizes of the cached files.
+     * @return the amount of bytes.
+     * @since 1.1
+     */
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * This method removes the all files from the cache. The counts of hits, misses and evictions are kept.
+     * @since 1.1
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.bytes = 0;
+    }
+
+    /**
+     * This method returns the parsed file from the cache, or parse the file by the loader when it is not cached or it is
+     * not current.
+     * @param file the canonical file.
+     * @param loader the loader that parse the file.
+     * @param nested true if the file is included by a file that is parsed for the cache.
+     * @return the parsed file.
+     * @throws ConfigException if the file can't be parsed.
+     * @since 1.1
+     */
+    Parsed get(final File file, final Loader loader, final boolean nested) {
+        final String path = file.getPath();
+
+        Entry entry;
+        boolean load;
+        while (true) {
+            synchronized (this) {
+                entry = this.entries.get(path);
+                load = entry == null;
+
+                if (load) {
+                    entry = new Entry(file, loader);
+                    this.entries.put(path, entry);
+                }
+            }
+
+            // @Note The files are checked out of the lock, and the file that is not current is removed only if it is
+            // not replaced by other thread.
+            if (load) break;
+
+            // @Note The nested include doesn't wait for the parse of other thread, because the files could include each
+            // other and the threads would wait for each other, then the file is parsed by this thread without the cache.
+            if (nested && !entry.task.isDone()) {
+                this.misses.incrementAndGet();
+                try {
+                    return loader.load(file);
+                } catch (IOException e) {
+                    throw new ConfigException("The file \"" + path + "\" can't be read", e);
+                }
+            }
+
+            if (entry.isCurrent()) break;
+
+            synchronized (this) {
+                if (this.entries.get(path) == entry) this.remove(path, entry);
+            }
+        }
+
+        if (load) {
+            this.misses.incrementAndGet();
+            entry.task.run();
+        } else {
+            this.hits.incrementAndGet();
+        }
+
+        try {
+            final Parsed parsed = entry.task.get();
+            if (load) this.loaded(path, entry);
+            return parsed;
+        } catch (ExecutionException e) {
+            // @Note The file that can't be parsed is not cached, then the next include parse it again.
+            synchronized (this) {
+                if (this.entries.get(path) == entry) this.entries.remove(path);
+            }
+
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new ConfigException("The file \"" + path + "\" can't be read", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigException("The parse of the file \"" + path + "\" is interrupted", e);
+        }
+    }
+
+    /**
+     * This method counts the size of the file that is parsed, and evicts the least recently used files.
+     * @since 1.1
+     */
+    private synchronized void loaded(final String path, final Entry entry) {
+        if (this.entries.get(path) != entry) return;
+
+        entry.counted = true;
+        this.bytes += entry.size();
+
+        final Iterator<Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator();
+        while ((this.entries.size() > this.maxEntries || this.bytes > this.maxBytes) && iterator.hasNext()) {
+            final Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getValue() == entry) continue;
+
+            if (eldest.getValue().counted) this.bytes -= eldest.getValue().size();
+            iterator.remove();
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(final String path, final Entry entry) {
+        this.entries.remove(path);
+        if (entry.counted) this.bytes -= entry.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ParseCache{size=" + this.size() + ", bytes=" + this.getBytes() + ", hits=" + this.getHits()
+                + ", misses=" + this.getMisses() + ", evictions=" + this.getEvictions() + "}";
+    }
+
+    /**
+     * This represents the function that parse a file for the cache.
+     * @since 1.1
+     */
+    interface Loader {
+        Parsed load(File file) throws IOException;
+    }
+
+    /**
+     * This represents the parsed values of a file, with the file and the files that are included by it.
+     * @since 1.1
+     */
+    static final class Parsed {
+
+        final Source source;
+        final Map<String, ComplexObject> values;
+        final List<Source> includes;
+
+        Parsed(final Source source, final Map<String, ComplexObject> values, final List<Source> includes) {
+            this.source = source;
+            this.values = values;
+            this.includes = includes;
+        }
+
+        /**
+         * This method computes the 64-bit hash of the parsed file, from the hashes of the content of the file and of
+         * the files that are included by it, then the hash changes when any of these files is modified.
+         * @return the hash of the parsed file.
+         * @since 1.1
+         */
+        long hash() {
+            long hash = this.source.hash;
+            for (final Source include : this.includes) {
+                hash = hash * 0x100000001B3L ^ include.hash;
+            }
+            return hash;
+        }
+
+        boolean isCurrent() {
+            if (!this.source.isCurrent()) return false;
+
+            for (final Source include : this.includes) {
+                if (!include.isCurrent()) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * This represents the size, the last modified time and the hash of the content from a file, that are read before
+     * the file is parsed, then a file that is modified while it is parsed is not current.
+     * @since 1.1
+     */
+    static final class Source {
+
+        final File file;
+        final long size;
+        final long modified;
+        final long hash;
+
+        Source(final File file) throws IOException {
+            this.file = file;
+            this.size = file.length();
+            this.modified = file.lastModified();
+            this.hash = ConfigSnapshot.hash(file);
+        }
+
+        boolean isCurrent() {
+            if (!this.file.isFile() || this.file.length() != this.size) return false;
+            if (this.file.lastModified() == this.modified) return true;
+
+            try {
+                return ConfigSnapshot.hash(this.file) == this.hash;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * This represents a cached file, that is parsed by the task of the first thread that includes it.
+     * @since 1.1
+     */
+    private static final class Entry {
+
+        final FutureTask<Parsed> task;
+
+        /**
+         * This represents that the size of the file is counted in the bytes of the cache, that is only done after the
+         * parse.
+         * @since 1.1
+         */
+        boolean counted;
+
+        Entry(final File file, final Loader loader) {
+            this.task = new FutureTask<>(() -> loader.load(file));
+        }
+
+        long size() {
+            try {
+                return this.task.get().source.size;
+            } catch (InterruptedException | ExecutionException e) {
+                return 0;
+            }
+        }
+
+        boolean isCurrent() {
+            // @Note The file that is being parsed is current, then the threads wait for the parse.
+            if (!this.task.isDone()) return true;
+
+            try {
+                return this.task.get().isCurrent();
+            } catch (InterruptedException | ExecutionException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package rlp.parser;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This represents the JFR event of a parse from the {@link Parser}, that is recorded when the event
+ * "rlp.parser.Parse" is enabled in the recording.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+@Name("rlp.parser.Parse")
+@Label("Configuration Parse")
+@Category({"rlp", "Parser"})
+@Description("The read and the parse of a configuration file")
+@StackTrace(false)
+final class ParseEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Lazy")
+    boolean lazy;
+
+    @Label("Parallel")
+    boolean parallel;
+
+    @Label("Bytes Read")
+    @DataAmount(DataAmount.BYTES)
+    long bytesRead;
+
+    @Label("Read Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long readTime;
+
+    @Label("Parse Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseTime;
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    @Label("Allocated")
+    @DataAmount(DataAmount.BYTES)
+    long allocated;
+}
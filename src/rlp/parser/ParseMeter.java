@@ -0,0 +1,235 @@
+package rlp.parser;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.EventType;
+
+/**
+ * This represents the measure of a parse, that reports the metrics to the {@link ParserListener} and records the
+ * {@link ParseEvent}. When the listener is {@link ParserListener#NONE} and the event is not enabled, the parse is not
+ * measured, then the meter doesn't read the clock and doesn't count the values.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class ParseMeter {
+
+    private static final ParseMeter DISABLED = new ParseMeter(ParserListener.NONE, null);
+
+    /**
+     * This represents the type of the {@link ParseEvent}, that tells if the event is enabled without create an event.
+     * @since 1.1
+     */
+    private static final EventType EVENT_TYPE = EventType.getEventType(ParseEvent.class);
+
+    private final ParserListener listener;
+    private final ParseEvent event;
+
+    private final long start;
+    private final long allocatedStart;
+
+    private long readEnd;
+    private long bytesRead;
+    private int charsRead;
+
+    private ParseMeter(final ParserListener listener, final ParseEvent event) {
+        this.listener = listener;
+        this.event = event;
+        this.start = event == null ? 0 : System.nanoTime();
+        this.allocatedStart = event == null ? 0 : Allocations.current();
+    }
+
+    /**
+     * This method starts the measure of a parse.
+     * @param listener the listener of the parse.
+     * @return the meter of the parse.
+     * @since 1.1
+     */
+    static ParseMeter start(final ParserListener listener) {
+        // @Note The disabled meter is shared, then the parse that is not measured doesn't allocate the event.
+        if (listener == ParserListener.NONE && !EVENT_TYPE.isEnabled()) return DISABLED;
+
+        final ParseEvent event = new ParseEvent();
+        event.begin();
+        return new ParseMeter(listener, event);
+    }
+
+    /**
+     * This method ends the read phase.
+     * @param bytesRead the amount of bytes that are read.
+     * @param charsRead the amount of characters that are decoded.
+     * @since 1.1
+     */
+    void read(final long bytesRead, final int charsRead) {
+        if (this.event == null) return;
+
+        this.readEnd = System.nanoTime();
+        this.bytesRead = bytesRead;
+        this.charsRead = charsRead;
+    }
+
+    /**
+     * This method sets the amount of characters that are decoded, when the bytes are decoded in the parse phase.
+     * @param charsRead the amount of characters that are decoded.
+     * @since 1.1
+     */
+    void decoded(final int charsRead) {
+        if (this.event == null) return;
+
+        this.charsRead = charsRead;
+    }
+
+    /**
+     * This method sets the amount of characters from the UTF-8 bytes, when the tokens are read from the bytes without
+     * decode them. The characters are only counted when the parse is measured.
+     * @param bytes the UTF-8 bytes, from the position until the limit.
+     * @since 1.1
+     */
+    void decoded(final ByteBuffer bytes) {
+        if (this.event == null) return;
+
+        this.charsRead = StructuralScanner.countChars(bytes, bytes.position(), bytes.limit());
+    }
+
+    /**
+     * This method ends the parse phase, and reports the metrics from the parsed values.
+     * @param file the file that is parsed.
+     * @param values the parsed values.
+     * @param options the options of the parse.
+     * @since 1.1
+     */
+    void parsed(final File file, final Map<String, ComplexObject> values, final ParseOptions options) {
+        if (this.event == null) return;
+
+        final long end = System.nanoTime();
+        final long allocated = this.allocatedStart < 0 ? -1 : Allocations.current() - this.allocatedStart;
+
+        // @Note The values from the lazy parse are not parsed yet, then them are not counted.
+        final int[] counts = new int[ComplexObject.Type.values().length];
+        int maxDepth = 0;
+        long retained = -1;
+        if (!options.isLazy()) {
+            retained = 0;
+            for (final Map.Entry<String, ComplexObject> entry : values.entrySet()) {
+                final ComplexObject value = entry.getValue();
+                maxDepth = Math.max(maxDepth, count(value.type(), value.value(), counts, 0));
+                retained += CompactCollections.footprint(entry.getKey()) + CompactCollections.footprint(value);
+            }
+        }
+
+        final ParseMetrics metrics = new ParseMetrics(file, options.isLazy(), options.isParallel(), this.bytesRead,
+                this.charsRead, this.readEnd - this.start, end - this.readEnd, values.size(), counts, maxDepth, allocated,
+                retained);
+        this.listener.onParse(metrics);
+
+        this.event.end();
+        if (this.event.shouldCommit()) {
+            this.event.file = file.getPath();
+            this.event.lazy = metrics.isLazy();
+            this.event.parallel = metrics.isParallel();
+            this.event.bytesRead = metrics.getBytesRead();
+            this.event.readTime = metrics.getReadNanos();
+            this.event.parseTime = metrics.getParseNanos();
+            this.event.entries = metrics.getEntries();
+            this.event.maxDepth = metrics.getMaxDepth();
+            this.event.allocated = metrics.getAllocatedBytes();
+            this.event.commit();
+        }
+    }
+
+    /**
+     * This method reports the error from the parse.
+     * @param file the file that is parsed.
+     * @param error the error from the parse.
+     * @since 1.1
+     */
+    void failed(final File file, final RuntimeException error) {
+        if (this.event == null) return;
+
+        this.listener.onError(file, error);
+    }
+
+    /**
+     * This method counts the value and its nested values by type.
+     * @param type the type of the value.
+     * @param value the value, that is a plain object from the parsed arrays and maps.
+     * @param counts the counts by type.
+     * @param depth the depth of the value.
+     * @return the maximum depth from the value.
+     * @since 1.1
+     */
+    private static int count(final ComplexObject.Type type, final Object value, final int[] counts, final int depth) {
+        counts[type.ordinal()]++;
+
+        int maxDepth = depth;
+        if (type == ComplexObject.Type.LIST) {
+            maxDepth = depth + 1;
+
+            // @Note The primitive lists are counted without boxing the elements.
+            final List<?> list = (List<?>) value;
+            if (list instanceof PrimitiveLists.IntList) {
+                counts[ComplexObject.Type.INT.ordinal()] += list.size();
+            } else if (list instanceof PrimitiveLists.LongList) {
+                counts[ComplexObject.Type.LONG.ordinal()] += list.size();
+            } else if (list instanceof PrimitiveLists.DoubleList) {
+                counts[ComplexObject.Type.DOUBLE.ordinal()] += list.size();
+            } else {
+                for (final Object element : list) {
+                    maxDepth = Math.max(maxDepth, count(typeOf(element), element, counts, depth + 1));
+                }
+            }
+        } else if (type == ComplexObject.Type.MAP) {
+            maxDepth = depth + 1;
+
+            for (final Object element : ((Map<?, ?>) value).values()) {
+                maxDepth = Math.max(maxDepth, count(typeOf(element), element, counts, depth + 1));
+            }
+        }
+        return maxDepth;
+    }
+
+    private static ComplexObject.Type typeOf(final Object value) {
+        if (value == null) return ComplexObject.Type.NULL;
+        if (value instanceof Integer) return ComplexObject.Type.INT;
+        if (value instanceof Long) return ComplexObject.Type.LONG;
+        if (value instanceof Double) return ComplexObject.Type.DOUBLE;
+        if (value instanceof String) return ComplexObject.Type.STRING;
+        if (value instanceof Boolean) return ComplexObject.Type.BOOLEAN;
+        if (value instanceof List) return ComplexObject.Type.LIST;
+        if (value instanceof Map) return ComplexObject.Type.MAP;
+        if (value instanceof Float) return ComplexObject.Type.FLOAT;
+        if (value instanceof Short) return ComplexObject.Type.SHORT;
+        if (value instanceof Byte) return ComplexObject.Type.BYTE;
+        return ComplexObject.Type.CHARACTER;
+    }
+
+    /**
+     * This represents the measure of the allocated bytes, that is only initialized when a parse is measured.
+     * @since 1.1
+     */
+    private static final class Allocations {
+
+        private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+        /**
+         * This method returns the bytes that are allocated by the current thread.
+         * @return the allocated bytes, or -1 if the JVM doesn't measure the allocated bytes.
+         * @since 1.1
+         */
+        static long current() {
+            return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+        }
+
+        private static com.sun.management.ThreadMXBean threads() {
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+
+            final com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+            return sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled() ? sunThreads : null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package rlp.parser;
+
+import java.io.File;
+
+/**
+ * This represents the metrics from a parse of the {@link Parser}.
+ * <p>
+ * The values are counted by type, that includes the elements from the arrays and the values from the maps, and the
+ * depth is the nesting of the arrays and maps, that is 0 when the configuration only has scalar values. The values
+ * from a lazy parse are not parsed, then only the entries are counted.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ParseMetrics {
+
+    private final File file;
+    private final boolean lazy;
+    private final boolean parallel;
+
+    private final long bytesRead;
+    private final int charsRead;
+
+    // @Note This represents the latency of each phase, in nanoseconds.
+    private final long readNanos;
+    private final long parseNanos;
+
+    private final int entries;
+    private final int[] counts;
+    private final int maxDepth;
+
+    private final long allocatedBytes;
+    private final long retainedBytes;
+
+    ParseMetrics(final File file, final boolean lazy, final boolean parallel, final long bytesRead, final int charsRead,
+                 final long readNanos, final long parseNanos, final int entries, final int[] counts, final int maxDepth,
+                 final long allocatedBytes, final long retainedBytes) {
+        this.file = file;
+        this.lazy = lazy;
+        this.parallel = parallel;
+        this.bytesRead = bytesRead;
+        this.charsRead = charsRead;
+        this.readNanos = readNanos;
+        this.parseNanos = parseNanos;
+        this.entries = entries;
+        this.counts = counts;
+        this.maxDepth = maxDepth;
+        this.allocatedBytes = allocatedBytes;
+        this.retainedBytes = retainedBytes;
+    }
+
+    public File getFile() { return this.file; }
+
+    public boolean isLazy() { return this.lazy; }
+
+    public boolean isParallel() { return this.parallel; }
+
+    public long getBytesRead() { return this.bytesRead; }
+
+    public int getCharsRead() { return this.charsRead; }
+
+    /**
+     * This method returns the time that the file is read and decoded into the character buffer.
+     * @return the time of the read, in nanoseconds.
+     * @since 1.1
+     */
+    public long getReadNanos() { return this.readNanos; }
+
+    /**
+     * This method returns the time that the character buffer is parsed, or scanned by a lazy parse.
+     * @return the time of the parse, in nanoseconds.
+     * @since 1.1
+     */
+    public long getParseNanos() { return this.parseNanos; }
+
+    public long getTotalNanos() { return this.readNanos + this.parseNanos; }
+
+    /**
+     * This method returns the amount of key-values from the configuration.
+     * @return the amount of entries.
+     * @since 1.1
+     */
+    public int getEntries() { return this.entries; }
+
+    /**
+     * This method returns the amount of values from the type.
+     * @param type the type of the values.
+     * @return the amount of values from the type.
+     * @since 1.1
+     */
+    public int getCount(final ComplexObject.Type type) { return this.counts[type.ordinal()]; }
+
+    public int getMaxDepth() { return this.maxDepth; }
+
+    /**
+     * This method returns the bytes that are allocated by the thread that calls the parse. The bytes that are allocated
+     * by the pool of a parallel parse are not included.
+     * @return the allocated bytes, or -1 if the JVM doesn't measure the allocated bytes.
+     * @since 1.1
+     */
+    public long getAllocatedBytes() { return this.allocatedBytes; }
+
+    /**
+     * This method returns the estimated bytes that are retained by the parsed values, that includes the keys and the
+     * nested values. The estimation uses the sizes of the objects with the compressed references, and the strings that
+     * are shared between the values are counted in each value.
+     * @return the retained bytes, or -1 if the parse is lazy.
+     * @since 1.1
+     */
+    public long getRetainedBytes() { return this.retainedBytes; }
+
+    /**
+     * This method returns the estimated bytes that are retained by each key-value, in average.
+     * @return the retained bytes by entry, or -1 if the parse is lazy.
+     * @since 1.1
+     */
+    public double getRetainedBytesPerEntry() {
+        if (this.retainedBytes < 0) return -1;
+        return this.entries == 0 ? 0 : (double) this.retainedBytes / this.entries;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("ParseMetrics{file=").append(this.file)
+                .append(", lazy=").append(this.lazy)
+                .append(", parallel=").append(this.parallel)
+                .append(", bytesRead=").append(this.bytesRead)
+                .append(", charsRead=").append(this.charsRead)
+                .append(", readNanos=").append(this.readNanos)
+                .append(", parseNanos=").append(this.parseNanos)
+                .append(", entries=").append(this.entries)
+                .append(", maxDepth=").append(this.maxDepth)
+                .append(", allocatedBytes=").append(this.allocatedBytes)
+                .append(", retainedBytes=").append(this.retainedBytes)
+                .append(", counts={");
+
+        boolean first = true;
+        for (final ComplexObject.Type type : ComplexObject.Type.values()) {
+            if (this.counts[type.ordinal()] == 0) continue;
+
+            if (!first) builder.append(", ");
+            builder.append(type).append('=').append(this.counts[type.ordinal()]);
+            first = false;
+        }
+        return builder.append("}}").toString();
+    }
+}
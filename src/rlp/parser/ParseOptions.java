@@ -0,0 +1,178 @@
+package rlp.parser;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This represents the options of the parse from a configuration by the {@link Parser}.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ParseOptions {
+
+    /**
+     * This represents the minimum size, in characters, from each chunk that is parsed by a parallel parse.
+     * @since 1.1
+     */
+    public static final int MIN_CHUNK_SIZE = 256 * 1024;
+
+    private static final ParseOptions DEFAULTS = new ParseOptions(false, null, false, null, ParserListener.NONE, ParseCache.shared());
+    private static final ParseOptions LAZY = new ParseOptions(true, null, false, null, ParserListener.NONE, ParseCache.shared());
+
+    private final boolean lazy;
+    private final ForkJoinPool pool;
+
+    /**
+     * This represents that the strings are deduplicated, by the shared pool or by a pool for each parse.
+     * @since 1.1
+     */
+    private final boolean deduplicate;
+    private final StringPool stringPool;
+
+    private final ParserListener listener;
+
+    /**
+     * This represents the cache of the files that are included by the directive {@code include "path"}.
+     * @since 1.1
+     */
+    private final ParseCache includeCache;
+
+    private ParseOptions(final boolean lazy, final ForkJoinPool pool, final boolean deduplicate, final StringPool stringPool,
+                         final ParserListener listener, final ParseCache includeCache) {
+        this.lazy = lazy;
+        this.pool = pool;
+        this.deduplicate = deduplicate;
+        this.stringPool = stringPool;
+        this.listener = listener;
+        this.includeCache = includeCache;
+    }
+
+    /**
+     * This method returns the default options, that parse the all values when the configuration is parsed.
+     * @return the default options.
+     * @since 1.1
+     */
+    public static ParseOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * This method returns the options that parse each value only when it is requested at the first time. The parse of
+     * the configuration only finds the keys and the positions from their values, then the values that are never
+     * requested are never parsed.
+     * <p>
+     * The errors from a value are only found when the value is parsed, that means that a {@link ConfigException} can
+     * be thrown by {@link Parser#get(String)}.
+     * @return the lazy options.
+     * @since 1.1
+     */
+    public static ParseOptions lazy() {
+        return LAZY;
+    }
+
+    /**
+     * This method returns the options that parse the configuration in parallel by the pool. The configuration is split
+     * into chunks of key-values, after the comma tokens "," that are outside of the strings, the arrays and the maps,
+     * and the chunks are parsed by the pool. The order of the keys is the same of the sequential parse.
+     * <p>
+     * The configurations that are smaller than two chunks are parsed sequentially.
+     * @param pool the pool that parse the chunks.
+     * @return the parallel options.
+     * @since 1.1
+     */
+    public static ParseOptions parallel(final ForkJoinPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("pool must not be null");
+        }
+
+        return new ParseOptions(false, pool, false, null, ParserListener.NONE, ParseCache.shared());
+    }
+
+    /**
+     * This method returns the options that deduplicate the keys and the strings, through a new {@link StringPool} for
+     * each parse. The pool is discarded after the parse, except for the lazy parse, that keeps the pool until the all
+     * values are parsed.
+     * @return the options that deduplicate the strings.
+     * @since 1.1
+     */
+    public ParseOptions withStringDeduplication() {
+        return new ParseOptions(this.lazy, this.pool, true, null, this.listener, this.includeCache);
+    }
+
+    /**
+     * This method returns the options that deduplicate the keys and the strings through the pool, that can be shared by
+     * many parses, then the same strings from different configurations share the same instance.
+     * @param stringPool the pool of the strings.
+     * @return the options that deduplicate the strings.
+     * @since 1.1
+     */
+    public ParseOptions withStringPool(final StringPool stringPool) {
+        if (stringPool == null) {
+            throw new NullPointerException("stringPool must not be null");
+        }
+
+        return new ParseOptions(this.lazy, this.pool, true, stringPool, this.listener, this.includeCache);
+    }
+
+    /**
+     * This method returns the options that report the metrics from each parse to the listener.
+     * @param listener the listener of the parses.
+     * @return the options with the listener.
+     * @since 1.1
+     */
+    public ParseOptions withListener(final ParserListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("listener must not be null");
+        }
+
+        return new ParseOptions(this.lazy, this.pool, this.deduplicate, this.stringPool, listener, this.includeCache);
+    }
+
+    /**
+     * This method returns the options that parse the included files through the cache, instead of the
+     * {@link ParseCache#shared() shared cache} of the process.
+     * @param includeCache the cache of the included files.
+     * @return the options with the cache.
+     * @since 1.1
+     */
+    public ParseOptions withIncludeCache(final ParseCache includeCache) {
+        if (includeCache == null) {
+            throw new NullPointerException("includeCache must not be null");
+        }
+
+        return new ParseOptions(this.lazy, this.pool, this.deduplicate, this.stringPool, this.listener, includeCache);
+    }
+
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    public boolean isParallel() {
+        return this.pool != null;
+    }
+
+    public ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    public boolean isDeduplicating() {
+        return this.deduplicate;
+    }
+
+    /**
+     * This method returns the shared pool of the strings.
+     * @return the shared pool of the strings, or null if the pool is created by each parse.
+     * @since 1.1
+     */
+    public StringPool getStringPool() {
+        return this.stringPool;
+    }
+
+    public ParserListener getListener() {
+        return this.listener;
+    }
+
+    public ParseCache getIncludeCache() {
+        return this.includeCache;
+    }
+}
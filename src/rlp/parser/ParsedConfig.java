@@ -0,0 +1,50 @@
+package rlp.parser;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * This represents the immutable configuration that is parsed by the {@link ConfigParser}.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class ParsedConfig implements Config, Slots.Provider {
+
+    private final Map<String, ComplexObject> values;
+
+    /**
+     * This represents the slots of the values, that are built at the first time that a {@link ConfigKey} reads a value.
+     * @since 1.1
+     */
+    private volatile Slots slots;
+
+    ParsedConfig(final Map<String, ComplexObject> values) {
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    public ComplexObject get(final String key) {
+        return this.values.get(key);
+    }
+
+    @Override
+    public Map<String, ComplexObject> getComplexObjectMap() {
+        return this.values;
+    }
+
+    @Override
+    public Slots slots() {
+        Slots slots = this.slots;
+        if (slots == null) {
+            slots = Slots.of(this.values);
+            this.slots = slots;
+        }
+        return slots;
+    }
+
+    @Override
+    public String toString() {
+        return this.values.toString();
+    }
+}
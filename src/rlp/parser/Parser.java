@@ -1,31 +1,45 @@
 package rlp.parser;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * @author rlp
  * @since 1.0
  */
-public class Parser {
+public class Parser implements Config, Slots.Provider {
 
     /**
-     * This represents the integer value that indicates the end of file, when a file is reading by a FileReader, and then
-     * this integer value is check if the all characters already be read.
+     * This represents the integer value that indicates the end of file, when a file is reading by a channel, and then
+     * this integer value is check if the all bytes already be read.
      * @since 1.0
      */
     public static final int EOF = -1;
 
     /**
-     * This represents the character buffer that store the all characters that are read from the file.
-     * @since 1.0
+     * This represents the character buffer that store the all characters that are read from the file. The buffer can be
+     * greater than the content, then the amount of characters that are read is given by {@link #length}.
+     * @since 1.1
+     */
+    private char[] buffer = new char[0];
+
+    /**
+     * This represents the amount of characters that are stored in the character buffer.
+     * @since 1.1
      */
-    private final List<Character> characterBuffer = new LinkedList<>();
+    private int length = 0;
 
     /**
      * This represents the file that will be read.
@@ -33,466 +47,527 @@ public class Parser {
      */
     private final File file;
 
-    private int pos = 0;
-    private int linePos = 0;
-    private int skipArrays = 0;
+    /**
+     * This represents the charset that is used to decode the bytes from the file.
+     * @since 1.1
+     */
+    private final Charset charset;
 
     /**
      * This represents the map that store the all complexes objects that is read by the parser and registered.
      * @since 1.0
      */
-    private final Map<String, ComplexObject> complexObjectMap = new LinkedHashMap<>();
+    private Map<String, ComplexObject> complexObjectMap = new LinkedHashMap<>();
+
+    /**
+     * This represents the slots of the values, that are built at the first time that a {@link ConfigKey} reads a value,
+     * and are discarded by the next parse.
+     * @since 1.1
+     */
+    private volatile Slots slots;
+
+    /**
+     * This represents the pool that deduplicates the keys and the strings from the current parse, or null if the strings
+     * are not deduplicated.
+     * @since 1.1
+     */
+    private StringPool stringPool;
+
+    /**
+     * This represents the include directives of the current parse.
+     * @since 1.1
+     */
+    private Includes includes;
+
+    /**
+     * This represents the canonical paths of the files that include this file, followed by this file, or null if this
+     * file is not included by other file.
+     * @since 1.1
+     */
+    private List<String> includeChain;
 
     public Parser(final File file) {
+        this(file, StandardCharsets.UTF_8);
+    }
+
+    public Parser(final File file, final Charset charset) {
         if (file == null) {
             throw new NullPointerException("file must not be null");
         }
+        if (charset == null) {
+            throw new NullPointerException("charset must not be null");
+        }
 
         this.file = file;
+        this.charset = charset;
     }
 
     /**
-     * This method parse the file configuration.
+     * This method parse the file configuration. The values are built from the events of a {@link ConfigReader}, that
+     * reads the character buffer.
      * @since 1.0
      */
     public void parse() {
-        this.readToBuffer();
-
-        final StringBuilder key = new StringBuilder();
-        final StringBuilder value = new StringBuilder();
-
-        boolean valueParse = false;
-        boolean inString = false;
-        boolean inArray = false;
-        boolean inMap = false;
-
-        // @Note This represents the while-loop condition, that do the all parse values from configuration.
-        while (this.pos < this.characterBuffer.size()) {
-            final char c = this.next();
-
-            // @Note Check if the position from the character in the line is 0, and check if the character is equals of
-            // comment token "#", then jump the line.
-            if ((this.linePos == 0 && c == '#') && !inString) {
-                this.jumpLine();
-                continue;
-            }
-
-            // @Note Check if the current character represents a "String Token", that represents by the character ("),
-            // then change the boolean value about the inner string.
-            if (c == '\"') inString = !inString;
-
-            // @Note If the current character represents a whitespace, and is not in a string, then continue this
-            // character to this character not read.
-            if (this.isWhitespace(c) && !inString) continue;
-
-            // @Note If the current character represents a carriage return, and the next character represents the
-            // new line, then return it, and jump the next character that represents the new line.
-            if (this.isCarriageReturn(c) && this.isNewLine(this.peek(0))) {
-                this.jump(1);
-                this.linePos = 0;
-                continue;
-            }
-
-            // @Note Check if the current token represents a right bracket "[", that represents that the parser join in
-            // an array, and the other check if the current token represents a left bracket "]", that represents that the parser
-            // come out from array.
-            if (c == '[') {
-                inArray = true;
-                this.skipArrays++;
-            }
-            else if (c == ']') {
-                if (this.skipArrays == 1) inArray = false;
-                this.skipArrays--;
-            }
-
-            // @Note Check if the current token represents a right brace "{", that represents that the parser join in
-            // a map, and the other check if the current token represents a left brace "}", that represents that the parser
-            // come out from map.
-            if (c == '{') inMap = true;
-            if (c == '}') inMap = false;
+        this.parse(ParseOptions.defaults());
+    }
 
-            // @Note This represents that the key parse is end, and now starts the value parse from this key-value.
-            if (c == '=' && !inMap) {
-                valueParse = true;
-                continue;
+    /**
+     * This method parse the file configuration with the options.
+     * @param options the options of the parse.
+     * @since 1.1
+     */
+    public void parse(final ParseOptions options) {
+        final ParseMeter meter = ParseMeter.start(options.getListener());
+
+        this.slots = null;
+        this.includes = new Includes(this.file, this.charset, options.getIncludeCache(), this.includeChain);
+        this.stringPool = !options.isDeduplicating() ? null
+                : options.getStringPool() != null ? options.getStringPool() : new StringPool();
+
+        try {
+            // @Note The parse of UTF-8 reads the tokens from the bytes, then the bytes are never decoded into the
+            // character buffer. The lazy parse keeps the character buffer, because the values are parsed from it later.
+            final ByteBuffer bytes = options.isLazy() ? null : this.readUtf8();
+            if (bytes != null) {
+                meter.read(bytes.limit(), 0);
+            } else {
+                final long bytesRead = this.readToBuffer();
+                meter.read(bytesRead, this.length);
             }
 
-            // @Note This represents the comma token (,), that represents that a new key-value will be parsed.
-            if ((c == ',' || this.pos == this.characterBuffer.size()) && !inString && !inArray && !inMap) {
-                // @Note This represents the parsed value from the key-value storage.
-                final Object parsedValue = this.parseValue(value.toString());
-
-                // @Note Put the key-value into the map.
-                this.complexObjectMap.put(key.toString(), new ComplexObject(parsedValue));
-
-                // @Note Reset the options.
-                valueParse = false;
-
-                key.delete(0, key.length());
-                value.delete(0, value.length());
-
-                // continue;
+            if (options.isLazy()) {
+                // @Note The lazy map keeps the character buffer, because the values are parsed from it when them are
+                // requested.
+                this.complexObjectMap = LazyValueMap.scan(this.buffer, this.length, this::parseLazyRange, this.includes);
+            } else {
+                // @Note Each parse starts from a new map, then the keys from the previous parse are not kept.
+                this.complexObjectMap = new LinkedHashMap<>();
+
+                if (bytes != null) {
+                    // @Note The amount of characters is never greater than the amount of bytes, then the small files
+                    // are parsed sequentially, like the character buffer.
+                    if (options.isParallel() && bytes.remaining() >= 2 * ParseOptions.MIN_CHUNK_SIZE) {
+                        this.parseParallel(bytes, options.getPool());
+                    } else {
+                        this.parseBytes(bytes);
+                    }
+                    meter.decoded(bytes);
+                } else if (options.isParallel() && this.length >= 2 * ParseOptions.MIN_CHUNK_SIZE) {
+                    this.parseParallel(options.getPool());
+                } else {
+                    this.parseAll();
+                }
             }
-
-            // @Note The append of the character must be before of check about the comma token ",", that represents
-            // that a new key-value will be storage.
-            if (!valueParse) key.append(c);
-            else value.append(c);
+        } catch (RuntimeException e) {
+            meter.failed(this.file, e);
+            throw e;
+        } finally {
+            this.buffer = new char[0];
+            this.length = 0;
+
+            // @Note The lazy map keeps the pool, because the strings are parsed when the values are requested.
+            if (!options.isLazy()) this.stringPool = null;
         }
-    }
 
-    // ... Internal Methods ...
-
-    private Object parseValue(final String value) {
-        // @Note If the string value starts with "[" and ends with "]", this represents an array.
-        if (value.startsWith("[") && value.endsWith("]")) {
-            return this.parseArray(value.substring(1, value.length() - 1));
-        }
+        meter.parsed(this.file, this.complexObjectMap, options);
+    }
 
-        // @Note If the string valu starts with "{" and ends with "}", this represents a map.
-        if (value.startsWith("{") && value.endsWith("}")) {
-            return this.parseMap(value.substring(1, value.length() - 1));
+    /**
+     * This method parse the key-values from the chunks of the character buffer in parallel, and then put the key-values
+     * into the map in the order of the chunks.
+     * @param pool the pool that parse the chunks.
+     * @since 1.1
+     */
+    private void parseParallel(final ForkJoinPool pool) {
+        final int chunkSize = Math.max(ParseOptions.MIN_CHUNK_SIZE, this.length / (pool.getParallelism() * 4));
+        final ChunkSplitter chunks = ChunkSplitter.split(this.buffer, this.length, chunkSize);
+
+        final List<ForkJoinTask<Map<String, ComplexObject>>> tasks = new ArrayList<>(chunks.count);
+        for (int i = 0; i < chunks.count; i++) {
+            final Lexer lexer = new Lexer(this.buffer, chunks.starts[i], chunks.starts[i + 1], chunks.lines[i]);
+            tasks.add(pool.submit(() -> parseEntries(new ConfigReader(lexer, this.stringPool), new LinkedHashMap<>(), this.includes)));
         }
 
-        // @Note Check if the value represents a string, then parse this value as string.
-        if (value.startsWith("\"")) { // isString.
-            // @Note Is not necessary parse the string, then return the value.
-            //      -rlp, 24 December 2018
-            return value;
+        // @Note The chunks are joined in the order of the configuration, then the order of the keys is the same of the
+        // sequential parse.
+        for (final ForkJoinTask<Map<String, ComplexObject>> task : tasks) {
+            this.complexObjectMap.putAll(task.join());
         }
+    }
 
-        // @Note Check if the value represents a character, then parse this value as character.
-        if (value.startsWith("\'")) { // isCharacter.
-            // @Note This value represents a character, then the representation for any character is by format "'?'",
-            // then get the character that is positioned on the middle from this value, that represents the character
-            // that has index 1.
-
-            // @Incomplete: Has a problem that the characters can be wrote with "\/u????", etc. Then must be allow it
-            // to be parsed.
-            return value.charAt(1);
+    /**
+     * This method parse the key-values from the chunks of the UTF-8 bytes in parallel. The bytes are split by the
+     * {@link StructuralScanner}, and the tokens of each chunk are read from the bytes by the task that parses it.
+     * @param bytes the UTF-8 bytes.
+     * @param pool the pool that parse the chunks.
+     * @since 1.1
+     */
+    private void parseParallel(final ByteBuffer bytes, final ForkJoinPool pool) {
+        final int chunkSize = Math.max(ParseOptions.MIN_CHUNK_SIZE, bytes.remaining() / (pool.getParallelism() * 4));
+        final ChunkSplitter chunks = ChunkSplitter.split(bytes, bytes.position(), bytes.limit(), chunkSize);
+        final boolean ascii = this.charset.equals(StandardCharsets.US_ASCII);
+
+        final List<ForkJoinTask<Map<String, ComplexObject>>> tasks = new ArrayList<>(chunks.count);
+        for (int i = 0; i < chunks.count; i++) {
+            final Lexer lexer = new Lexer(bytes.array(), chunks.starts[i], chunks.starts[i + 1], chunks.lines[i], chunks.columns[i], ascii);
+            tasks.add(pool.submit(() -> parseEntries(new ConfigReader(lexer, this.stringPool), new LinkedHashMap<>(), this.includes)));
         }
 
-        // @Note This conditions check if the value represents boolean values.
-        if (value.equals("true")) return true;
-        if (value.equals("false")) return false;
-
-        // @Note Check if the string represents a numeric string, then parse the number.
-        if (this.isNumericString(value)) {
-            return this.parseNumber(value);
+        for (final ForkJoinTask<Map<String, ComplexObject>> task : tasks) {
+            this.complexObjectMap.putAll(task.join());
         }
-
-        return null;
     }
 
     /**
-     * This method parse the map from a string value, into a map of objects.
-     * @param value the value that will be parsed from string.
-     * @return the map of objects.
-     * @since 1.0
+     * This method parse the all key-values from the UTF-8 bytes.
+     * @param bytes the UTF-8 bytes from the array, whose position is after the byte order mark.
+     * @since 1.1
      */
-    private Map<Object, Object> parseMap(final String value) {
-        System.out.println("parseMap, Value: " + value);
-
-        final Map<Object, Object> map = new LinkedHashMap<>();
-        final char[] charArray = value.toCharArray();
-
-        final StringBuilder sbKey = new StringBuilder();
-        final StringBuilder sbValue = new StringBuilder();
-
-        boolean valueParse = false;
-        boolean inString = false;
-        boolean inArray = false;
-
-        int skipArrays = 0;
-
-        for (int i = 0; i < charArray.length; i++) {
-            final char c = charArray[i];
+    private void parseBytes(final ByteBuffer bytes) {
+        final Lexer lexer = new Lexer(bytes.array(), bytes.position(), bytes.limit(), 1, 1, this.charset.equals(StandardCharsets.US_ASCII));
+        parseEntries(new ConfigReader(lexer, this.stringPool), this.complexObjectMap, this.includes);
+    }
 
-            // @Note Check if the current character represents the string token ("), then this means that the current
-            // character join into a string or come out from a string.
-            if (c == '\"') inString = !inString;
+    /**
+     * This method parse the all key-values from the character buffer.
+     * @since 1.1
+     */
+    private void parseAll() {
+        parseEntries(new ConfigReader(new Lexer(this.buffer, 0, this.length), this.stringPool), this.complexObjectMap, this.includes);
+    }
 
-            // @Note Check if the current character represents the right bracket "[", that means the parse join in the
-            // array, or if the current character represents the left bracket "]", this means that the parse come out
-            // from the array.
-            if (c == '[') {
-                inArray = true;
-                skipArrays++;
-            }
-            else if (c == ']'){
-                if (skipArrays == 1) inArray = false;
-                skipArrays--;
-            }
+    /**
+     * This method parse the all key-values that are read by the reader into the map.
+     * @param reader the reader that read the events.
+     * @param complexObjectMap the map that the key-values are put.
+     * @return the map.
+     * @since 1.1
+     */
+    static Map<String, ComplexObject> parseEntries(final ConfigReader reader, final Map<String, ComplexObject> complexObjectMap) {
+        return parseEntries(reader, complexObjectMap, null);
+    }
 
-            // @Note Check if the character represents the equals token "=", then this means that what will be parse is
-            // the value.
-            if (c == '=') {
-                valueParse = true;
+    /**
+     * This method parse the all key-values that are read by the reader into the map, where the key-values of the
+     * included files are put at the position of their include directives.
+     * @param reader the reader that read the events.
+     * @param complexObjectMap the map that the key-values are put.
+     * @param includes the include directives of the parse, or null if the includes are not supported.
+     * @return the map.
+     * @since 1.1
+     */
+    static Map<String, ComplexObject> parseEntries(final ConfigReader reader, final Map<String, ComplexObject> complexObjectMap,
+                                                   final Includes includes) {
+
+        // @Note This represents the while-loop condition, that do the all parse values from configuration. Each
+        // iteration parse a key-value, in the format "key = value", that are separated by the comma token ",".
+        while (reader.next() != ConfigReader.Event.END_DOCUMENT) {
+            if (reader.event() == ConfigReader.Event.INCLUDE) {
+                complexObjectMap.putAll(include(reader, includes).values);
                 continue;
             }
 
-            // @Note Check if the current character represents the comma token ",", then this means that a new key-value
-            // will be parsed.
-            if (c == ',' && !inString && !inArray) {
-                // @Note Put the key-value into the map, but the parsed value.
-                map.put(sbKey.toString(), this.parseValue(sbValue.toString()));
+            final String key = reader.key();
 
-                sbKey.delete(0, sbKey.length());
-                sbValue.delete(0, sbValue.length());
+            // @Note Put the key-value into the map.
+            complexObjectMap.put(key, parseComplexObject(reader, reader.next()));
+        }
 
-                valueParse = false;
-                continue;
-            }
+        return complexObjectMap;
+    }
 
-            if (!valueParse) sbKey.append(c);
-            else sbValue.append(c);
+    /**
+     * This method returns the parsed file from the current include directive of the reader.
+     * @param reader the reader whose current event is the include directive.
+     * @param includes the include directives of the parse, or null if the includes are not supported.
+     * @return the parsed file, with its key-values and the files that are included by it.
+     * @since 1.1
+     */
+    static ParseCache.Parsed include(final ConfigReader reader, final Includes includes) {
+        if (includes == null) {
+            throw reader.error("The include directive is only supported when a file is parsed or the base directory is known");
         }
 
-        return map;
+        return includes.resolve(reader);
     }
 
     /**
-     * This method parse the array from a string value, into a List of objects.
-     * @param value the value that will be parsed from string.
-     * @return the list of objects.
-     * @since 1.0
+     * This method parse the file that is included by other file, for the {@link ParseCache}.
+     * @param file the canonical file.
+     * @param charset the charset of the file.
+     * @param cache the cache of the files that are included by the file.
+     * @param chain the canonical paths of the files that include the file, followed by the file.
+     * @return the parsed file.
+     * @throws IOException if the file can't be read.
+     * @since 1.1
      */
-    private List<Object> parseArray(final String value) {
-        final List<Object> list = new LinkedList<>();
-        final StringBuilder elementValue = new StringBuilder();
-        final char[] charArray = value.toCharArray();
+    static ParseCache.Parsed parseIncluded(final File file, final Charset charset, final ParseCache cache,
+                                           final List<String> chain) throws IOException {
+        // @Note The information of the file is read before the parse, then if the file is modified while it is parsed,
+        // the cached file is not current.
+        final ParseCache.Source source = new ParseCache.Source(file);
 
-        boolean inString = false;
-        boolean inArray = false;
+        final Parser parser = new Parser(file, charset);
+        parser.includeChain = chain;
+        parser.parse(ParseOptions.defaults().withIncludeCache(cache));
 
-        // @Note This represents a way to prevent the bug that occurs with the parse arrays in arrays, because this that
-        // this method only parse the "general array", that contains the other arrays.
-        //      -rlp, 26 December 2018
-        int skipArrays = 0;
-
-        for (int i = 0; i < charArray.length; i++) {
-            final char c = charArray[i];
+        return new ParseCache.Parsed(source, Collections.unmodifiableMap(parser.complexObjectMap), parser.includes.sources());
+    }
 
-            // @Note Check if the current string represents a string token, that is represented by (").
-            if (c == '\"') inString = !inString;
+    /**
+     * This method returns the files that are included, directly or through other files, by the last parse.
+     * @return the included files.
+     * @since 1.1
+     */
+    List<ParseCache.Source> includedSources() {
+        return this.includes == null ? List.of() : this.includes.sources();
+    }
 
-            if (c == '[') {
-                inArray = true;
-                skipArrays++;
-            }
-            if (c == ']') {
-                if (skipArrays == 1) inArray = false;
-                skipArrays--;
-            }
+    // ... Internal Methods ...
 
-            // @Note If the current character is a whitespace, and is not in a string, then continue it.
-            if (this.isWhitespace(c) && !inString) continue;
+    /**
+     * This method parse the value that is in the range of the character buffer.
+     * @param buffer the character buffer.
+     * @param start the position of the first character from the value.
+     * @param end the position after the last character from the value.
+     * @param line the line of the first character from the value.
+     * @return the complex object.
+     * @since 1.1
+     */
+    ComplexObject parseRange(final char[] buffer, final int start, final int end, final int line) {
+        final ConfigReader reader = ConfigReader.ofValue(new Lexer(buffer, start, end, line), this.stringPool);
+        return parseComplexObject(reader, reader.next());
+    }
 
-            // @Note This represents the comma token that is in a array and is represented by ",", and means that a new
-            // element will be parsed.
-            if (c == ',' && !inString && !inArray) {
-                // @Note Parse the current element value to the object value, and add into the list.
-                list.add(this.parseValue(elementValue.toString()));
+    /**
+     * This method parse the value that is in the range of the character buffer for the lazy parse, where the large
+     * arrays are not parsed and their elements are parsed when them are requested. The errors of the elements are only
+     * found when the elements are read, then this method is only used when the lazy parse is requested.
+     * @param buffer the character buffer.
+     * @param start the position of the first character from the value.
+     * @param end the position after the last character from the value.
+     * @param line the line of the first character from the value.
+     * @return the complex object.
+     * @since 1.1
+     */
+    private ComplexObject parseLazyRange(final char[] buffer, final int start, final int end, final int line) {
+        if (end - start >= LazyArray.MIN_LENGTH && buffer[start] == '[' && buffer[end - 1] == ']') {
+            return ComplexObject.newComplexObject(new LazyArray(buffer, start + 1, end - 1, line, this.stringPool));
+        }
 
-                elementValue.delete(0, elementValue.length());
-                continue;
-            }
+        return this.parseRange(buffer, start, end, line);
+    }
 
-            elementValue.append(c);
+    /**
+     * This method parse the value that starts by the current event into a complex object, then the primitive values are
+     * stored without boxing.
+     * @param reader the reader that read the events.
+     * @param event the first event from the value.
+     * @return the complex object.
+     * @since 1.1
+     */
+    private static ComplexObject parseComplexObject(final ConfigReader reader, final ConfigReader.Event event) {
+        switch (event) {
+            case BYTE: return ComplexObject.ofByte(reader.byteValue());
+            case SHORT: return ComplexObject.ofShort(reader.shortValue());
+            case INT: return ComplexObject.ofInt(reader.intValue());
+            case LONG: return ComplexObject.ofLong(reader.longValue());
+            case FLOAT: return ComplexObject.ofFloat(reader.floatValue());
+            case DOUBLE: return ComplexObject.ofDouble(reader.doubleValue());
+            case BOOLEAN: return ComplexObject.ofBoolean(reader.booleanValue());
+            case CHARACTER: return ComplexObject.ofChar(reader.charValue());
+            default: return ComplexObject.newComplexObject(parseValue(reader, event));
         }
-
-        return list;
     }
 
     /**
-     * This method parse the string that represents a number literal.
-     * @param value the value that will be parsed.
-     * @return the number that is parsed from string value.
+     * This method parse the value that starts by the current event, then the all events from the value are read, that
+     * includes the nested arrays and maps.
+     * @param reader the reader that read the events.
+     * @param event the first event from the value.
+     * @return the parsed value.
      * @since 1.0
      */
-    private Object parseNumber(final String value) {
-        // @Note Check if the number has type declaration. (i. e. 10L, 2.0d, 1b)
-        final boolean hasTypeDeclaration = !Character.isDigit(value.charAt(value.length() - 1));
+    static Object parseValue(final ConfigReader reader, final ConfigReader.Event event) {
+        switch (event) {
+            case BEGIN_ARRAY:
+                return parseArray(reader);
 
-        // @Note Parse the number by boxed-type from each data type.
-        if (hasTypeDeclaration) {
-            final int typeDeclarationIndex = value.length() - 1;
-            final char typeDeclaration = value.charAt(typeDeclarationIndex);
+            case BEGIN_MAP:
+                return parseMap(reader);
 
-            // @Note The number literal value has the type declaration that represents a non-digit character, then must
-            // remove this non-digit character from the value. Is important that creates a new string to re-assign the
-            // value without the type declaration because before this modify the debugging output about the input value.
-            //      -rlp, 26 December 2018
-            final String reassignedValue = value.substring(0, typeDeclarationIndex);
+            case STRING:
+                // @Note The string is returned without the quotes, and its escape sequences are decoded.
+                return reader.stringValue();
 
-            // @Note Check if the type declaration is a "long".
-            if (typeDeclaration == 'l' || typeDeclaration == 'L') {
-                return Long.parseLong(reassignedValue);
-            }
-            // @Note Check if the type declaration is a "double".
-            else if (typeDeclaration == 'd' || typeDeclaration == 'D') {
-                return Double.parseDouble(reassignedValue);
-            }
-            // @Note Check if the type declaration is a "float".
-            else if (typeDeclaration == 'f' || typeDeclaration == 'F') {
-                return Float.parseFloat(reassignedValue);
-            }
-            // @Note Check if the type declaration is an "integer".
-            else if (typeDeclaration == 'i' || typeDeclaration == 'I') {
-                return Integer.parseInt(reassignedValue);
-            }
-            // @Note Check if the type declaration is a "short".
-            else if (typeDeclaration == 's' || typeDeclaration == 'S') {
-                return Short.parseShort(reassignedValue);
-            }
-            // @Note Check if the type declaration is a "byte".
-            else if (typeDeclaration == 'b' || typeDeclaration == 'B') {
-                return Byte.parseByte(reassignedValue);
-            }
+            default:
+                return reader.value();
         }
-        // @Note This part represents the numbers that doesn't has explicit-type declaration.
-        else {
-            // @Note If the value contains the "." token, this represents that the number is a floating-point number or
-            // if the value contains "," this represents a currency number.
-            if (value.contains(".") || value.contains(",")) {
-                // @Note The default data type that a floating-number is parsed is into "double".
-                return Double.parseDouble(value);
-            }
-            // @Note This part include only integer numbers, "byte", "short", "integer" and "long".
-            else {
-                // @Note The approach of if-else removes the strange bug that occurs when use ternary operator (?:),
-                // then continues use it.
-                if (value.length() > 10) {
-                    return Long.parseLong(value);
-                } else {
-                    return Integer.parseInt(value);
-                }
-            }
-        }
-
-        throw new RuntimeException("The number \"" + value + "\" can\'t be parsed.");
     }
 
     /**
-     * This method read the all characters that contains in the file into the character buffer.
+     * This method parse the map, from the event after the begin of the map until the end of the map, into a read-only
+     * map of objects, that keeps the order of the keys.
+     * @param reader the reader that read the events.
+     * @return the map of objects.
      * @since 1.0
      */
-    private void readToBuffer() {
-        try (final FileReader reader = new FileReader(this.file)) {
-            // @Note This represents the character value, on this character value is cast to character and put into
-            // the character buffer.
-            int c;
-            while ((c = reader.read()) != EOF) {
-                this.characterBuffer.add((char) c);
+    private static Map<Object, Object> parseMap(final ConfigReader reader) {
+        Object[] keys = new Object[CompactCollections.SMALL_MAP_SIZE];
+        Object[] values = new Object[CompactCollections.SMALL_MAP_SIZE];
+        int size = 0;
+
+        while (reader.next() != ConfigReader.Event.END_MAP) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, PrimitiveLists.grow(size));
+                values = Arrays.copyOf(values, keys.length);
             }
-        } catch (IOException e) {
-            System.out.println("An error occured when read the file into the buffer.");
-            e.printStackTrace();
+
+            // @Note Put the key-value into the arrays, but the parsed value. The repeated keys are merged by the map.
+            keys[size] = reader.key();
+            values[size] = parseValue(reader, reader.next());
+            size++;
         }
-    }
 
-    /**
-     * This method get the character that is in the current position, and increase the position.
-     * @return the character that is in the current position.
-     * @since 1.0
-     */
-    private char next() {
-        return this.characterBuffer.get(this.pos++);
+        return CompactCollections.mapOf(keys, values, size);
     }
 
     /**
-     * This method jump a amount of characters.
-     * @param amount the amount of characters that the parser jump.
+     * This method parse the array, from the event after the begin of the array until the end of the array, into a
+     * read-only List of objects, that is backed by an array. When the all elements are "integer", "long" or "double"
+     * numbers, the list is backed by a primitive array, then the elements are not boxed.
+     * @param reader the reader that read the events.
+     * @return the list of objects.
      * @since 1.0
      */
-    private void jump(final int amount) {
-        this.pos += amount;
+    private static List<Object> parseArray(final ConfigReader reader) {
+        final ConfigReader.Event event = reader.next();
+
+        switch (event) {
+            case INT: return parseIntArray(reader);
+            case LONG: return parseLongArray(reader);
+            case DOUBLE: return parseDoubleArray(reader);
+            default: return parseArray(reader, new Object[8], 0, event);
+        }
     }
 
     /**
-     * This method jump the all line.
-     * @since 1.0
+     * This method parse the elements from the array into the array of objects, from the current event until the end of
+     * the array.
+     * @param reader the reader that read the events.
+     * @param array the array that the elements are added.
+     * @param size the amount of elements that are already in the array.
+     * @param event the current event.
+     * @return the list of objects.
+     * @since 1.1
      */
-    private void jumpLine() {
-        while (!(this.isCarriageReturn(this.next()))) {
-            this.jump(1);
+    private static List<Object> parseArray(final ConfigReader reader, Object[] array, int size, ConfigReader.Event event) {
+        while (event != ConfigReader.Event.END_ARRAY) {
+            // @Note Parse the current element value to the object value, and add into the array. The nested arrays are
+            // parsed by the recursion, then is not necessary count the brackets.
+            if (size == array.length) array = Arrays.copyOf(array, PrimitiveLists.grow(size));
+            array[size++] = parseValue(reader, event);
+            event = reader.next();
         }
 
-        // @Note Not remove this jump from here, because this method jump the character of new line.
-        this.jump(1);
+        return CompactCollections.listOf(array, size);
     }
 
-    /**
-     * This method get the character that is in the buffer of "amount" positions. The "amount" number must be non negative,
-     * and the amount of nubmers can not exceed the limit from the character buffer size.
-     * @param amount the amount of characters to peek the character.
-     * @return the peek character.
-     * @since 1.0
-     */
-    private char peek(int amount) {
-        if (amount < 0) throw new IllegalArgumentException("amount must be non negative.");
-        if (this.pos + amount > this.characterBuffer.size()) throw new IllegalArgumentException("amount of \"" + amount
-                + "\" exceeds the limit of the buffer.");
+    // @Note The next methods parse the arrays whose the first element is a "integer", "long" or "double" number. The
+    // elements are stored into the primitive array while them have the same type, otherwise the elements that are
+    // already read are boxed into an array of objects and the parse continues as a list of objects.
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> parseIntArray(final ConfigReader reader) {
+        int[] array = new int[8];
+        int size = 0;
+
+        ConfigReader.Event event = ConfigReader.Event.INT;
+        while (event == ConfigReader.Event.INT) {
+            if (size == array.length) array = Arrays.copyOf(array, PrimitiveLists.grow(size));
+            array[size++] = reader.intValue();
+            event = reader.next();
+        }
 
-        return this.characterBuffer.get(this.pos + amount);
+        if (event == ConfigReader.Event.END_ARRAY) return (List<Object>) (List<?>) new PrimitiveLists.IntList(array, size);
+
+        final Object[] elements = new Object[PrimitiveLists.grow(size)];
+        for (int i = 0; i < size; i++) elements[i] = array[i];
+        return parseArray(reader, elements, size, event);
     }
 
-    /**
-     * This method check if the character represents a whitespace character.
-     * @param c the character that will be checked.
-     * @return true if the character is a whitespace, otherwise returns false.
-     */
-    private boolean isWhitespace(final char c) {
-        return c == 32;
+    @SuppressWarnings("unchecked")
+    private static List<Object> parseLongArray(final ConfigReader reader) {
+        long[] array = new long[8];
+        int size = 0;
+
+        ConfigReader.Event event = ConfigReader.Event.LONG;
+        while (event == ConfigReader.Event.LONG) {
+            if (size == array.length) array = Arrays.copyOf(array, PrimitiveLists.grow(size));
+            array[size++] = reader.longValue();
+            event = reader.next();
+        }
+
+        if (event == ConfigReader.Event.END_ARRAY) return (List<Object>) (List<?>) new PrimitiveLists.LongList(array, size);
+
+        final Object[] elements = new Object[PrimitiveLists.grow(size)];
+        for (int i = 0; i < size; i++) elements[i] = array[i];
+        return parseArray(reader, elements, size, event);
     }
 
-    /**
-     * This method check if the character represents a carriage return.
-     * @param c the character that will be checked.
-     * @return true if the character is a carriage return, otehrwise returns false.
-     */
-    private boolean isCarriageReturn(final char c) {
-        return c == 13;
+    @SuppressWarnings("unchecked")
+    private static List<Object> parseDoubleArray(final ConfigReader reader) {
+        double[] array = new double[8];
+        int size = 0;
+
+        ConfigReader.Event event = ConfigReader.Event.DOUBLE;
+        while (event == ConfigReader.Event.DOUBLE) {
+            if (size == array.length) array = Arrays.copyOf(array, PrimitiveLists.grow(size));
+            array[size++] = reader.doubleValue();
+            event = reader.next();
+        }
+
+        if (event == ConfigReader.Event.END_ARRAY) return (List<Object>) (List<?>) new PrimitiveLists.DoubleList(array, size);
+
+        final Object[] elements = new Object[PrimitiveLists.grow(size)];
+        for (int i = 0; i < size; i++) elements[i] = array[i];
+        return parseArray(reader, elements, size, event);
     }
 
     /**
-     * This method check if the character represents a new line.
-     * @param c the character that will be checked.
-     * @return true if the character is a new line, otherwise returns false.
+     * This method read the bytes from the file, when its charset is UTF-8 or ASCII.
+     * @return the bytes from the file, or null if the file must be read into the character buffer.
+     * @throws ConfigException if the file can't be read.
+     * @since 1.1
      */
-    private boolean isNewLine(final char c) {
-        return c == 10;
+    private ByteBuffer readUtf8() {
+        if (!this.charset.equals(StandardCharsets.UTF_8) && !this.charset.equals(StandardCharsets.US_ASCII)) return null;
+
+        try {
+            return CharInput.readBytes(this.file);
+        } catch (IOException e) {
+            throw new ConfigException("The file \"" + this.file + "\" can't be read", e);
+        }
     }
 
     /**
-     * This method check if the string is a numeric string, that means that the all characters from the string is a number.
-     * @param string the string that will be checked.
-     * @return true if string is a numeric string, otherwise returns false.
+     * This method read the all characters that contains in the file into the character buffer.
+     * @return the amount of bytes that are read.
+     * @throws ConfigException if the file can't be read or the content is not valid for the charset.
      * @since 1.0
      */
-    private boolean isNumericString(final String string) {
-        final char[] charArray = string.toCharArray();
-
-        for (int i = 0; i < charArray.length; i++) {
-            final char c = charArray[i];
-
-            // @Note This represents a some exceptions when check if the string represents a numeric string, because the
-            // value can be a floating point and can contains the character ".", or the value can be a currency value and
-            // contains the "," character.
-            //      -rlp, 24 December 2018
-            if (c == '.' || c == ',') continue;
-
-            // @Note This represents an exception that when the last character from the string is a "b" or "s", declare
-            // that the number is a byte when "b" or short when "s".
-            if (i == charArray.length - 1 &&
-                    ((c == 'B' || c == 'S' || c == 'F' || c == 'D' || c == 'L' || c == 'I') ||
-                            (c == 'b' || c == 's' || c == 'f' || c == 'd' || c == 'l' || c == 'i'))) continue;
-
-            if (!Character.isDigit(c)) {
-                return false;
-            }
+    private long readToBuffer() {
+        try {
+            final CharInput input = CharInput.read(this.file, this.charset);
+
+            this.buffer = input.chars;
+            this.length = input.length;
+            return input.bytes;
+        } catch (CharacterCodingException e) {
+            throw new ConfigException("The file \"" + this.file + "\" is not valid " + this.charset.name(), e);
+        } catch (IOException e) {
+            throw new ConfigException("The file \"" + this.file + "\" can't be read", e);
         }
-        return true;
     }
 
     /**
@@ -516,4 +591,29 @@ public class Parser {
     public ComplexObject get(final String key) {
         return this.complexObjectMap.get(key);
     }
+
+    /**
+     * This method returns the slots of the parsed values. The lazy map is already indexed by slots, and the other maps
+     * are copied into a flat array with a compact index of the keys.
+     *
+     * @Note The slots are not updated when the map from {@link #getComplexObjectMap()} is modified.
+     *
+     * @return the slots of the parsed values.
+     * @since 1.1
+     */
+    @Override
+    public Slots slots() {
+        Slots slots = this.slots;
+        if (slots != null) return slots;
+
+        final Map<String, ComplexObject> complexObjectMap = this.complexObjectMap;
+        if (complexObjectMap instanceof LazyValueMap) {
+            slots = (LazyValueMap) complexObjectMap;
+        } else {
+            slots = Slots.of(complexObjectMap);
+        }
+
+        this.slots = slots;
+        return slots;
+    }
 }
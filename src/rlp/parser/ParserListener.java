@@ -0,0 +1,41 @@
+package rlp.parser;
+
+import java.io.File;
+
+/**
+ * This represents the listener of the parses from the {@link Parser}, that receives the metrics from each parse, then
+ * the metrics can be sent to a metrics pipeline.
+ * <p>
+ * The listener is set by {@link ParseOptions#withListener(ParserListener)}, and the default listener is
+ * {@link #NONE}, that doesn't measure the parse.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public interface ParserListener {
+
+    /**
+     * This represents the listener that does nothing. When the listener is this and the JFR event is not enabled, the
+     * parse is not measured.
+     * @since 1.1
+     */
+    ParserListener NONE = new ParserListener() {
+    };
+
+    /**
+     * This method is called after each parse that doesn't fail.
+     * @param metrics the metrics from the parse.
+     * @since 1.1
+     */
+    default void onParse(final ParseMetrics metrics) {
+    }
+
+    /**
+     * This method is called when the parse fails, before the error is thrown.
+     * @param file the file that is parsed.
+     * @param error the error from the parse.
+     * @since 1.1
+     */
+    default void onError(final File file, final RuntimeException error) {
+    }
+}
@@ -0,0 +1,86 @@
+package rlp.parser;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * This represents the read-only lists that are backed by primitive arrays, that are used for the arrays from the
+ * configuration whose the all elements have the same numeric type. The elements are boxed only when them are read
+ * through the {@link java.util.List} interface.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class PrimitiveLists {
+
+    private PrimitiveLists() {
+    }
+
+    /**
+     * This method returns the new capacity for a growing array, that is the double of the current capacity.
+     * @param capacity the current capacity.
+     * @return the new capacity.
+     * @since 1.1
+     */
+    static int grow(final int capacity) {
+        return Math.max(8, capacity << 1);
+    }
+
+    static final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+        private final int[] array;
+
+        IntList(final int[] array, final int size) {
+            this.array = size == array.length ? array : Arrays.copyOf(array, size);
+        }
+
+        int[] array() { return this.array; }
+
+        public int getInt(final int index) { return this.array[index]; }
+
+        @Override
+        public Integer get(final int index) { return this.array[index]; }
+
+        @Override
+        public int size() { return this.array.length; }
+    }
+
+    static final class LongList extends AbstractList<Long> implements RandomAccess {
+
+        private final long[] array;
+
+        LongList(final long[] array, final int size) {
+            this.array = size == array.length ? array : Arrays.copyOf(array, size);
+        }
+
+        long[] array() { return this.array; }
+
+        public long getLong(final int index) { return this.array[index]; }
+
+        @Override
+        public Long get(final int index) { return this.array[index]; }
+
+        @Override
+        public int size() { return this.array.length; }
+    }
+
+    static final class DoubleList extends AbstractList<Double> implements RandomAccess {
+
+        private final double[] array;
+
+        DoubleList(final double[] array, final int size) {
+            this.array = size == array.length ? array : Arrays.copyOf(array, size);
+        }
+
+        double[] array() { return this.array; }
+
+        public double getDouble(final int index) { return this.array[index]; }
+
+        @Override
+        public Double get(final int index) { return this.array[index]; }
+
+        @Override
+        public int size() { return this.array.length; }
+    }
+}
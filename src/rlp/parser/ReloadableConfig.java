@@ -0,0 +1,436 @@
+package rlp.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This represents a configuration that is reloaded when its file is modified. The values are read from an immutable
+ * snapshot, that is replaced by a single volatile write after each reload, then the threads that read the values never
+ * lock and always see a complete configuration.
+ * <p>
+ * The reload only parse the values whose text is modified. The text from each value is compared by its hash with the
+ * text from the previous snapshot, and the values whose text is the same are reused. The included files are resolved
+ * through the {@link ParseCache#shared() shared cache}, and the watcher also reloads the configuration when an included
+ * file is modified.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class ReloadableConfig implements Config, Slots.Provider, Closeable {
+
+    /**
+     * This represents the time that the watcher waits after a modification before the reload, then a file that is
+     * written in many steps is reloaded once.
+     * @since 1.1
+     */
+    private static final long SETTLE_MILLIS = 10;
+
+    private final File file;
+    private final Charset charset;
+
+    /**
+     * This represents the parser of the values, that is only used by the reload.
+     * @since 1.1
+     */
+    private final Parser parser;
+
+    /**
+     * This represents the current snapshot, that is replaced by each reload.
+     * @since 1.1
+     */
+    private volatile Snapshot snapshot;
+
+    private volatile Consumer<Exception> errorHandler = Throwable::printStackTrace;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * This represents the directories that are watched, that are the directory of the file and the directories of the
+     * included files.
+     * @since 1.1
+     */
+    private final Set<Path> watchedDirectories = new HashSet<>();
+
+    private ReloadableConfig(final File file, final Charset charset) {
+        this.file = file;
+        this.charset = charset;
+        this.parser = new Parser(file, charset);
+    }
+
+    /**
+     * This method load the configuration from the file, that is only reloaded by {@link #reload()}.
+     * @param file the file of the configuration.
+     * @return the configuration.
+     * @throws IOException if the file can't be read.
+     * @throws ConfigException if the configuration is not valid.
+     * @since 1.1
+     */
+    public static ReloadableConfig open(final File file) throws IOException {
+        return open(file, StandardCharsets.UTF_8);
+    }
+
+    public static ReloadableConfig open(final File file, final Charset charset) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("file must not be null");
+        }
+
+        final ReloadableConfig config = new ReloadableConfig(file, charset);
+        config.reload();
+        return config;
+    }
+
+    /**
+     * This method load the configuration from the file, and watch the file to reload the configuration when it is
+     * modified. The watcher is stopped by {@link #close()}.
+     * @param file the file of the configuration.
+     * @return the configuration.
+     * @throws IOException if the file can't be read or watched.
+     * @throws ConfigException if the configuration is not valid.
+     * @since 1.1
+     */
+    public static ReloadableConfig watch(final File file) throws IOException {
+        return watch(file, StandardCharsets.UTF_8);
+    }
+
+    public static ReloadableConfig watch(final File file, final Charset charset) throws IOException {
+        final ReloadableConfig config = open(file, charset);
+        config.startWatcher();
+        return config;
+    }
+
+    // ... Values ...
+
+    /**
+     * This method get the value by the key from the current snapshot.
+     * @param key the key from the value.
+     * @return the ComplexObject that is referred by the key, or null if the key doesn't exist.
+     * @since 1.1
+     */
+    public ComplexObject get(final String key) {
+        return this.snapshot.get(key);
+    }
+
+    /**
+     * This method returns the read-only map of the values from the current snapshot. The map is not modified by the
+     * next reloads.
+     * @return the map of the values.
+     * @since 1.1
+     */
+    public Map<String, ComplexObject> getComplexObjectMap() {
+        return this.snapshot;
+    }
+
+    /**
+     * This method returns the slots of the current snapshot. A {@link ConfigKey} resolves its slot again when the
+     * snapshot is replaced by a reload.
+     * @return the slots of the current snapshot.
+     * @since 1.1
+     */
+    @Override
+    public Slots slots() {
+        return this.snapshot;
+    }
+
+    /**
+     * This method returns the version of the current snapshot, that is increased by each reload that modifies the
+     * configuration.
+     * @return the version of the current snapshot.
+     * @since 1.1
+     */
+    public long version() {
+        return this.snapshot.version;
+    }
+
+    /**
+     * This method sets the handler of the errors from the reloads by the watcher, that prints the stack trace by
+     * default. When a reload fails, the current snapshot is kept.
+     * @param errorHandler the handler of the errors.
+     * @since 1.1
+     */
+    public void onError(final Consumer<Exception> errorHandler) {
+        if (errorHandler == null) {
+            throw new NullPointerException("errorHandler must not be null");
+        }
+
+        this.errorHandler = errorHandler;
+    }
+
+    // ... Reload ...
+
+    /**
+     * This method reload the configuration from the file. The values whose text is not modified are reused from the
+     * current snapshot, and the new snapshot is only published when the configuration is modified.
+     * @return true if the configuration is modified, otherwise returns false.
+     * @throws IOException if the file can't be read.
+     * @throws ConfigException if the configuration is not valid, then the current snapshot is kept.
+     * @since 1.1
+     */
+    public synchronized boolean reload() throws IOException {
+        final CharInput input = CharInput.read(this.file, this.charset);
+        final Includes includes = new Includes(this.file, this.charset, ParseCache.shared(), null);
+        final EntryIndex entries = EntryIndex.scan(input.chars, input.length, includes);
+
+        final Snapshot current = this.snapshot;
+        final int size = entries.size();
+
+        final ComplexObject[] values = new ComplexObject[size];
+        final long[] hashes = new long[size];
+        boolean modified = current == null || current.keys.length != size;
+
+        for (int i = 0; i < size; i++) {
+            hashes[i] = entries.hash(i);
+
+            // @Note The value is reused when the previous snapshot has the same key with the same text.
+            final int previous = current == null ? -1 : current.indexOf(entries.key(i));
+            if (previous >= 0 && current.hashes[previous] == hashes[i]) {
+                values[i] = current.values[previous];
+                modified |= previous != i;
+            } else {
+                values[i] = entries.parse(i, this.parser::parseRange);
+                modified = true;
+            }
+        }
+
+        final List<ParseCache.Source> sources = includes.sources();
+        if (!modified) {
+            // @Note The included files are kept with the snapshot for the watcher, then a file that is included by other
+            // path, whose values are the same, replaces the current snapshot without a new version.
+            if (!current.includesSameFiles(sources)) {
+                this.snapshot = new Snapshot(current.keys, current.values, current.hashes, sources, current.version);
+                this.watchIncludes();
+            }
+            return false;
+        }
+
+        this.snapshot = new Snapshot(entries.keys(), values, hashes, sources, current == null ? 1 : current.version + 1);
+        this.watchIncludes();
+        return true;
+    }
+
+    private void startWatcher() throws IOException {
+        final Path path = this.file.getAbsoluteFile().toPath();
+        final Path directory = path.getParent();
+        final Path name = path.getFileName();
+
+        synchronized (this) {
+            this.watchService = FileSystems.getDefault().newWatchService();
+
+            // @Note The directory is watched, because the file can be replaced by other file, that is a common way to
+            // write a file atomically.
+            this.register(directory);
+            this.watchIncludes();
+        }
+
+        this.watcher = new Thread(() -> this.watch(this.watchService, path), "config-watcher-" + name);
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+
+    /**
+     * This method watch the directories of the included files from the current snapshot, that are not watched yet. The
+     * error from a directory that can't be watched is sent to the error handler, and the other files are still watched.
+     * @since 1.1
+     */
+    private void watchIncludes() {
+        if (this.watchService == null) return;
+
+        for (final ParseCache.Source source : this.snapshot.includes) {
+            try {
+                this.register(source.file.toPath().getParent());
+            } catch (IOException e) {
+                this.errorHandler.accept(e);
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    private void register(final Path directory) throws IOException {
+        if (this.watchedDirectories.contains(directory)) return;
+
+        directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watchedDirectories.add(directory);
+    }
+
+    private void watch(final WatchService watchService, final Path path) {
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+                final Path directory = (Path) key.watchable();
+
+                boolean modified = false;
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        modified = true;
+                        continue;
+                    }
+
+                    final Path changed = directory.resolve((Path) event.context());
+                    modified |= path.equals(changed) || this.snapshot.includes(changed);
+                }
+
+                if (modified) {
+                    // @Note The events from the writes that happen while the watcher waits are discarded, because the
+                    // reload reads the last content.
+                    final WatchKey next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        next.pollEvents();
+                        next.reset();
+                    }
+
+                    try {
+                        this.reload();
+                    } catch (IOException | RuntimeException e) {
+                        this.errorHandler.accept(e);
+                    }
+                }
+
+                if (!key.reset()) return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // @Note The watcher is stopped by the close.
+        }
+    }
+
+    /**
+     * This method stops the watcher, if the configuration is watched. The values can still be read after the close.
+     * @throws IOException if the watcher can't be closed.
+     * @since 1.1
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.watchService == null) return;
+
+        this.watchService.close();
+        this.watcher.interrupt();
+    }
+
+    /**
+     * This represents the immutable snapshot of the configuration, that stores the keys, the values and the hashes from
+     * the text of the values in flat arrays. The slot of each value is its index in the arrays.
+     * @since 1.1
+     */
+    private static final class Snapshot extends AbstractMap<String, ComplexObject> implements Slots {
+
+        final String[] keys;
+        final ComplexObject[] values;
+        final long[] hashes;
+        final long version;
+
+        /**
+         * This represents the files that are included, directly or through other files, by the configuration.
+         * @since 1.1
+         */
+        final List<ParseCache.Source> includes;
+
+        private final KeyTable indexes;
+
+        Snapshot(final String[] keys, final ComplexObject[] values, final long[] hashes,
+                 final List<ParseCache.Source> includes, final long version) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.includes = includes;
+            this.version = version;
+
+            this.indexes = KeyTable.of(keys);
+        }
+
+        boolean includes(final Path file) {
+            for (final ParseCache.Source source : this.includes) {
+                if (source.file.toPath().equals(file)) return true;
+            }
+            return false;
+        }
+
+        boolean includesSameFiles(final List<ParseCache.Source> sources) {
+            if (sources.size() != this.includes.size()) return false;
+
+            for (int i = 0; i < sources.size(); i++) {
+                if (!sources.get(i).file.equals(this.includes.get(i).file)) return false;
+            }
+            return true;
+        }
+
+        int indexOf(final Object key) {
+            return this.indexes.indexOf(key);
+        }
+
+        @Override
+        public int slotOf(final String key) {
+            return this.indexes.indexOf(key);
+        }
+
+        @Override
+        public ComplexObject valueAt(final int slot) {
+            return this.values[slot];
+        }
+
+        @Override
+        public ComplexObject get(final Object key) {
+            final int index = this.indexOf(key);
+            return index < 0 ? null : this.values[index];
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return this.indexes.indexOf(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return this.keys.length;
+        }
+
+        @Override
+        public Set<Entry<String, ComplexObject>> entrySet() {
+            return new AbstractSet<Entry<String, ComplexObject>>() {
+                @Override
+                public Iterator<Entry<String, ComplexObject>> iterator() {
+                    return new Iterator<Entry<String, ComplexObject>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.index < Snapshot.this.keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, ComplexObject> next() {
+                            if (!this.hasNext()) throw new NoSuchElementException();
+
+                            final int current = this.index++;
+                            return new SimpleImmutableEntry<>(Snapshot.this.keys[current], Snapshot.this.values[current]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return Snapshot.this.keys.length;
+                }
+            };
+        }
+    }
+}
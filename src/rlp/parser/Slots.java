@@ -0,0 +1,68 @@
+package rlp.parser;
+
+import java.util.Map;
+
+/**
+ * This represents the values of a configuration that are stored in slots, that are the indexes of the keys. The slot
+ * of a key is resolved once by a {@link ConfigKey}, then the next reads of the value only read the slot.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+interface Slots {
+
+    /**
+     * This method returns the slot of the key.
+     * @param key the key.
+     * @return the slot of the key, or -1 if the key doesn't exist.
+     * @since 1.1
+     */
+    int slotOf(String key);
+
+    /**
+     * This method returns the value from the slot.
+     * @param slot the slot.
+     * @return the value.
+     * @since 1.1
+     */
+    ComplexObject valueAt(int slot);
+
+    /**
+     * This method copies the values from the map into a flat array, with a compact index of the keys.
+     * @param values the map of the values.
+     * @return the slots of the values.
+     * @since 1.1
+     */
+    static Slots of(final Map<String, ComplexObject> values) {
+        final String[] keys = values.keySet().toArray(new String[0]);
+        final ComplexObject[] array = values.values().toArray(new ComplexObject[0]);
+        final KeyTable table = KeyTable.of(keys);
+
+        return new Slots() {
+            @Override
+            public int slotOf(final String key) {
+                return table.indexOf(key);
+            }
+
+            @Override
+            public ComplexObject valueAt(final int slot) {
+                return array[slot];
+            }
+        };
+    }
+
+    /**
+     * This represents a configuration whose values are read by the slots, that is used by the {@link ConfigKey} to
+     * resolve the slot of its key once.
+     * @since 1.1
+     */
+    interface Provider {
+
+        /**
+         * This method returns the slots of the values.
+         * @return the slots of the values, or null if the values are not stored in slots.
+         * @since 1.1
+         */
+        Slots slots();
+    }
+}
@@ -0,0 +1,98 @@
+package rlp.parser;
+
+import java.util.Arrays;
+
+/**
+ * This represents the pool that deduplicates the strings from the configurations, then the strings that are repeated
+ * in the configuration, like the values {@code "enabled"} or the host names, share the same instance.
+ * <p>
+ * The pool is a bounded table that is indexed by the hash of the characters, and each slot keeps the last string that
+ * is stored into it, then the pool never grows and the strings that are rarely repeated are replaced. The strings are
+ * looked up by the characters from the buffer, then a string is only created when it is not in the pool.
+ * <p>
+ * The pool can be shared by many parses and threads, because the strings are immutable and a lost write only creates
+ * a new string.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+public final class StringPool {
+
+    /**
+     * This represents the default amount of slots from the pool.
+     * @since 1.1
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * This represents the maximum length of the strings that are pooled. The longer strings are rarely repeated, then
+     * them are created without the pool.
+     * @since 1.1
+     */
+    public static final int MAX_LENGTH = 128;
+
+    private final String[] table;
+    private final int mask;
+
+    public StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StringPool(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+
+        final int size = Integer.highestOneBit(Math.min(capacity, 1 << 30) * 2 - 1);
+        this.table = new String[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * This method returns the string from the characters of the buffer, that is the string from the pool when the pool
+     * contains the same characters.
+     * @param chars the character buffer.
+     * @param start the position of the first character.
+     * @param end the position after the last character.
+     * @return the string.
+     * @since 1.1
+     */
+    String intern(final char[] chars, final int start, final int end) {
+        final int length = end - start;
+        if (length > MAX_LENGTH) return new String(chars, start, length);
+
+        // @Note The hash is the same of String.hashCode(), that is cached by the pooled string, then the most of the
+        // different strings are rejected without compare the characters.
+        int hash = 0;
+        for (int i = start; i < end; i++) hash = 31 * hash + chars[i];
+
+        final int slot = (hash ^ (hash >>> 16)) & this.mask;
+        final String pooled = this.table[slot];
+        if (pooled != null && pooled.hashCode() == hash && contentEquals(pooled, chars, start, length)) return pooled;
+
+        final String string = new String(chars, start, length);
+        this.table[slot] = string;
+        return string;
+    }
+
+    public int capacity() {
+        return this.table.length;
+    }
+
+    /**
+     * This method removes the all strings from the pool.
+     * @since 1.1
+     */
+    public void clear() {
+        Arrays.fill(this.table, null);
+    }
+
+    private static boolean contentEquals(final String string, final char[] chars, final int start, final int length) {
+        if (string.length() != length) return false;
+
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != chars[start + i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,183 @@
+package rlp.parser;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * This represents the structural index of the UTF-8 bytes from a configuration, that is a bitmap of each kind of
+ * structural byte by blocks of 64 bytes. The bit {@code i} of the bitmap from a block is the byte {@code start + i},
+ * then the {@link Lexer} jumps from a position to the next structural position by the trailing zeros of the bitmap,
+ * without visit the bytes between them.
+ * <p>
+ * The bitmaps are built by words of 8 bytes (SWAR), like the {@link StructuralScanner}. Each word is compared with the
+ * characters at once, and the high bit of each byte from the comparison is gathered into 8 bits of the bitmap by a
+ * multiplication. Each bitmap is only built for the blocks where it is requested, then a block in a long string only
+ * builds the bitmap of the quotes. The structural characters are ASCII, and the bytes of the multi-byte characters are
+ * never ASCII, then the bytes are indexed without decode them.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class StructuralIndex {
+
+    /**
+     * This represents the amount of bytes from each block, that is a bit of each bitmap.
+     * @since 1.1
+     */
+    static final int BLOCK_SIZE = 64;
+
+    // @Note This represents the bitmaps that are requested by the lexer.
+    /**
+     * The bytes that can end a literal, that are a superset of the delimiters: the bytes until the comma "," and the
+     * bytes ";=[]{}". The lexer checks the byte at each position, then the other bytes only cost a jump.
+     */
+    static final int BITMAP_DELIMITERS = 0;
+    /** The quotes (") and the escape characters (\\), that can end a string. */
+    static final int BITMAP_QUOTE_ENDS = 1;
+    /** The apostrophes (') and the escape characters (\\), that can end a character. */
+    static final int BITMAP_APOSTROPHE_ENDS = 2;
+    static final int BITMAP_NEW_LINES = 3;
+    /** The bytes that are not ASCII. */
+    static final int BITMAP_HIGHS = 4;
+
+    private static final int BITMAPS = 5;
+
+    // @Note This represents the constants of the SWAR operations, that repeat a byte in each lane of the word.
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private static final long NEW_LINES = ONES * '\n';
+    private static final long QUOTES = ONES * '\"';
+    private static final long APOSTROPHES = ONES * '\'';
+    private static final long BACKSLASHES = ONES * '\\';
+    private static final long LEFT_BRACES = ONES * '{';
+    private static final long RIGHT_BRACES = ONES * '}';
+
+    // @Note The bytes "=[]{}" with the bits 0x60 set are the braces "{" and "}", then the five bytes are compared by
+    // two comparisons, where ";" is the only other printable byte that is folded into them.
+    private static final long FOLDS = ONES * 0x60;
+
+    // @Note The bytes until the comma "," are the whitespaces, the quotes, the apostrophes, the hash "#" and the rare
+    // bytes between them. This is added to the low 7 bits, then only the bytes after the comma set the high bit.
+    private static final long AFTER_COMMAS = ONES * (0x80 - ',' - 1);
+
+    /**
+     * This represents the multiplier that gathers the lowest bit of each byte into the highest byte of the word, where
+     * the byte {@code i} is the bit {@code i}.
+     * @since 1.1
+     */
+    private static final long GATHER = 0x0102040810204080L;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final byte[] bytes;
+    private final int limit;
+
+    /**
+     * This represents the position of the first byte from the block of each bitmap, that is {@link Integer#MIN_VALUE}
+     * before the first block, then it is never a position of the block.
+     * @since 1.1
+     */
+    private final int[] starts = new int[BITMAPS];
+    private final long[] bitmaps = new long[BITMAPS];
+
+    StructuralIndex(final byte[] bytes, final int limit) {
+        this.bytes = bytes;
+        this.limit = limit;
+
+        for (int i = 0; i < BITMAPS; i++) {
+            this.starts[i] = Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * This method returns the position of the first byte at or after the position, until the end, whose bit is set in
+     * the bitmap. The block of the bitmap is built when the position is not in its current block.
+     * @param from the position of the first byte.
+     * @param to the position after the last byte.
+     * @param bitmap the bitmap, that is one of the constants from this class.
+     * @return the position of the byte, or the end if no byte is found.
+     * @since 1.1
+     */
+    int next(int from, final int to, final int bitmap) {
+        while (from < to) {
+            int start = this.starts[bitmap];
+            if (from < start || from >= start + BLOCK_SIZE) {
+                start = from;
+                this.starts[bitmap] = start;
+                this.bitmaps[bitmap] = this.build(start, bitmap);
+            }
+
+            final long bits = this.bitmaps[bitmap] & (-1L << (from - start));
+            if (bits != 0) return Math.min(start + Long.numberOfTrailingZeros(bits), to);
+
+            from = start + BLOCK_SIZE;
+        }
+        return to;
+    }
+
+    /**
+     * This method builds the bitmap of the block that starts at the position. The bytes after the limit are read as
+     * zeros, that are only in the bitmap of the delimiters, then the lexer stops at the limit.
+     * @since 1.1
+     */
+    private long build(final int start, final int bitmap) {
+        long bits = 0;
+
+        for (int i = 0; i < BLOCK_SIZE; i += 8) {
+            final long word = this.word(start + i);
+
+            final long matches;
+            switch (bitmap) {
+                case BITMAP_DELIMITERS:
+                    final long folded = word | FOLDS;
+                    matches = ~(((word & LOWS) + AFTER_COMMAS) | word) & HIGHS
+                            | StructuralScanner.matches(folded, LEFT_BRACES) | StructuralScanner.matches(folded, RIGHT_BRACES);
+                    break;
+                case BITMAP_QUOTE_ENDS:
+                    matches = StructuralScanner.matches(word, QUOTES) | StructuralScanner.matches(word, BACKSLASHES);
+                    break;
+                case BITMAP_APOSTROPHE_ENDS:
+                    matches = StructuralScanner.matches(word, APOSTROPHES) | StructuralScanner.matches(word, BACKSLASHES);
+                    break;
+                case BITMAP_NEW_LINES:
+                    matches = StructuralScanner.matches(word, NEW_LINES);
+                    break;
+                case BITMAP_HIGHS:
+                    matches = word & HIGHS;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown bitmap " + bitmap);
+            }
+
+            bits |= gather(matches) << i;
+        }
+        return bits;
+    }
+
+    /**
+     * This method read the word of 8 bytes from the position, where the bytes after the limit are zeros.
+     * @since 1.1
+     */
+    private long word(final int position) {
+        if (position + 8 <= this.limit) return (long) LONGS.get(this.bytes, position);
+
+        long word = 0;
+        for (int i = Math.min(this.limit, position + 8) - 1; i >= position; i--) {
+            word = word << 8 | (this.bytes[i] & 0xFF);
+        }
+        return word;
+    }
+
+    /**
+     * This method gathers the high bit of each byte from the word into the lowest 8 bits.
+     * @param word the word with the high bit set in the selected bytes, and the other bits clear.
+     * @return the bits of the selected bytes.
+     * @since 1.1
+     */
+    private static long gather(final long word) {
+        return ((word >>> 7) * GATHER) >>> 56;
+    }
+}
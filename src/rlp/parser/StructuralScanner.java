@@ -0,0 +1,300 @@
+package rlp.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This represents the scanner of the structural characters from the UTF-8 bytes of a configuration, that finds the
+ * comma tokens "," at the depth 0 without decode the bytes. The structural characters are ASCII, and the bytes of the
+ * multi-byte characters are never ASCII, then the bytes are scanned directly.
+ * <p>
+ * The bytes are scanned by words of 8 bytes (SWAR). Each word is compared with the structural characters at once, that
+ * gives a mask with the bytes that are commas, brackets or braces, and the mask of the bytes that are in a string is
+ * computed by the prefix XOR of the quotes. Only the bytes from the mask are visited. The words that contain a
+ * character, a comment or an escape sequence are scanned byte by byte.
+ * <p>
+ * The scanner also counts the lines and the columns, in characters, of the splits. The columns are counted from the
+ * bytes, where each byte is a character except the continuation bytes, and the 4-byte sequences are two characters.
+ * <p>
+ * The scanner is used by the parallel parse of UTF-8 and ASCII, to find the splits of the chunks. The tokens of each
+ * chunk are read from the bytes by the {@link Lexer}, that jumps between the structural positions of the
+ * {@link StructuralIndex}, then the bytes are never decoded into a character buffer.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class StructuralScanner {
+
+    // @Note This represents the constants of the SWAR operations, that repeat a byte in each lane of the word.
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private static final long QUOTES = ONES * '\"';
+    private static final long APOSTROPHES = ONES * '\'';
+    private static final long BACKSLASHES = ONES * '\\';
+    private static final long HASHES = ONES * '#';
+    private static final long NEW_LINES = ONES * '\n';
+    private static final long COMMAS = ONES * ',';
+    private static final long LEFT_BRACES = ONES * '{';
+    private static final long RIGHT_BRACES = ONES * '}';
+
+    // @Note The brackets "[" and "]" are the braces "{" and "}" without the bit 0x20, then both are compared at once
+    // after the bit is set in each byte.
+    private static final long CASES = ONES * 0x20;
+
+    // @Note This represents the modes of the scanner, that are the parts of the configuration that the scanner is in.
+    private static final int MODE_NORMAL = 0;
+    private static final int MODE_STRING = 1;
+    private static final int MODE_CHARACTER = 2;
+    private static final int MODE_COMMENT = 3;
+
+    private final ByteBuffer bytes;
+    private final int limit;
+
+    private int position;
+    private int mode = MODE_NORMAL;
+    private boolean escaped;
+    private int depth;
+    private int line = 1;
+
+    /**
+     * This represents the position of the first byte from the current line.
+     * @since 1.1
+     */
+    private int lineStart;
+
+    /**
+     * This represents the difference between the amount of bytes and the amount of characters, from the first byte
+     * until the current position and until the start of the current line.
+     * @since 1.1
+     */
+    private int adjust;
+    private int lineAdjust;
+
+    StructuralScanner(final ByteBuffer bytes, final int offset, final int limit) {
+        this.bytes = bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.position = offset;
+        this.lineStart = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * This method find the next comma token "," at the depth 0, whose position is at least the target.
+     * @param target the minimum position of the comma.
+     * @return the position of the comma, or -1 if the end of the bytes is reached.
+     * @since 1.1
+     */
+    int nextSplit(final int target) {
+        while (this.position + 8 <= this.limit) {
+            final int position = this.position;
+            final long word = this.bytes.getLong(position);
+
+            if (this.mode == MODE_COMMENT) {
+                // @Note The comment is jumped until the word that contains the end of the line.
+                if (matches(word, NEW_LINES) == 0) {
+                    this.count(word, 0, -1L);
+                    this.position += 8;
+                    continue;
+                }
+            } else if ((this.mode == MODE_NORMAL || this.mode == MODE_STRING) && !this.escaped
+                    && (matches(word, APOSTROPHES) | matches(word, HASHES) | matches(word, BACKSLASHES)) == 0) {
+                final int split = this.scanWord(word, target);
+                if (split >= 0) return split;
+                continue;
+            }
+
+            final int split = this.scanBytes(position + 8, target);
+            if (split >= 0) return split;
+        }
+
+        return this.scanBytes(this.limit, target);
+    }
+
+    /**
+     * This method returns the line of the position that is returned by {@link #nextSplit(int)}.
+     * @return the line.
+     * @since 1.1
+     */
+    int line() {
+        return this.line;
+    }
+
+    /**
+     * This method returns the column, in characters, of the first character after the position that is returned by
+     * {@link #nextSplit(int)}.
+     * @return the column.
+     * @since 1.1
+     */
+    int column() {
+        return 1 + (this.position - this.lineStart) - (this.adjust - this.lineAdjust);
+    }
+
+    /**
+     * This method scan the word that only contains strings and structural characters. The bytes in the strings are the
+     * bytes after an odd amount of quotes, that is the prefix XOR of the quotes in the word.
+     * @since 1.1
+     */
+    private int scanWord(final long word, final int target) {
+        long inString = matches(word, QUOTES) >>> 7;
+        inString ^= inString << 8;
+        inString ^= inString << 16;
+        inString ^= inString << 32;
+        if (this.mode == MODE_STRING) inString ^= ONES;
+
+        final long newLines = matches(word, NEW_LINES);
+        final long folded = word | CASES;
+        long structurals = (matches(word, COMMAS) | matches(folded, LEFT_BRACES) | matches(folded, RIGHT_BRACES))
+                & ~(inString * 0xFF);
+
+        while (structurals != 0) {
+            final int bit = Long.numberOfTrailingZeros(structurals);
+            structurals &= structurals - 1;
+
+            switch ((byte) (word >>> (bit & ~7))) {
+                case '[': case '{':
+                    this.depth++;
+                    break;
+                case ']': case '}':
+                    this.depth--;
+                    break;
+                default:
+                    final int split = this.position + (bit >>> 3);
+                    if (this.depth == 0 && split >= target) {
+                        // @Note The comma is not in a string, then the scan continues after it in the normal mode.
+                        this.count(word, newLines, (1L << bit) - 1);
+                        this.mode = MODE_NORMAL;
+                        this.position = split + 1;
+                        return split;
+                    }
+                    break;
+            }
+        }
+
+        this.count(word, newLines, -1L);
+        this.mode = (inString >>> 56) != 0 ? MODE_STRING : MODE_NORMAL;
+        this.position += 8;
+        return -1;
+    }
+
+    /**
+     * This method scan the bytes one by one until the end, like the {@link ChunkSplitter} scans the characters.
+     * @since 1.1
+     */
+    private int scanBytes(final int end, final int target) {
+        for (; this.position < end; this.position++) {
+            final byte c = this.bytes.get(this.position);
+            if (c == '\n') {
+                this.line++;
+                this.lineStart = this.position + 1;
+                this.lineAdjust = this.adjust;
+            } else if ((c & 0xC0) == 0x80) {
+                this.adjust++;
+            } else if ((c & 0xF8) == 0xF0) {
+                this.adjust--;
+            }
+
+            switch (this.mode) {
+                case MODE_STRING:
+                case MODE_CHARACTER:
+                    if (this.escaped) {
+                        this.escaped = false;
+                    } else if (c == '\\') {
+                        this.escaped = true;
+                    } else if (c == (this.mode == MODE_STRING ? '\"' : '\'')) {
+                        this.mode = MODE_NORMAL;
+                    }
+                    break;
+                case MODE_COMMENT:
+                    if (c == '\n') this.mode = MODE_NORMAL;
+                    break;
+                default:
+                    switch (c) {
+                        case '\"': this.mode = MODE_STRING; break;
+                        case '\'': this.mode = MODE_CHARACTER; break;
+                        case '#': this.mode = MODE_COMMENT; break;
+                        case '[': case '{': this.depth++; break;
+                        case ']': case '}': this.depth--; break;
+                        case ',':
+                            if (this.depth == 0 && this.position >= target) return this.position++;
+                            break;
+                        default:
+                            break;
+                    }
+                    break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This method counts the lines and the characters from the bytes of the word that are selected by the mask.
+     * @param word the word.
+     * @param newLines the new lines from the word.
+     * @param below the mask of the bytes that are counted.
+     * @since 1.1
+     */
+    private void count(final long word, final long newLines, final long below) {
+        // @Note The continuation bytes are "10xxxxxx", that aren't characters, and the first bytes of the 4-byte
+        // sequences are "11110xxx", that are two characters. The ASCII words don't contain them.
+        long continuations = 0;
+        long surrogates = 0;
+        if ((word & HIGHS) != 0) {
+            continuations = word & ~(word << 1) & HIGHS;
+            surrogates = word & (word << 1) & (word << 2) & (word << 3) & ~(word << 4) & HIGHS;
+        }
+
+        final long lines = newLines & below;
+        if (lines != 0) {
+            final int last = 63 - Long.numberOfLeadingZeros(lines);
+            final long before = (1L << last) - 1;
+
+            this.line += Long.bitCount(lines);
+            this.lineStart = this.position + (last >>> 3) + 1;
+            this.lineAdjust = this.adjust + Long.bitCount(continuations & before) - Long.bitCount(surrogates & before);
+        }
+
+        this.adjust += Long.bitCount(continuations & below) - Long.bitCount(surrogates & below);
+    }
+
+    /**
+     * This method compare each byte of the word with the byte of the pattern.
+     * @param word the word.
+     * @param pattern the byte that is repeated in each lane.
+     * @return the word with the high bit set in each byte that is equal, and the other bits clear.
+     * @since 1.1
+     */
+    static long matches(final long word, final long pattern) {
+        final long x = word ^ pattern;
+        return ~(((x & LOWS) + LOWS) | x | LOWS);
+    }
+
+    /**
+     * This method counts the characters of the UTF-8 bytes by words of 8 bytes, where each byte is a character except
+     * the continuation bytes, and the 4-byte sequences are two characters.
+     * @param bytes the bytes.
+     * @param from the position of the first byte.
+     * @param to the position after the last byte.
+     * @return the amount of characters.
+     * @since 1.1
+     */
+    static int countChars(final ByteBuffer bytes, final int from, final int to) {
+        final ByteBuffer words = bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        int chars = to - from;
+        int i = from;
+        for (; i + 8 <= to; i += 8) {
+            final long word = words.getLong(i);
+            if ((word & HIGHS) == 0) continue;
+
+            chars -= Long.bitCount(word & ~(word << 1) & HIGHS);
+            chars += Long.bitCount(word & (word << 1) & (word << 2) & (word << 3) & ~(word << 4) & HIGHS);
+        }
+        for (; i < to; i++) {
+            final byte b = words.get(i);
+            if ((b & 0xC0) == 0x80) chars--;
+            if ((b & 0xF8) == 0xF0) chars++;
+        }
+        return chars;
+    }
+}
@@ -0,0 +1,25 @@
+package test.rlp.parser;
+
+/**
+ * This represents the checks of the tests, that stop the test at the first check that fails.
+ *
+ * @author rlp
+ * @since 1.1
+ */
+final class Checks {
+
+    private Checks() {
+    }
+
+    /**
+     * This method check the condition, and print the message when the condition is true.
+     * @param condition the condition that must be true.
+     * @param message the description of the condition.
+     * @throws IllegalStateException if the condition is false.
+     * @since 1.1
+     */
+    static void check(final boolean condition, final String message) {
+        if (!condition) throw new IllegalStateException("Failed: " + message);
+        System.out.println("Passed: " + message);
+    }
+}
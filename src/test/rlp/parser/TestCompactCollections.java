@@ -0,0 +1,78 @@
+package test.rlp.parser;
+
+import rlp.parser.ConfigParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestCompactCollections {
+
+    // @Note The keys "Aa" and "BB" have the same hash code, then the probes of the flat map are checked.
+    private static final String[] KEYS = {"a", "b", "c", "Aa", "BB", "AaAa", "BBBB", "AaBB", "key", "1", "2", "x_y"};
+
+    public static void main(String[] args) {
+        final ConfigParser parser = new ConfigParser();
+        final Random random = new Random(42);
+
+        boolean equal = true;
+        boolean ordered = true;
+        boolean found = true;
+        for (int round = 0; round < 500; round++) {
+            // @Note The maps with at most 8 entries are small maps, and the larger maps are flat maps.
+            final int size = random.nextInt(40);
+            final Map<String, Integer> expected = new LinkedHashMap<>();
+            final StringBuilder text = new StringBuilder("m = {");
+
+            for (int i = 0; i < size; i++) {
+                final String key = random.nextInt(4) == 0 ? KEYS[random.nextInt(KEYS.length)] : "k" + random.nextInt(64);
+                if (i > 0) text.append(", ");
+                text.append(key).append(" = ").append(i);
+                expected.put(key, i);
+            }
+            text.append('}');
+
+            final Map<?, ?> map = parser.parse(text).get("m").mapValue();
+            equal &= map.equals(expected) && expected.equals(map) && map.hashCode() == expected.hashCode()
+                    && map.equals(new HashMap<>(expected));
+            ordered &= new ArrayList<>(map.keySet()).equals(new ArrayList<>(expected.keySet()))
+                    && new ArrayList<>(map.values()).equals(new ArrayList<>(expected.values()));
+
+            for (final String key : KEYS) {
+                found &= map.containsKey(key) == expected.containsKey(key) && Objects.equals(map.get(key), expected.get(key));
+            }
+            found &= map.get("missing") == null && !map.containsKey(null) && map.get(1) == map.get("1");
+        }
+        check(equal, "the maps are equal to the hash maps");
+        check(ordered, "the maps keep the order of the first key and the value of the last key");
+        check(found, "the keys are found by the maps");
+
+        final Map<?, ?> small = parser.parse("m = {a = 1, b = 2}").get("m").mapValue();
+        final Map<?, ?> flat = parser.parse("m = {a = 1, b = 2, c = 3, d = 4, e = 5, f = 6, g = 7, h = 8, i = 9}").get("m").mapValue();
+        check(small.getClass().getSimpleName().equals("SmallMap") && flat.getClass().getSimpleName().equals("FlatMap"),
+                "the large maps use the table");
+        check(readOnly(flat::clear) && readOnly(() -> small.remove("a")), "the maps are read-only");
+
+        final List<?> list = parser.parse("l = [1, \"s\", [2], {a = 1}, 1.5]").get("l").listValue();
+        final List<Object> expected = new ArrayList<>(List.of(1, "s", List.of(2), Map.of("a", 1), 1.5));
+        check(list.equals(expected) && expected.equals(list) && list.hashCode() == expected.hashCode(), "the list is equal to the array list");
+        check(readOnly(() -> list.remove(0)), "the list is read-only");
+        check(parser.parse("l = [], m = {}").get("l").listValue().isEmpty() && parser.parse("m = {}").get("m").mapValue().isEmpty(),
+                "the empty array and map are empty");
+    }
+
+    private static boolean readOnly(final Runnable modification) {
+        try {
+            modification.run();
+            return false;
+        } catch (UnsupportedOperationException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package test.rlp.parser;
+
+import rlp.parser.ComplexObject;
+import rlp.parser.Config;
+import rlp.parser.ConfigBindException;
+import rlp.parser.ConfigParser;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestConfigBinder {
+
+    public enum Mode { FAST, SAFE }
+
+    public record Server(String host, int port) {
+        public Server {
+            if (port <= 0) throw new IllegalArgumentException("port must be positive");
+        }
+    }
+
+    public record AppConfig(String name, int workers, long timeout, double ratio, boolean debug, Mode mode,
+                            List<Server> servers, Map<String, Integer> limits, Collection<String> tags, int[] ports,
+                            Server primary, ComplexObject raw, Object any) {
+    }
+
+    public record Unsupported(Set<String> tags) {
+    }
+
+    public static class Settings {
+        public String name;
+        public int workers = 1;
+        public Integer optional = 7;
+        public List<List<Long>> matrix;
+    }
+
+    private static final String CONFIGURATION = "name = \"app\", workers = 8, timeout = 30000L, ratio = 2, debug = true,\n"
+            + "mode = \"SAFE\",\n"
+            + "servers = [{host = \"a\", port = 80}, {host = \"b\", port = 8080}],\n"
+            + "limits = {max = 10, min = 1},\n"
+            + "tags = [\"x\", \"y\", \"x\"],\n"
+            + "ports = [1, 2, 3],\n"
+            + "primary = {host = \"p\", port = 1},\n"
+            + "raw = [1, \"s\"], any = 1.5,\n"
+            + "matrix = [[1L, 2L], [3L]]";
+
+    public static void main(String[] args) {
+        final ConfigParser parser = new ConfigParser();
+        final Config config = parser.parse(CONFIGURATION);
+
+        final AppConfig app = config.bind(AppConfig.class);
+        System.out.println("Bound: " + app);
+
+        check(app.name().equals("app") && app.workers() == 8 && app.timeout() == 30000L && app.debug(), "the scalar components are bound");
+        check(app.ratio() == 2.0, "the integer is widened to the double component");
+        check(app.mode() == Mode.SAFE, "the enum is bound by the name of the constant");
+        check(app.servers().size() == 2 && app.servers().get(1).equals(new Server("b", 8080)), "the list of records is bound");
+        check(app.limits().get("max") == 10 && app.tags().size() == 3, "the map and the collection are bound");
+        check(app.ports().length == 3 && app.ports()[2] == 3, "the primitive array is bound");
+        check(app.primary().host().equals("p") && app.raw().listValue().size() == 2 && app.any().equals(1.5),
+                "the nested record, the complex object and the object are bound");
+
+        // @Note The second bind of the same configuration reuses the plan and the slots of the class.
+        check(config.bind(AppConfig.class).servers().equals(app.servers()), "the second bind is equal");
+
+        final Settings settings = parser.parse("name = \"s\", matrix = [[1L, 2L], [3L]]").bind(Settings.class);
+        check(settings.name.equals("s") && settings.workers == 1 && settings.optional == 7, "the missing fields keep their values");
+        check(settings.matrix.get(0).get(1) == 2L && settings.matrix.get(1).size() == 1, "the nested lists are bound");
+
+        check(fails(parser.parse("host = \"a\", port = \"x\""), Server.class, "port"), "the wrong type is reported with the path");
+        check(fails(parser.parse("host = \"a\", port = 0"), Server.class, ""), "the error of the compact constructor is reported");
+        check(fails(parser.parse("host = \"a\""), Server.class, "port"), "the missing primitive is reported");
+        check(fails(parser.parse(CONFIGURATION.replace("port = 8080", "port = 3000000000L")), AppConfig.class, "servers[1].port"),
+                "the value out of the range is reported with the path");
+        check(fails(parser.parse(CONFIGURATION.replace("\"SAFE\"", "\"NONE\"")), AppConfig.class, "mode"), "the unknown constant is reported");
+
+        try {
+            config.bind(Unsupported.class);
+            check(false, "the unsupported type is rejected when the plan is built");
+        } catch (IllegalArgumentException e) {
+            check(e.getMessage().contains("not supported"), "the unsupported type is rejected when the plan is built");
+        }
+    }
+
+    private static boolean fails(final Config config, final Class<?> type, final String path) {
+        try {
+            config.bind(type);
+            return false;
+        } catch (ConfigBindException e) {
+            System.out.println("Rejected: " + e.getMessage());
+            return e.getPath().equals(path);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package test.rlp.parser;
+
+import rlp.parser.ConfigException;
+import rlp.parser.ConfigLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestConfigLoader {
+
+    public static void main(String[] args) throws IOException {
+        final Path root = Files.createTempDirectory("loader");
+        write(root, "10-base.conf", "host = \"base\", port = 80, mode = \"a\"");
+        write(root, "20-override.conf", "port = 8080");
+        write(root, "nested/30-nested.conf", "mode = \"nested\", extra = true");
+        write(root, "40-invalid.conf", "broken = ");
+        write(root, "readme.txt", "port = 1");
+
+        final ConfigLoader.Result result = ConfigLoader.loadAll(root, "**.conf");
+        System.out.println("Files: " + result.getFiles() + ", Variables: " + result.getConfig().getComplexObjectMap());
+
+        check(result.getFiles().size() == 4, "only the files that match the glob are loaded");
+        check(result.getConfig().get("port").intValue() == 8080, "the later file replaces the key of the earlier file");
+        check(result.getConfig().get("mode").stringValue().equals("nested"), "the nested file is ordered by its relative path");
+        check(result.getConfig().getComplexObjectMap().keySet().iterator().next().equals("host"), "the keys keep the order of their first file");
+        check(result.sourceOf("port").endsWith("20-override.conf") && result.sourceOf("host").endsWith("10-base.conf"),
+                "the source of each key is the file whose value is kept");
+
+        check(result.hasFailures() && result.getFailures().size() == 1
+                && result.getFailures().get(0).getFile().endsWith("40-invalid.conf")
+                && result.getFailures().get(0).getError() instanceof ConfigException, "the invalid file is a failure of the load");
+
+        // @Note The order of the precedence doesn't depend on the order that the files are read.
+        boolean same = true;
+        for (int i = 0; i < 16; i++) {
+            same &= ConfigLoader.loadAll(root, "**.conf").getConfig().getComplexObjectMap().toString()
+                    .equals(result.getConfig().getComplexObjectMap().toString());
+        }
+        check(same, "the load is deterministic");
+
+        check(ConfigLoader.loadAll(root, "*.conf").getFiles().size() == 3, "the glob of the root doesn't match the nested files");
+
+        // @Note The directory that can't be read is a failure, and the other files are still loaded. The superuser reads
+        // the directory anyway, then the check is skipped.
+        final Path locked = root.resolve("locked");
+        write(root, "locked/50-locked.conf", "locked = true");
+        locked.toFile().setReadable(false, false);
+        locked.toFile().setExecutable(false, false);
+        try {
+            if (Files.isReadable(locked)) {
+                System.out.println("Skipped: the directory can't be locked");
+            } else {
+                final ConfigLoader.Result partial = ConfigLoader.loadAll(root, "**.conf");
+                check(partial.getFailures().size() == 2 && partial.getFailures().get(0).getFile().equals(locked)
+                        && partial.getConfig().get("port").intValue() == 8080, "the directory that can't be read is a failure of the load");
+            }
+        } finally {
+            locked.toFile().setReadable(true, false);
+            locked.toFile().setExecutable(true, false);
+        }
+
+        try {
+            ConfigLoader.loadAll(root.resolve("none"), "**.conf");
+            check(false, "the root that doesn't exist is rejected");
+        } catch (IOException e) {
+            check(true, "the root that doesn't exist is rejected");
+        }
+
+        try {
+            ConfigLoader.loadAll(root, "**.conf", StandardCharsets.UTF_8, 0);
+            check(false, "the parallelism must be positive");
+        } catch (IllegalArgumentException e) {
+            check(true, "the parallelism must be positive");
+        }
+    }
+
+    private static void write(final Path root, final String path, final String text) throws IOException {
+        final Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, text);
+    }
+}
@@ -0,0 +1,205 @@
+package test.rlp.parser;
+
+import rlp.parser.Config;
+import rlp.parser.ConfigException;
+import rlp.parser.ConfigParser;
+import rlp.parser.StringPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestConfigParser {
+
+    private static final String CONFIGURATION = "a = 1,\n"
+            + "# comment\n"
+            + "name = \"na\u00efve \u00e9t\u00e9 \\u0041\",\n"
+            + "arr = [1, [2, 3], \"s\"],\n"
+            + "map = {x = 1.5, y = {z = true}},\n"
+            + "b = 10L";
+
+    public static void main(String[] args) throws Exception {
+        final ConfigParser parser = new ConfigParser();
+        final String expected = parser.parse(CONFIGURATION).getComplexObjectMap().toString();
+        System.out.println("Variables: " + expected);
+
+        final byte[] bytes = CONFIGURATION.getBytes(StandardCharsets.UTF_8);
+        check(parser.parse(bytes).toString().equals(expected), "the bytes are parsed");
+
+        final byte[] padded = new byte[bytes.length + 8];
+        System.arraycopy(bytes, 0, padded, 4, bytes.length);
+        check(parser.parse(padded, 4, bytes.length).toString().equals(expected), "the range of the bytes is parsed");
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+        direct.put((byte) 0).put(bytes).flip().position(1);
+        check(parser.parse(direct).toString().equals(expected) && direct.position() == 1, "the direct buffer is parsed without modify its position");
+
+        final byte[] bom = new byte[bytes.length + 3];
+        bom[0] = (byte) 0xEF;
+        bom[1] = (byte) 0xBB;
+        bom[2] = (byte) 0xBF;
+        System.arraycopy(bytes, 0, bom, 3, bytes.length);
+        check(parser.parse(bom).toString().equals(expected), "the byte order mark is jumped");
+
+        check(parser.parse(new ByteArrayInputStream(bytes)).toString().equals(expected), "the stream is parsed");
+        check(parser.parse(new StringReader(CONFIGURATION)).toString().equals(expected), "the reader is parsed");
+        check(parser.parse(new StringBuilder(CONFIGURATION)).toString().equals(expected), "the character sequence is parsed");
+
+        // @Note The large input grows the buffers of the thread beyond the initial size.
+        final StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 20000; i++) large.append("key").append(i).append(" = \"value ").append(i).append("\",\n");
+        large.append("last = 0");
+        final Config config = parser.parse(new ByteArrayInputStream(large.toString().getBytes(StandardCharsets.UTF_8)));
+        check(config.getComplexObjectMap().size() == 20001 && config.get("key19999").stringValue().equals("value 19999"), "the large stream is parsed");
+
+        check(rejects(parser, new byte[] {'a', ' ', '=', ' ', '\"', (byte) 0xC3, '\"'}), "the invalid bytes are rejected");
+        check(rejects(parser, "a = 1, b".getBytes(StandardCharsets.UTF_8)), "the invalid configuration is rejected");
+        check(parser.parse(bytes).toString().equals(expected), "the parser is reusable after an error");
+
+        try {
+            parser.parse(bytes).getComplexObjectMap().remove("a");
+            check(false, "the parsed configuration is read-only");
+        } catch (UnsupportedOperationException e) {
+            check(true, "the parsed configuration is read-only");
+        }
+
+        final ConfigParser pooled = new ConfigParser(StandardCharsets.UTF_8, new StringPool());
+        check(pooled.parse(bytes).get("arr").listValue().get(2) == pooled.parse(bytes).get("arr").listValue().get(2),
+                "the strings of the parses are deduplicated by the pool");
+
+        // @Note The bytes are read by the lexer without decode them, then the values and the positions of the errors must
+        // be the same of the characters, also after the multi-byte characters and across the blocks of the bitmaps.
+        final Random random = new Random(7);
+        boolean same = true;
+        for (int round = 0; round < 300; round++) {
+            final String text = randomConfiguration(random);
+            same &= parser.parse(text.getBytes(StandardCharsets.UTF_8)).toString().equals(parser.parse(text).toString());
+        }
+        check(same, "the bytes are parsed like the characters");
+
+        boolean located = true;
+        for (final String text : INVALID) {
+            final String error = error(() -> parser.parse(text.getBytes(StandardCharsets.UTF_8)));
+            located &= error != null && error.equals(error(() -> parser.parse(text)));
+        }
+        check(located, "the errors from the bytes have the line and the column from the characters");
+
+        check(rejects(parser, new byte[] {'#', ' ', (byte) 0xC3, '\n', 'a', '=', '1'}), "the invalid bytes of a comment are rejected");
+        check(rejects(parser, new byte[] {'a', '=', '\"', (byte) 0xC0, (byte) 0x80, '\"'}), "the overlong sequence is rejected");
+        check(rejects(parser, new byte[] {'a', '=', '\"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '\"'}), "the encoded surrogate is rejected");
+        check(rejects(parser, new byte[] {'a', '=', 'x', (byte) 0xE2, (byte) 0x82}), "the truncated sequence is rejected");
+        check(rejects(new ConfigParser(StandardCharsets.US_ASCII), "a = \"\u00e9\"".getBytes(StandardCharsets.UTF_8)),
+                "the multi-byte character is rejected by ASCII");
+
+        // @Note The parser is shared by the threads, and each thread parses with its own buffers.
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> parser.parse(bytes).toString()));
+            }
+
+            boolean equal = true;
+            for (final Future<String> future : futures) equal &= future.get().equals(expected);
+            check(equal, "the parser is shared by the threads");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static final String[] INVALID = {
+            "a = 1,\n  \u00e9t\u00e9 = \"x\" b = 2",
+            "na\u00efve = \"\ud83d\ude00\ud83d\ude00\", b = [1, 2x]",
+            "a = \"unterminated \u00e9",
+            "x = {\u00e9 = 1,\r\n\t\u20ac = 2 3}",
+            "\ud83d\ude00 = 1 2",
+            "long = \"" + "\u20ac".repeat(40) + "\", # \u00e9 comment \"\n" + "k".repeat(70) + " = [1, 2, }",
+            "a = 'ab'",
+            "a = \"\\q\"",
+            "a = a_long;value!$%&()*+\u00e9xyz, b = 1"
+    };
+
+    private static final String[] PIECES = {
+            "x", "abc", ",", "=", "{", "]", " ", "\t", "\u00e9", "\u20ac", "\ud83d\ude00", "\\n", "\\\"", "\\u0041", "'", "#"
+    };
+
+    /**
+     * This method generates a valid configuration with multi-byte characters in the keys, the strings and the comments.
+     */
+    private static String randomConfiguration(final Random random) {
+        final StringBuilder text = new StringBuilder();
+        final int size = random.nextInt(12);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) text.append(random.nextBoolean() ? ",\n" : ",\r\n\t");
+            if (random.nextInt(4) == 0) text.append("# \u00fcn\u00efc\u00f6de \ud83d\ude00 ").append(i).append('\n');
+
+            // @Note The key with the bytes ";!$%&()*+" is jumped by the bitmap of the delimiters, that contains them.
+            final int key = random.nextInt(3);
+            text.append(key == 0 ? "key" + i : key == 1 ? "cl\u00e9_" + i + "_\u20ac" : "a_long;key!$%&()*+_" + i).append(" = ");
+            randomValue(random, text, 0);
+        }
+        return text.toString();
+    }
+
+    private static void randomValue(final Random random, final StringBuilder text, final int depth) {
+        switch (random.nextInt(depth < 2 ? 7 : 5)) {
+            case 0: text.append(random.nextInt()); break;
+            case 1: text.append(random.nextDouble()).append('d'); break;
+            case 2: text.append(random.nextBoolean()); break;
+            case 3: text.append(random.nextBoolean() ? "'\u00e9'" : "'\\n'"); break;
+            case 4:
+                text.append('\"');
+                for (int i = random.nextInt(60); i > 0; i--) text.append(PIECES[random.nextInt(PIECES.length)]);
+                text.append('\"');
+                break;
+            case 5:
+                text.append('[');
+                for (int i = random.nextInt(5); i > 0; i--) {
+                    randomValue(random, text, depth + 1);
+                    if (i > 1) text.append(", ");
+                }
+                text.append(']');
+                break;
+            default:
+                text.append('{');
+                for (int i = random.nextInt(5); i > 0; i--) {
+                    text.append("\u00e9").append(i).append(" = ");
+                    randomValue(random, text, depth + 1);
+                    if (i > 1) text.append(",\n");
+                }
+                text.append('}');
+                break;
+        }
+    }
+
+    private static String error(final Supplier<Config> parse) {
+        try {
+            parse.get();
+            return null;
+        } catch (ConfigException e) {
+            System.out.println("Rejected: " + e.getMessage());
+            return e.getMessage();
+        }
+    }
+
+    private static boolean rejects(final ConfigParser parser, final byte[] bytes) {
+        try {
+            parser.parse(bytes);
+            return false;
+        } catch (ConfigException e) {
+            System.out.println("Rejected: " + e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package test.rlp.parser;
+
+import rlp.parser.Config;
+import rlp.parser.ConfigParser;
+import rlp.parser.ConfigPath;
+
+import java.util.NoSuchElementException;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestConfigPath {
+
+    private static final String CONFIGURATION = "servers = [{host = \"a\", ports = {http = 80, 1 = 81}},\n"
+            + "           {host = \"b\", ports = {http = 8080}, display.name = \"B\", tags = [\"x\", [\"y\", 'z']]}],\n"
+            + "limits = {max = 10L, ratio = 0.5, on = true},\n"
+            + "matrix = [[1, 2], [3, 4]],\n"
+            + "port = 1";
+
+    public static void main(String[] args) {
+        final Config config = new ConfigParser().parse(CONFIGURATION);
+
+        final ConfigPath http = ConfigPath.of("servers[1].ports.http");
+        check(http.intValue(config) == 8080 && http.get(config).intValue() == 8080, "the path reads the nested value");
+        check(config.at("servers[0].host").stringValue().equals("a"), "the path of the configuration is compiled and read");
+        check(config.at("port").intValue() == 1, "the path of a single key reads the key");
+
+        check(config.at("servers.1.host").stringValue().equals("b"), "the numeric key reads the element of the list");
+        check(config.at("servers[0].ports[1]").intValue() == 81, "the index reads the numeric key of the map");
+        check(config.at("servers[1][\"display.name\"]").stringValue().equals("B"), "the quoted key reads the key with dots");
+        check(ConfigPath.of("servers[1].tags[1][1]").charValue(config) == 'z', "the nested lists are read");
+        check(ConfigPath.of("matrix[1][0]").intValue(config) == 3, "the lists of lists are read");
+
+        check(ConfigPath.of("limits.max").longValue(config) == 10L && ConfigPath.of("limits.ratio").doubleValue(config) == 0.5
+                && ConfigPath.of("limits.on").booleanValue(config), "the typed values are read");
+        check(ConfigPath.of("servers[0].ports.http").longValue(config) == 80L, "the integer is read as a long");
+        check(ConfigPath.of("servers[1].tags").listValue(config).size() == 2 && ConfigPath.of("limits").mapValue(config).size() == 3,
+                "the lists and the maps are read");
+
+        check(config.at("servers[2].host") == null && config.at("servers[0].none") == null && config.at("none.x") == null
+                && config.at("port.x") == null && config.at("servers[0].host.x") == null, "the missing steps return null");
+
+        try {
+            ConfigPath.of("servers[5].host").intValue(config);
+            check(false, "the typed read of a missing path throws");
+        } catch (NoSuchElementException e) {
+            check(e.getMessage().contains("servers[5].host"), "the typed read of a missing path throws");
+        }
+
+        check(invalid("") && invalid("a..b") && invalid("a[1") && invalid("a[x]") && invalid("a[\"b]") && invalid("a[1]b")
+                && invalid(".a"), "the invalid paths are rejected");
+        check(ConfigPath.of("servers[1].ports.http").toString().equals("servers[1].ports.http"), "the path keeps its text");
+    }
+
+    private static boolean invalid(final String path) {
+        try {
+            ConfigPath.of(path);
+            return false;
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package test.rlp.parser;
+
+import rlp.parser.ConfigReader;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+public class TestConfigReader {
+
+    private static final String CONFIGURATION = "a = 1,\n"
+            + "# comment\n"
+            + "arr = [1, [2, 3], \"s\"],\n"
+            + "map = {x = 1.5, y = {z = true}},\n"
+            + "b = 10L";
+
+    public static void main(String[] args) {
+        final ConfigReader reader = ConfigReader.of(new ByteArrayInputStream(CONFIGURATION.getBytes(StandardCharsets.UTF_8)));
+
+        while (reader.hasNext()) {
+            final ConfigReader.Event event = reader.next();
+
+            switch (event) {
+                case KEY:
+                    System.out.println("Key: " + reader.key());
+
+                    // @Note The array is skipped without parse its values.
+                    if (reader.key().equals("arr")) reader.skipValue();
+                    break;
+                case BEGIN_ARRAY:
+                case END_ARRAY:
+                case BEGIN_MAP:
+                case END_MAP:
+                case END_DOCUMENT:
+                    System.out.println(event + ", depth: " + reader.depth());
+                    break;
+                default:
+                    System.out.println(event + ": " + reader.value());
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package test.rlp.parser;
+
+import rlp.parser.ConfigSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestConfigSnapshot {
+
+    private static final File TEST_FILE = new File("test.txt");
+    private static final File SNAPSHOT_FILE = new File("test.snapshot");
+
+    public static void main(String[] args) throws IOException {
+        // @Note The first load compiles the snapshot from the test file, and the second load reads the snapshot.
+        final ConfigSnapshot first = ConfigSnapshot.load(SNAPSHOT_FILE, TEST_FILE);
+        System.out.println("Compiled: " + first.isCompiled() + ", Variables: " + first.getComplexObjectMap());
+
+        final ConfigSnapshot second = ConfigSnapshot.load(SNAPSHOT_FILE, TEST_FILE);
+        System.out.println("Compiled: " + second.isCompiled() + ", Variables: " + second.getComplexObjectMap());
+
+        testStaleness();
+    }
+
+    private static void testStaleness() throws IOException {
+        final Path directory = Files.createTempDirectory("snapshot");
+        final File source = directory.resolve("source.cfg").toFile();
+        final File snapshot = directory.resolve("source.snapshot").toFile();
+
+        Files.writeString(source.toPath(), "a = 1, b = \"text\", c = [1, 2, 3], d = {x = [1.5, \"y\"]}");
+        ConfigSnapshot.compile(source, snapshot);
+        check(ConfigSnapshot.load(snapshot, source).isCompiled(), "the compiled snapshot is loaded");
+
+        // @Note The source is modified with the same size, and the last modified time is moved, then only the hash
+        // finds the modification.
+        Files.writeString(source.toPath(), "a = 2, b = \"text\", c = [1, 2, 3], d = {x = [1.5, \"y\"]}");
+        source.setLastModified(source.lastModified() + 2000);
+
+        final ConfigSnapshot stale = ConfigSnapshot.load(snapshot, source);
+        check(!stale.isCompiled() && stale.get("a").intValue() == 2, "the snapshot of a modified source is stale");
+        check(ConfigSnapshot.load(snapshot, source).isCompiled(), "the stale snapshot is compiled again");
+
+        // @Note Each truncated snapshot is stale, then the values are parsed from the source instead of fail.
+        final byte[] bytes = Files.readAllBytes(snapshot.toPath());
+        final String current = ConfigSnapshot.load(snapshot, source).getComplexObjectMap().toString();
+        boolean truncated = true;
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(snapshot.toPath(), Arrays.copyOf(bytes, length));
+
+            final ConfigSnapshot loaded = ConfigSnapshot.load(snapshot, source);
+            truncated &= !loaded.isCompiled() && loaded.getComplexObjectMap().toString().equals(current);
+        }
+        check(truncated, "the truncated snapshots are stale");
+
+        // @Note The table of the keys is after the header and the entries. Each slot has the index of an entry plus 1,
+        // then a table whose slots have the same entry doesn't have an empty slot.
+        final ByteBuffer table = ByteBuffer.wrap(bytes.clone());
+        final int start = 48 + table.getInt(32) * 16;
+        for (int slot = 0; slot < table.getInt(36); slot++) table.putInt(start + (slot << 2), 1);
+        Files.write(snapshot.toPath(), table.array());
+
+        final ConfigSnapshot full = ConfigSnapshot.load(snapshot, source);
+        check(!full.isCompiled() && full.get("none") == null, "the snapshot whose table doesn't have an empty slot is stale");
+    }
+}
@@ -0,0 +1,62 @@
+package test.rlp.parser;
+
+import rlp.parser.ComplexObject;
+import rlp.parser.Config;
+import rlp.parser.ConfigParser;
+import rlp.parser.ConfigWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestConfigWriter {
+
+    private static final String CONFIGURATION = "a = 1,\n"
+            + "b = 2b, c = 3s, d = 4L, e = -9223372036854775808L,\n"
+            + "f = 1.5f, g = 2.25, h = true, i = 'x',\n"
+            + "s = \"quote \\\" backslash \\\\ tab \\t line \\n unicode \\u00e9\",\n"
+            + "arr = [1, [2, 3], \"s\", 4L],\n"
+            + "map = {x = 1.5, y = {z = false, w = ['\\n']}}";
+
+    public static void main(String[] args) throws IOException {
+        final ConfigParser parser = new ConfigParser();
+        final Config config = parser.parse(CONFIGURATION);
+
+        final String written = write(config.getComplexObjectMap(), ConfigWriter.DEFAULT_BUFFER_SIZE);
+        System.out.println("Written: " + written);
+
+        final Config parsed = parser.parse(written);
+        check(parsed.getComplexObjectMap().keySet().equals(config.getComplexObjectMap().keySet()), "the written keys are parsed");
+
+        // @Note The boxed values are compared, then the numbers of the lists and the maps must keep their types too.
+        for (final Map.Entry<String, ComplexObject> entry : config.getComplexObjectMap().entrySet()) {
+            final ComplexObject value = parsed.get(entry.getKey());
+            check(value.type() == entry.getValue().type() && value.value().equals(entry.getValue().value()),
+                    "the value of \"" + entry.getKey() + "\" is parsed into the same " + value.type());
+        }
+
+        // @Note The small buffer is written several times, then the values that cross the end of the buffer are checked.
+        check(write(config.getComplexObjectMap(), 64).equals(written), "the output doesn't depend on the size of the buffer");
+
+        final StringWriter output = new StringWriter();
+        try (final ConfigWriter writer = new ConfigWriter(output)) {
+            writer.key("port").value(8080)
+                  .key("hosts").beginArray().value("a.example").value("b.example").endArray()
+                  .key("limits").beginMap().key("max").value(10L).endMap();
+        }
+        final Config built = parser.parse(output.toString());
+        check(built.get("port").intValue() == 8080
+                && built.get("hosts").listValue().get(1).equals("b.example")
+                && built.get("limits").mapValue().get("max").equals(10L), "the values of the structure calls are parsed");
+    }
+
+    private static String write(final Map<String, ComplexObject> values, final int bufferSize) throws IOException {
+        final StringWriter output = new StringWriter();
+        try (final ConfigWriter writer = new ConfigWriter(output, bufferSize)) {
+            writer.writeAll(values);
+        }
+        return output.toString();
+    }
+}
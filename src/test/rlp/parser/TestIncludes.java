@@ -0,0 +1,109 @@
+package test.rlp.parser;
+
+import rlp.parser.Config;
+import rlp.parser.ConfigException;
+import rlp.parser.ConfigLoader;
+import rlp.parser.ConfigParser;
+import rlp.parser.ConfigSnapshot;
+import rlp.parser.ParseCache;
+import rlp.parser.ParseOptions;
+import rlp.parser.Parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestIncludes {
+
+    public static void main(String[] args) throws IOException {
+        final Path directory = Files.createTempDirectory("includes");
+        final File main = write(directory, "main.cfg", "a = 0, b = 0,\ninclude \"common.cfg\",\nb = 2");
+        write(directory, "common.cfg", "a = 1, b = 1, c = 1,\ninclude \"nested/deep.cfg\"");
+        write(directory, "nested/deep.cfg", "d = \"deep\"");
+
+        final ParseCache cache = new ParseCache(16, 1L << 20);
+        final Parser parser = parse(main, cache);
+        check(parser.get("a").intValue() == 1, "the included value replaces the value before the include");
+        check(parser.get("b").intValue() == 2, "the value after the include replaces the included value");
+        check(parser.get("d").stringValue().equals("deep"), "the path is relative to the file that includes it");
+        check(cache.getMisses() == 2 && cache.getHits() == 0, "the first parse reads the included files");
+
+        parse(main, cache);
+        check(cache.getMisses() == 2 && cache.getHits() == 1, "the next parse reuses the included files");
+
+        write(directory, "nested/deep.cfg", "d = \"modified\", e = 1");
+        check(parse(main, cache).get("d").stringValue().equals("modified"), "the modified included file is parsed again");
+
+        final File cycle = write(directory, "cycle.cfg", "x = 1, include \"cycle2.cfg\"");
+        write(directory, "cycle2.cfg", "y = 1, include \"cycle.cfg\"");
+        check(rejects(cycle, cache, "cycle"), "the cycle of includes is rejected");
+
+        final File self = write(directory, "self.cfg", "include \"self.cfg\"");
+        check(rejects(self, cache, "cycle"), "the file that includes itself is rejected");
+
+        final File missing = write(directory, "missing.cfg", "include \"none.cfg\"");
+        check(rejects(missing, cache, "doesn't exist"), "the include of a missing file is rejected");
+
+        // @Note The snapshot records the included files, then the modified included file makes the snapshot stale.
+        final File snapshot = directory.resolve("main.snapshot").toFile();
+        ConfigSnapshot.compile(main, snapshot);
+        check(ConfigSnapshot.load(snapshot, main).isCompiled(), "the snapshot of the included files is current");
+
+        write(directory, "nested/deep.cfg", "d = \"snapshot\"");
+        final ConfigSnapshot stale = ConfigSnapshot.load(snapshot, main);
+        check(!stale.isCompiled() && stale.get("d").stringValue().equals("snapshot"), "the modified included file makes the snapshot stale");
+
+        // @Note The configuration that is not a file resolves the includes against the base directory of the parser.
+        final String text = "a = 0, include \"common.cfg\"";
+        try {
+            new ConfigParser().parse(text);
+            check(false, "the include without a base directory is rejected");
+        } catch (ConfigException e) {
+            check(e.getMessage().contains("base directory"), "the include without a base directory is rejected");
+        }
+
+        final Config based = new ConfigParser(StandardCharsets.UTF_8, null, directory).parse(text);
+        check(based.get("a").intValue() == 1 && based.get("d").stringValue().equals("snapshot"), "the include is relative to the base directory");
+
+        final Path root = directory.resolve("loaded");
+        write(root, "10-base.conf", "x = 1");
+        write(root, "sub/20-sub.conf", "include \"shared.cfg\"");
+        write(root, "sub/shared.cfg", "x = 2, y = 2");
+
+        final ConfigLoader.Result loaded = ConfigLoader.loadAll(root, "**.conf");
+        check(loaded.getFailures().isEmpty() && loaded.getConfig().get("x").intValue() == 2, "the include of a loaded file is relative to the file");
+        check(loaded.sourceOf("y").equals(root.resolve("sub/20-sub.conf")), "the included value belongs to the file that includes it");
+    }
+
+    private static Parser parse(final File file, final ParseCache cache) {
+        final Parser parser = new Parser(file);
+        parser.parse(ParseOptions.defaults().withIncludeCache(cache));
+        return parser;
+    }
+
+    private static boolean rejects(final File file, final ParseCache cache, final String message) {
+        try {
+            parse(file, cache);
+            return false;
+        } catch (ConfigException e) {
+            System.out.println("Rejected: " + e.getMessage());
+            return e.getMessage().contains(message);
+        }
+    }
+
+    private static File write(final Path directory, final String path, final String text) throws IOException {
+        final Path file = directory.resolve(path);
+        Files.createDirectories(file.getParent());
+
+        // @Note The last modified time is moved, then the modified file is found even in the same second.
+        final boolean exists = Files.exists(file);
+        final long modified = exists ? file.toFile().lastModified() : 0L;
+        Files.writeString(file, text);
+        if (exists) file.toFile().setLastModified(modified + 2000);
+        return file.toFile();
+    }
+}
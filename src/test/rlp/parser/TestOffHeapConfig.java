@@ -0,0 +1,79 @@
+package test.rlp.parser;
+
+import rlp.parser.ComplexObject;
+import rlp.parser.ConfigParser;
+import rlp.parser.OffHeapConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestOffHeapConfig {
+
+    private static final String CONFIGURATION = "ints = [1, 2, 3, -4],\n"
+            + "longs = [1L, 2L, 9223372036854775807L],\n"
+            + "doubles = [1.5, -2.25, 0.0],\n"
+            + "mixed = [1, 2, 3L, \"s\", [4, 5]],\n"
+            + "late = [1.5, 2.5, 3],\n"
+            + "map = {x = [7, 8], y = \"text\", z = 'c'},\n"
+            + "port = 80, name = \"name\", flag = true";
+
+    public static void main(String[] args) throws IOException {
+        final File file = Files.createTempFile("offheap", ".cfg").toFile();
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), CONFIGURATION);
+
+        final Map<String, ComplexObject> values = new ConfigParser().parse(CONFIGURATION).getComplexObjectMap();
+
+        // @Note The encoded configuration is closed by the test, then it is not a resource of the try.
+        final OffHeapConfig encoded = OffHeapConfig.of(values);
+        try (final OffHeapConfig parsed = OffHeapConfig.parse(file)) {
+            check(parsed.size() == values.size() && encoded.size() == values.size(), "the all values are encoded");
+
+            for (final Map.Entry<String, ComplexObject> entry : values.entrySet()) {
+                final Object expected = entry.getValue().value();
+                check(parsed.get(entry.getKey()).value().equals(expected) && encoded.get(entry.getKey()).value().equals(expected),
+                        "the value of \"" + entry.getKey() + "\" is decoded");
+            }
+            check(parsed.get("none") == null, "the missing key is not found");
+            check(parsed.getComplexObjectMap().toString().equals(values.toString()), "the map of the values is decoded");
+
+            // @Note The parse encodes the lists from the reader and the "of" encodes the lists from the heap, then both
+            // must write the same bytes.
+            check(parsed.offHeapBytes() == encoded.offHeapBytes(), "the parse and the encode of the values use the same bytes");
+            check(listClass(parsed, "ints").equals("IntList") && listClass(encoded, "ints").equals("IntList"), "the integers are a primitive array");
+            check(listClass(encoded, "longs").equals("LongList"), "the longs are a primitive array");
+            check(listClass(encoded, "doubles").equals("DoubleList"), "the doubles are a primitive array");
+            check(!listClass(encoded, "mixed").equals("IntList"), "the mixed list is not a primitive array");
+            check(!listClass(encoded, "late").equals("DoubleList") && encoded.get("late").listValue().get(2).equals(3),
+                    "the list whose last element has other type keeps the types");
+
+            final int[] ints = encoded.get("ints").intArrayValue();
+            ints[0] = 100;
+            check(encoded.get("ints").intArrayValue()[0] == 1, "the array of the primitive list is a copy");
+
+            encoded.close();
+            check(encoded.isClosed() && closed(encoded), "the closed configuration can't be read");
+            check(parsed.get("port").intValue() == 80, "the other configuration is still readable");
+        } finally {
+            // @Note The close of a closed configuration doesn't release the memory again.
+            encoded.close();
+        }
+    }
+
+    private static String listClass(final OffHeapConfig config, final String key) {
+        return config.get(key).listValue().getClass().getSimpleName();
+    }
+
+    private static boolean closed(final OffHeapConfig config) {
+        try {
+            config.get("port");
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+}
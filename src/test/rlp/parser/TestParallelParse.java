@@ -0,0 +1,63 @@
+package test.rlp.parser;
+
+import rlp.parser.ComplexObject;
+import rlp.parser.ConfigParser;
+import rlp.parser.ParseOptions;
+import rlp.parser.Parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestParallelParse {
+
+    public static void main(String[] args) throws IOException {
+        final File file = Files.createTempFile("parallel", ".cfg").toFile();
+        file.deleteOnExit();
+
+        // @Note The file is larger than two chunks, and the strings contain the separators of the chunks, then the split
+        // must not break the strings or the nested values.
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < 8 * ParseOptions.MIN_CHUNK_SIZE; i++) {
+            if (i > 0) text.append(",\n");
+            text.append("key").append(i).append(" = ");
+            switch (i % 4) {
+                case 0: text.append(i); break;
+                case 1: text.append("\"text, \u00e9t\u00e9 \ud83d\ude00 ").append(i).append(" = {x}\n# next = 1\""); break;
+                case 2: text.append("[").append(i).append(", 2L, {a = 1.5}]"); break;
+                default: text.append("{x = \"a,\nb\", y = ['c']}"); break;
+            }
+        }
+        Files.writeString(file.toPath(), text);
+
+        final Parser sequential = new Parser(file);
+        sequential.parse(ParseOptions.defaults());
+
+        // @Note The file is read from the bytes, and the configuration parser reads the characters of the text.
+        check(sequential.getComplexObjectMap().toString().equals(new ConfigParser().parse(text).getComplexObjectMap().toString()),
+                "the parse of the bytes reads the same values of the characters");
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Parser parallel = new Parser(file);
+            parallel.parse(ParseOptions.parallel(pool));
+
+            final Map<String, ComplexObject> expected = sequential.getComplexObjectMap();
+            final Map<String, ComplexObject> actual = parallel.getComplexObjectMap();
+            check(actual.keySet().stream().toList().equals(expected.keySet().stream().toList()), "the parallel parse keeps the order of the keys");
+
+            boolean equal = true;
+            for (final Map.Entry<String, ComplexObject> entry : expected.entrySet()) {
+                final ComplexObject value = actual.get(entry.getKey());
+                equal &= value.type() == entry.getValue().type() && value.value().equals(entry.getValue().value());
+            }
+            check(equal, "the parallel parse reads the same " + expected.size() + " values");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
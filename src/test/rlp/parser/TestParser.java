@@ -1,5 +1,6 @@
 package test.rlp.parser;
 
+import rlp.parser.ParseOptions;
 import rlp.parser.Parser;
 
 import java.io.File;
@@ -16,7 +17,13 @@ public class TestParser {
         parser.parse();
 
         // System.out.println("Buffer: " + parser.getBuffer());
-        System.out.println("Variables: " + parser.getVariables());
+        System.out.println("Variables: " + parser.getComplexObjectMap());
+
+        // @Note The lazy parse only parse the values that are requested.
+        final Parser lazyParser = new Parser(TEST_FILE);
+        lazyParser.parse(ParseOptions.lazy());
+
+        System.out.println("Keys: " + lazyParser.getComplexObjectMap().keySet());
 
         // parser.get("kv").mapValue().forEach((k, v) -> System.out.println("k: " + k + ", v: " + v));
         // parser.get("arr").listValue().forEach(System.out::println);
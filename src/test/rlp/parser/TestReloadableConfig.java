@@ -0,0 +1,87 @@
+package test.rlp.parser;
+
+import rlp.parser.ComplexObject;
+import rlp.parser.ConfigException;
+import rlp.parser.ReloadableConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static test.rlp.parser.Checks.check;
+
+public class TestReloadableConfig {
+
+    public static void main(String[] args) throws IOException {
+        final File file = Files.createTempFile("reloadable", ".cfg").toFile();
+        file.deleteOnExit();
+
+        Files.writeString(file.toPath(), "arr = [1, 2, 3], name = \"a\", port = 80");
+
+        try (final ReloadableConfig config = ReloadableConfig.open(file)) {
+            final ComplexObject arr = config.get("arr");
+            check(config.version() == 1, "the first load is the version 1");
+            check(!config.reload(), "the reload of the same content doesn't modify the configuration");
+
+            Files.writeString(file.toPath(), "arr = [1, 2, 3], name = \"a\", port = 81");
+            check(config.reload(), "the reload of a modified value modifies the configuration");
+            check(config.version() == 2 && config.get("port").intValue() == 81, "the modified value is read");
+            check(config.get("arr") == arr, "the value whose text is not modified is reused");
+
+            Files.writeString(file.toPath(), "arr = [1, 2x, 3], name = \"a\", port = 82");
+            check(rejects(config), "the reload of an invalid element is rejected");
+            check(config.version() == 2 && config.get("port").intValue() == 81, "the current snapshot is kept");
+
+            // @Note The invalid element is in an array that the lazy parse defers, then it is only found if the reload
+            // parses the all elements.
+            final StringBuilder array = new StringBuilder("[");
+            for (int i = 0; i < 2000; i++) array.append(i == 0 ? "" : ", ").append(i == 1500 ? "15x00" : String.valueOf(i));
+            array.append(']');
+
+            Files.writeString(file.toPath(), "arr = " + array + ", name = \"a\", port = 83");
+            check(rejects(config), "the reload of an invalid element of a large array is rejected");
+            check(config.version() == 2 && config.get("port").intValue() == 81, "the current snapshot is kept");
+
+            Files.writeString(file.toPath(), "arr = [1, 2, 3], name = \"a\", port = ");
+            check(rejects(config), "the reload of an invalid configuration is rejected");
+            check(config.get("port").intValue() == 81, "the current snapshot is kept");
+        }
+
+        // @Note The included values are hashed by their files, then the modified included file is reloaded.
+        final Path directory = Files.createTempDirectory("reloadable");
+        final Path main = directory.resolve("main.cfg");
+        final Path common = directory.resolve("common.cfg");
+        Files.writeString(common, "host = \"a\", port = 80");
+        Files.writeString(main, "name = \"main\", include \"common.cfg\"");
+
+        try (final ReloadableConfig config = ReloadableConfig.watch(main.toFile())) {
+            check(config.get("port").intValue() == 80, "the included value is read");
+            check(!config.reload(), "the reload of the same included file doesn't modify the configuration");
+
+            Files.writeString(common, "host = \"a\", port = 81");
+            check(await(config, 2), "the watcher reloads the modified included file");
+            check(config.get("port").intValue() == 81, "the modified included value is read");
+            check(!config.reload(), "the reload after the watcher doesn't modify the configuration");
+        }
+    }
+
+    private static boolean await(final ReloadableConfig config, final long version) {
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (config.version() < version) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    private static boolean rejects(final ReloadableConfig config) throws IOException {
+        try {
+            config.reload();
+            return false;
+        } catch (ConfigException e) {
+            System.out.println("Rejected: " + e.getMessage());
+            return true;
+        }
+    }
+}